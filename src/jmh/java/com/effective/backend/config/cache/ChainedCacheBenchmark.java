@@ -0,0 +1,151 @@
+package com.effective.backend.config.cache;
+
+import com.effective.backend.config.cache.invalidation.CacheInvalidationPublisher;
+import com.effective.backend.config.circuit.CircuitBreakerRegistry;
+import com.effective.backend.config.circuit.CircuitBreakerSettings;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.cache.Cache;
+import org.springframework.cache.Cache.ValueWrapper;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ChainedCacheBenchmark {
+
+    private static final String KEY = "com.effective.backend.ProductServicefindProductSimpleKey [42]";
+    private static final String VALUE = "product-42";
+
+    @State(Scope.Benchmark)
+    public static class Caches {
+
+        ChainedCache localHit;
+        ChainedCache globalHit;
+        ChainedCache globalMiss;
+        ChainedCache writes;
+        final AtomicLong sequence = new AtomicLong();
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            Cache populatedLocal = new ConcurrentMapCache("productCache");
+            populatedLocal.put(KEY, VALUE);
+            localHit = chained(populatedLocal, new ConcurrentMapCache("productCache"));
+
+            Cache populatedGlobal = new ConcurrentMapCache("productCache");
+            populatedGlobal.put(KEY, VALUE);
+            globalHit = chained(new NonRetainingCache("productCache"), populatedGlobal);
+
+            globalMiss = chained(new ConcurrentMapCache("productCache"), new ConcurrentMapCache("productCache"));
+            writes = chained(new ConcurrentMapCache("productCache"), new ConcurrentMapCache("productCache"));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class OpenCircuit {
+
+        ChainedCache cache;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            CircuitBreakerSettings settings = new CircuitBreakerSettings();
+            settings.setWaitInOpenState(Duration.ofDays(1));
+            MeterRegistry meterRegistry = new CompositeMeterRegistry();
+            CircuitBreakerRegistry circuitBreakers = new CircuitBreakerRegistry(settings, meterRegistry);
+            circuitBreakers.circuitBreaker("get").transitionToOpenState();
+            cache = new ChainedCache("productCache",
+                    List.of(new ConcurrentMapCache("productCache"), new FailingCache("productCache")),
+                    new ChainedCacheContext(CacheInvalidationPublisher.NO_OP, circuitBreakers, meterRegistry,
+                            new CacheProfileProperties(), null, null, Duration.ofSeconds(1), null, Map.of()));
+        }
+    }
+
+    @Benchmark
+    public ValueWrapper localHit(Caches caches) {
+        return caches.localHit.get(KEY);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public ValueWrapper localHitContended(Caches caches) {
+        return caches.localHit.get(KEY);
+    }
+
+    @Benchmark
+    public ValueWrapper localMissGlobalHit(Caches caches) {
+        return caches.globalHit.get(KEY);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public ValueWrapper localMissGlobalHitContended(Caches caches) {
+        return caches.globalHit.get(KEY);
+    }
+
+    @Benchmark
+    public ValueWrapper globalMiss(Caches caches) {
+        return caches.globalMiss.get(KEY);
+    }
+
+    @Benchmark
+    public ValueWrapper circuitOpen(OpenCircuit openCircuit) {
+        return openCircuit.cache.get(KEY);
+    }
+
+    @Benchmark
+    public void put(Caches caches) {
+        caches.writes.put(KEY, VALUE);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void putContended(Caches caches) {
+        caches.writes.put(KEY, VALUE);
+    }
+
+    @Benchmark
+    public ValueWrapper putIfAbsent(Caches caches) {
+        return caches.writes.putIfAbsent("key-" + caches.sequence.incrementAndGet(), VALUE);
+    }
+
+    private static ChainedCache chained(Cache localCache, Cache globalCache) {
+        return new ChainedCache(List.of(localCache, globalCache));
+    }
+
+    static class NonRetainingCache extends ConcurrentMapCache {
+
+        NonRetainingCache(String name) {
+            super(name);
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+        }
+    }
+
+    static class FailingCache extends ConcurrentMapCache {
+
+        FailingCache(String name) {
+            super(name);
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            throw new IllegalStateException("global cache unavailable");
+        }
+    }
+}
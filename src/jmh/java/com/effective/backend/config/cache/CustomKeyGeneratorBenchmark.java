@@ -0,0 +1,69 @@
+package com.effective.backend.config.cache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CustomKeyGeneratorBenchmark {
+
+    private final CustomKeyGenerator keyGenerator = new CustomKeyGenerator();
+    private final ProductService target = new ProductService();
+    private Method findAll;
+    private Method findById;
+    private Method search;
+
+    @Setup(Level.Trial)
+    public void setUp() throws NoSuchMethodException {
+        findAll = ProductService.class.getMethod("findAll");
+        findById = ProductService.class.getMethod("findById", long.class);
+        search = ProductService.class.getMethod("search", String.class, int.class);
+    }
+
+    @Benchmark
+    public Object noArguments() {
+        return keyGenerator.generate(target, findAll);
+    }
+
+    @Benchmark
+    public Object primitiveArgument() {
+        return keyGenerator.generate(target, findById, 42L);
+    }
+
+    @Benchmark
+    public Object multipleArguments() {
+        return keyGenerator.generate(target, search, "keyboard", 3);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object primitiveArgumentContended() {
+        return keyGenerator.generate(target, findById, 42L);
+    }
+
+    public static class ProductService {
+
+        public Object findAll() {
+            return null;
+        }
+
+        public Object findById(long id) {
+            return null;
+        }
+
+        public Object search(String keyword, int page) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.effective.backend.config.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.Cache.ValueWrapper;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking cache operations. Cancelling a returned future cancels the underlying command when
+ * it is still in flight.
+ */
+public interface AsyncCache {
+
+    CompletableFuture<ValueWrapper> getAsync(Object key);
+
+    CompletableFuture<Map<Object, ValueWrapper>> getAllAsync(Collection<?> keys);
+
+    CompletableFuture<Void> putAsync(Object key, Object value);
+
+    CompletableFuture<Void> evictAsync(Object key);
+
+    static CompletableFuture<ValueWrapper> getAsync(Cache cache, Object key) {
+        if (cache instanceof AsyncCache) {
+            return ((AsyncCache) cache).getAsync(key);
+        }
+        return completed(() -> cache.get(key));
+    }
+
+    static CompletableFuture<Map<Object, ValueWrapper>> getAllAsync(Cache cache, Collection<?> keys) {
+        if (cache instanceof AsyncCache) {
+            return ((AsyncCache) cache).getAllAsync(keys);
+        }
+        return completed(() -> BatchCache.getAll(cache, keys));
+    }
+
+    static CompletableFuture<Void> putAsync(Cache cache, Object key, Object value) {
+        if (cache instanceof AsyncCache) {
+            return ((AsyncCache) cache).putAsync(key, value);
+        }
+        return completed(() -> {
+            cache.put(key, value);
+            return null;
+        });
+    }
+
+    static CompletableFuture<Void> evictAsync(Cache cache, Object key) {
+        if (cache instanceof AsyncCache) {
+            return ((AsyncCache) cache).evictAsync(key);
+        }
+        return completed(() -> {
+            cache.evict(key);
+            return null;
+        });
+    }
+
+    /**
+     * {@code source.thenApply(mapper)} whose cancellation or timeout also cancels {@code source}
+     * while it is still running.
+     */
+    static <T, R> CompletableFuture<R> mapCancellable(CompletableFuture<T> source, Function<T, R> mapper) {
+        CompletableFuture<R> mapped = source.thenApply(mapper);
+        mapped.whenComplete((result, error) -> {
+            if (error != null && !source.isDone()) {
+                source.cancel(true);
+            }
+        });
+        return mapped;
+    }
+
+    private static <T> CompletableFuture<T> completed(Supplier<T> operation) {
+        try {
+            return CompletableFuture.completedFuture(operation.get());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
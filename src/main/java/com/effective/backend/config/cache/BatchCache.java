@@ -0,0 +1,37 @@
+package com.effective.backend.config.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.Cache.ValueWrapper;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+public interface BatchCache {
+
+    Map<Object, ValueWrapper> getAll(Collection<?> keys);
+
+    void putAll(Map<?, ?> entries);
+
+    static Map<Object, ValueWrapper> getAll(Cache cache, Collection<?> keys) {
+        if (cache instanceof BatchCache) {
+            return ((BatchCache) cache).getAll(keys);
+        }
+        Map<Object, ValueWrapper> result = new HashMap<>();
+        for (Object key : keys) {
+            ValueWrapper valueWrapper = cache.get(key);
+            if (valueWrapper != null) {
+                result.put(key, valueWrapper);
+            }
+        }
+        return result;
+    }
+
+    static void putAll(Cache cache, Map<?, ?> entries) {
+        if (cache instanceof BatchCache) {
+            ((BatchCache) cache).putAll(entries);
+        } else {
+            entries.forEach(cache::put);
+        }
+    }
+}
@@ -1,7 +1,25 @@
 package com.effective.backend.config.cache;
 
+import com.effective.backend.config.cache.codec.CacheCodecs;
+import com.effective.backend.config.cache.codec.VersionedCodecRedisSerializer;
+import com.effective.backend.config.cache.hotkey.HotKeysEndpoint;
+import com.effective.backend.config.cache.invalidation.CacheInvalidationPublisher;
+import com.effective.backend.config.cache.loader.BatchLoader;
+import com.effective.backend.config.cache.offheap.OffHeapCacheManager;
+import com.effective.backend.config.cache.scope.CacheScopeFilter;
+import com.effective.backend.config.cache.tinylfu.TinyLfuCacheManager;
+import com.effective.backend.config.cache.warmup.CacheWarmUp;
+import com.effective.backend.config.circuit.CircuitBreakerRegistry;
+import com.effective.backend.config.circuit.CircuitBreakerSettings;
+import com.effective.backend.config.redis.LettuceAsyncCommands;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CachingConfigurerSupport;
 import org.springframework.cache.annotation.EnableCaching;
@@ -12,43 +30,231 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
-import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import org.springframework.util.StringUtils;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @RequiredArgsConstructor
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties({CacheProfileProperties.class, CircuitBreakerSettings.class})
 public class CacheConfig extends CachingConfigurerSupport {
 
     private final RedisConnectionFactory connectionFactory;
     private final EhCacheManagerFactoryBean ehCacheManagerFactoryBean;
+    private final CacheInvalidationPublisher cacheInvalidationPublisher;
+    private final CacheProfileProperties cacheProfileProperties;
+    private final CircuitBreakerSettings circuitBreakerSettings;
+    private final MeterRegistry meterRegistry;
+    private final LettuceAsyncCommands lettuceAsyncCommands;
+    private final ObjectProvider<BatchLoader> batchLoaders;
+
+    @Value("${spring.cache.key-generator.hashed}")
+    private boolean hashedKeys;
+
+    @Value("${spring.cache.write-behind.enabled}")
+    private boolean writeBehindEnabled;
+
+    @Value("${spring.cache.write-behind.capacity}")
+    private int writeBehindCapacity;
+
+    @Value("${spring.cache.write-behind.batch-size}")
+    private int writeBehindBatchSize;
+
+    @Value("${spring.cache.write-behind.flush-interval-millis}")
+    private long writeBehindFlushIntervalMillis;
+
+    @Value("${spring.cache.write-behind.backpressure}")
+    private WriteBehindQueue.BackpressurePolicy writeBehindBackpressure;
+
+    @Value("${spring.cache.refresh-ahead.threads}")
+    private int refreshAheadThreads;
+
+    @Value("${spring.cache.refresh-ahead.queue-capacity}")
+    private int refreshAheadQueueCapacity;
+
+    @Value("${spring.cache.generations.refresh-interval}")
+    private Duration generationRefreshInterval;
+
+    @Value("${spring.cache.generations.sweep-batch-size}")
+    private int generationSweepBatchSize;
+
+    @Value("${spring.cache.generations.sweep-pause-millis}")
+    private long generationSweepPauseMillis;
+
+    @Value("${spring.cache.async.timeout}")
+    private Duration asyncTimeout;
+
+    @Value("${spring.cache.warm-up.snapshot-file}")
+    private Path warmUpSnapshotFile;
+
+    @Value("${spring.cache.warm-up.keys-per-cache}")
+    private int warmUpKeysPerCache;
+
+    @Value("${spring.cache.warm-up.batch-size}")
+    private int warmUpBatchSize;
+
+    @Value("${spring.cache.warm-up.snapshot-interval}")
+    private Duration warmUpSnapshotInterval;
+
+    @Value("${spring.cache.warm-up.restore-timeout}")
+    private Duration warmUpRestoreTimeout;
+
+    @Value("${spring.cache.request-scope.max-entries}")
+    private int requestScopeMaxEntries;
 
     @Bean
     public KeyGenerator keyGenerator() {
-        return new CustomKeyGenerator();
+        return new CustomKeyGenerator(hashedKeys);
+    }
+
+    @Bean
+    public CacheCodecs cacheCodecs() {
+        return CacheCodecs.defaults(getClass().getClassLoader());
+    }
+
+    @Bean
+    public EhCacheCacheManager heapCacheManager() {
+        return new ProfiledEhCacheCacheManager(ehCacheManagerFactoryBean.getObject(), cacheProfileProperties);
+    }
+
+    @Bean
+    public OffHeapCacheManager offHeapCacheManager() {
+        return new OffHeapCacheManager(cacheProfileProperties, cacheCodecs());
     }
 
     @Bean
-    public EhCacheCacheManager localCacheManager() {
-        EhCacheCacheManager ehCacheCacheManager = new EhCacheCacheManager();
-        ehCacheCacheManager.setCacheManager(ehCacheManagerFactoryBean.getObject());
-        return ehCacheCacheManager;
+    public TinyLfuCacheManager tinyLfuCacheManager() {
+        return new TinyLfuCacheManager(cacheProfileProperties);
+    }
+
+    @Bean
+    public CacheManager localCacheManager() {
+        return new LocalTierCacheManager(Map.of(
+                CacheProfile.LocalTier.HEAP, heapCacheManager(),
+                CacheProfile.LocalTier.OFF_HEAP, offHeapCacheManager(),
+                CacheProfile.LocalTier.TINY_LFU, tinyLfuCacheManager()), cacheProfileProperties);
     }
 
     @Bean
     public CacheManager globalCacheManager() {
         RedisCacheConfiguration redisCacheConfiguration = RedisCacheConfiguration.defaultCacheConfig();
-        return RedisCacheManager.RedisCacheManagerBuilder
-                .fromConnectionFactory(connectionFactory)
-                .cacheDefaults(redisCacheConfiguration).build();
+        CacheCodecs codecs = cacheCodecs();
+        return new ChainedRedisCacheManager(connectionFactory, redisCacheConfiguration,
+                name -> redisCacheConfiguration(redisCacheConfiguration, codecs, cacheProfileProperties.resolve(name)),
+                new GenerationSweeper(lettuceAsyncCommands, generationSweepExecutor(), generationSweepBatchSize,
+                        generationSweepPauseMillis), lettuceAsyncCommands, generationRefreshInterval);
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService generationSweepExecutor() {
+        return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1000), runnable -> {
+            Thread thread = new Thread(runnable, "cache-generation-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    private RedisCacheConfiguration redisCacheConfiguration(RedisCacheConfiguration defaults, CacheCodecs codecs,
+                                                            CacheProfile profile) {
+        RedisCacheConfiguration configuration = defaults
+                .entryTtl(profile.getRedisTtl())
+                .serializeValuesWith(SerializationPair.fromSerializer(new VersionedCodecRedisSerializer(codecs,
+                        codecs.byName(profile.getCodec()), profile.getCompressionThreshold())));
+        if (StringUtils.hasText(profile.getKeyPrefix())) {
+            configuration = configuration.prefixCacheNameWith(profile.getKeyPrefix());
+        }
+        return configuration;
     }
 
     @Bean
     @Primary
     @Override
-    public CacheManager cacheManager() {
-        return new ChainedCacheManager(localCacheManager(), globalCacheManager());
+    public ChainedCacheManager cacheManager() {
+        return new ChainedCacheManager(localCacheManager(), globalCacheManager(), chainedCacheContext());
+    }
+
+    @Bean
+    public ChainedCacheContext chainedCacheContext() {
+        CircuitBreakerRegistry circuitBreakers = circuitBreakerRegistry();
+        Function<Cache, WriteBehindQueue> writeBehindQueueFactory = null;
+        if (writeBehindEnabled) {
+            ScheduledExecutorService flusher = writeBehindFlusher();
+            writeBehindQueueFactory = globalCache -> new WriteBehindQueue(globalCache,
+                    circuitBreakers.circuitBreaker("flush"), flusher, writeBehindCapacity,
+                    writeBehindBatchSize, writeBehindFlushIntervalMillis, writeBehindBackpressure);
+        }
+        Map<String, BatchLoader> batchLoadersByCache = batchLoaders.orderedStream()
+                .collect(Collectors.toMap(BatchLoader::getCacheName, Function.identity()));
+        return new ChainedCacheContext(cacheInvalidationPublisher, circuitBreakers, meterRegistry,
+                cacheProfileProperties, writeBehindQueueFactory, cacheRefreshExecutor(), asyncTimeout,
+                cacheMaintenanceScheduler(), batchLoadersByCache);
+    }
+
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry() {
+        return new CircuitBreakerRegistry(circuitBreakerSettings, meterRegistry);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService cacheRefreshExecutor() {
+        AtomicInteger sequence = new AtomicInteger();
+        return new ThreadPoolExecutor(refreshAheadThreads, refreshAheadThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(refreshAheadQueueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "cache-refresh-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService cacheMaintenanceScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.cache.warm-up.enabled", havingValue = "true")
+    public CacheWarmUp cacheWarmUp() {
+        return new CacheWarmUp(cacheManager(), cacheMaintenanceScheduler(), warmUpSnapshotFile, warmUpKeysPerCache,
+                warmUpBatchSize, warmUpSnapshotInterval, warmUpRestoreTimeout);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.cache.request-scope.enabled", havingValue = "true")
+    public CacheScopeFilter cacheScopeFilter() {
+        return new CacheScopeFilter(requestScopeMaxEntries);
+    }
+
+    @Bean
+    public HotKeysEndpoint hotKeysEndpoint() {
+        return new HotKeysEndpoint(cacheManager());
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ScheduledExecutorService writeBehindFlusher() {
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
 }
@@ -0,0 +1,109 @@
+package com.effective.backend.config.cache;
+
+import com.effective.backend.config.cache.offheap.OffHeapStore;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Per-cache sizing and encoding settings. Unset fields fall back to
+ * {@link CacheProfileProperties#getDefaults()}.
+ */
+@Getter
+@Setter
+public class CacheProfile {
+
+    public enum LocalTier {
+        HEAP, OFF_HEAP, TINY_LFU
+    }
+
+    private LocalTier localTier;
+
+    private Integer localHeapEntries;
+
+    private Duration localTtl;
+
+    private DataSize offHeapSize;
+
+    private OffHeapStore.Mode offHeapMode;
+
+    private Integer offHeapSegments;
+
+    private Duration redisTtl;
+
+    private String keyPrefix;
+
+    private String codec;
+
+    private Integer compressionThreshold;
+
+    private Double refreshAheadRatio;
+
+    private Long refreshAheadMinHits;
+
+    private Duration maxStaleness;
+
+    private Integer staleEntries;
+
+    private Long hotKeyThreshold;
+
+    private Integer hotKeySampleRate;
+
+    private Duration hotKeyWindow;
+
+    private Integer hotKeyMaxPinned;
+
+    private Duration hotKeyRefreshInterval;
+
+    private Duration negativeTtl;
+
+    private Integer negativeEntries;
+
+    private Long bloomExpectedKeys;
+
+    private Double bloomFalsePositiveRate;
+
+    private Duration bloomRebuildInterval;
+
+    private Duration batchLoadWindow;
+
+    private Integer batchLoadMaxSize;
+
+    public CacheProfile withDefaults(CacheProfile defaults) {
+        CacheProfile resolved = new CacheProfile();
+        resolved.localTier = localTier != null ? localTier : defaults.localTier;
+        resolved.localHeapEntries = localHeapEntries != null ? localHeapEntries : defaults.localHeapEntries;
+        resolved.localTtl = localTtl != null ? localTtl : defaults.localTtl;
+        resolved.offHeapSize = offHeapSize != null ? offHeapSize : defaults.offHeapSize;
+        resolved.offHeapMode = offHeapMode != null ? offHeapMode : defaults.offHeapMode;
+        resolved.offHeapSegments = offHeapSegments != null ? offHeapSegments : defaults.offHeapSegments;
+        resolved.redisTtl = redisTtl != null ? redisTtl : defaults.redisTtl;
+        resolved.keyPrefix = keyPrefix != null ? keyPrefix : defaults.keyPrefix;
+        resolved.codec = codec != null ? codec : defaults.codec;
+        resolved.compressionThreshold = compressionThreshold != null
+                ? compressionThreshold : defaults.compressionThreshold;
+        resolved.refreshAheadRatio = refreshAheadRatio != null ? refreshAheadRatio : defaults.refreshAheadRatio;
+        resolved.refreshAheadMinHits = refreshAheadMinHits != null
+                ? refreshAheadMinHits : defaults.refreshAheadMinHits;
+        resolved.maxStaleness = maxStaleness != null ? maxStaleness : defaults.maxStaleness;
+        resolved.staleEntries = staleEntries != null ? staleEntries : defaults.staleEntries;
+        resolved.hotKeyThreshold = hotKeyThreshold != null ? hotKeyThreshold : defaults.hotKeyThreshold;
+        resolved.hotKeySampleRate = hotKeySampleRate != null ? hotKeySampleRate : defaults.hotKeySampleRate;
+        resolved.hotKeyWindow = hotKeyWindow != null ? hotKeyWindow : defaults.hotKeyWindow;
+        resolved.hotKeyMaxPinned = hotKeyMaxPinned != null ? hotKeyMaxPinned : defaults.hotKeyMaxPinned;
+        resolved.hotKeyRefreshInterval = hotKeyRefreshInterval != null
+                ? hotKeyRefreshInterval : defaults.hotKeyRefreshInterval;
+        resolved.negativeTtl = negativeTtl != null ? negativeTtl : defaults.negativeTtl;
+        resolved.negativeEntries = negativeEntries != null ? negativeEntries : defaults.negativeEntries;
+        resolved.bloomExpectedKeys = bloomExpectedKeys != null ? bloomExpectedKeys : defaults.bloomExpectedKeys;
+        resolved.bloomFalsePositiveRate = bloomFalsePositiveRate != null
+                ? bloomFalsePositiveRate : defaults.bloomFalsePositiveRate;
+        resolved.bloomRebuildInterval = bloomRebuildInterval != null
+                ? bloomRebuildInterval : defaults.bloomRebuildInterval;
+        resolved.batchLoadWindow = batchLoadWindow != null ? batchLoadWindow : defaults.batchLoadWindow;
+        resolved.batchLoadMaxSize = batchLoadMaxSize != null ? batchLoadMaxSize : defaults.batchLoadMaxSize;
+        return resolved;
+    }
+}
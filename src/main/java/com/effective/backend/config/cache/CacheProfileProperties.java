@@ -0,0 +1,63 @@
+package com.effective.backend.config.cache;
+
+import com.effective.backend.config.cache.codec.SmileCacheValueCodec;
+import com.effective.backend.config.cache.offheap.OffHeapStore;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "spring.cache.profiles")
+public class CacheProfileProperties {
+
+    private CacheProfile defaults = builtInDefaults();
+
+    private Map<String, CacheProfile> caches = new HashMap<>();
+
+    public CacheProfile resolve(String cacheName) {
+        CacheProfile fallback = defaults.withDefaults(builtInDefaults());
+        CacheProfile profile = caches.get(cacheName);
+        return profile == null ? fallback : profile.withDefaults(fallback);
+    }
+
+    public boolean isConfigured(String cacheName) {
+        return caches.containsKey(cacheName);
+    }
+
+    private static CacheProfile builtInDefaults() {
+        CacheProfile profile = new CacheProfile();
+        profile.setLocalTier(CacheProfile.LocalTier.HEAP);
+        profile.setLocalHeapEntries(10_000);
+        profile.setLocalTtl(Duration.ofDays(1));
+        profile.setOffHeapSize(DataSize.ofMegabytes(64));
+        profile.setOffHeapMode(OffHeapStore.Mode.DIRECT);
+        profile.setOffHeapSegments(16);
+        profile.setRedisTtl(Duration.ZERO);
+        profile.setKeyPrefix("");
+        profile.setCodec(SmileCacheValueCodec.NAME);
+        profile.setCompressionThreshold(1024);
+        profile.setRefreshAheadRatio(0.0);
+        profile.setRefreshAheadMinHits(3L);
+        profile.setMaxStaleness(Duration.ZERO);
+        profile.setStaleEntries(1000);
+        profile.setHotKeyThreshold(0L);
+        profile.setHotKeySampleRate(1);
+        profile.setHotKeyWindow(Duration.ofSeconds(10));
+        profile.setHotKeyMaxPinned(100);
+        profile.setHotKeyRefreshInterval(Duration.ofSeconds(1));
+        profile.setNegativeTtl(Duration.ZERO);
+        profile.setNegativeEntries(10_000);
+        profile.setBloomExpectedKeys(0L);
+        profile.setBloomFalsePositiveRate(0.01);
+        profile.setBloomRebuildInterval(Duration.ofHours(1));
+        profile.setBatchLoadWindow(Duration.ofMillis(2));
+        profile.setBatchLoadMaxSize(100);
+        return profile;
+    }
+}
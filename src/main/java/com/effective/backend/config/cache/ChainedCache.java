@@ -1,68 +1,401 @@
 package com.effective.backend.config.cache;
 
-import com.effective.backend.config.hystrix.*;
+import com.effective.backend.config.cache.hotkey.HotKeyPins;
+import com.effective.backend.config.cache.invalidation.CacheInvalidationPublisher;
+import com.effective.backend.config.cache.loader.BatchLoader;
+import com.effective.backend.config.cache.loader.BatchingLoader;
+import com.effective.backend.config.cache.scope.CacheScope;
+import com.effective.backend.config.cache.tinylfu.TinyLfuCache;
+import com.effective.backend.config.circuit.GlobalCacheCommands;
 import lombok.extern.slf4j.Slf4j;
+import net.sf.ehcache.Ehcache;
+import net.sf.ehcache.Element;
 import org.springframework.cache.Cache;
+import org.springframework.cache.support.NullValue;
+import org.springframework.cache.support.SimpleValueWrapper;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
-public class ChainedCache implements Cache {
-    
+public class ChainedCache implements Cache, BatchCache, AsyncCache {
+
+    private static final long KNOWN_KEYS_REBUILD_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private final String name;
     private final Cache localCache;
     private final Cache globalCache;
+    private final GlobalCacheCommands globalCommands;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final WriteBehindQueue writeBehindQueue;
+    private final ChainedCacheMetrics metrics;
+    private final RefreshAheadPolicy refreshAheadPolicy;
+    private final Executor refreshExecutor;
+    private final StaleEntryStore staleEntries;
+    private final HotKeyPins hotKeyPins;
+    private final ScheduledFuture<?> hotKeyRefresh;
+    private final ScheduledFuture<?> knownKeysRebuild;
+    private final NegativeEntryStore negativeEntries;
+    private final KeyBloomFilter knownKeys;
+    private final ScheduledExecutorService maintenanceScheduler;
+    private volatile long knownKeysRebuiltAt;
+    private final BatchingLoader batchingLoader;
+    private final Set<Object> refreshingKeys = ConcurrentHashMap.newKeySet();
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlightLoads = new ConcurrentHashMap<>();
     
     public ChainedCache(List<Cache> caches) {
+        this(null, caches, ChainedCacheContext.defaults());
+    }
+
+    public ChainedCache(String name, List<Cache> caches, ChainedCacheContext context) {
+        this.name = name;
         this.localCache = caches.get(0);
         this.globalCache = caches.get(1);
+        this.metrics = new ChainedCacheMetrics(context.getMeterRegistry(), name);
+        this.globalCommands = new GlobalCacheCommands(localCache, caches.get(1), context.getCircuitBreakers(), metrics,
+                context.getAsyncTimeout());
+        this.invalidationPublisher = context.getInvalidationPublisher();
+        this.writeBehindQueue = context.getWriteBehindQueueFactory() == null
+                ? null : context.getWriteBehindQueueFactory().apply(caches.get(1));
+        if (writeBehindQueue != null) {
+            writeBehindQueue.onFlushed(keys -> keys.forEach(key -> invalidationPublisher.publishEvict(name, key)));
+            writeBehindQueue.onDropped(keys -> keys.forEach(key -> {
+                evictLocalCache(key);
+                invalidationPublisher.publishEvict(name, key);
+            }));
+            metrics.bindWriteBehindQueue(writeBehindQueue);
+        }
+        CacheProfile profile = context.getCacheProfiles().resolve(name);
+        this.refreshExecutor = context.getRefreshExecutor();
+        this.refreshAheadPolicy = refreshExecutor == null ? null : RefreshAheadPolicy.of(profile);
+        this.staleEntries = localCache.getNativeCache() instanceof Ehcache ? StaleEntryStore.of(profile) : null;
+        if (staleEntries != null) {
+            ((Ehcache) localCache.getNativeCache()).getCacheEventNotificationService().registerListener(staleEntries);
+        }
+        this.hotKeyPins = context.getMaintenanceScheduler() == null ? null : HotKeyPins.of(profile);
+        if (hotKeyPins != null) {
+            metrics.bindHotKeyPins(hotKeyPins);
+            this.hotKeyRefresh = context.getMaintenanceScheduler().scheduleWithFixedDelay(this::refreshHotKeys,
+                    hotKeyPins.getRefreshIntervalMillis(), hotKeyPins.getRefreshIntervalMillis(),
+                    TimeUnit.MILLISECONDS);
+        } else {
+            this.hotKeyRefresh = null;
+        }
+        this.negativeEntries = NegativeEntryStore.of(profile);
+        this.maintenanceScheduler = context.getMaintenanceScheduler();
+        this.knownKeys = maintenanceScheduler != null && globalCache instanceof KeyScanningCache
+                ? KeyBloomFilter.of(profile) : null;
+        if (knownKeys != null) {
+            rebuildKnownKeys();
+        }
+        long knownKeysRebuildMillis = profile.getBloomRebuildInterval() == null
+                ? 0 : profile.getBloomRebuildInterval().toMillis();
+        this.knownKeysRebuild = knownKeys != null && knownKeysRebuildMillis > 0
+                ? maintenanceScheduler.scheduleWithFixedDelay(this::rebuildKnownKeys, knownKeysRebuildMillis,
+                        knownKeysRebuildMillis, TimeUnit.MILLISECONDS)
+                : null;
+        BatchLoader batchLoader = context.getBatchLoaders().get(name);
+        this.batchingLoader = batchLoader == null ? null : new BatchingLoader(batchLoader,
+                profile.getBatchLoadMaxSize(), profile.getBatchLoadWindow().toNanos(), this::cacheLoaded);
     }
 
     @Override
     public ValueWrapper get(Object key) {
+        return lookup(key);
+    }
+
+    private ValueWrapper lookup(Object key) {
+        CacheScope scope = CacheScope.current();
+        if (scope == null) {
+            return lookupTiers(key);
+        }
+        ValueWrapper scoped = scope.get(this, key);
+        if (scoped != null) {
+            metrics.recordScopedGet();
+            return scoped;
+        }
+        ValueWrapper valueWrapper = lookupTiers(key);
+        if (!isEmpty(valueWrapper) && !StaleValueWrapper.isStale(valueWrapper)) {
+            scope.put(this, key, valueWrapper);
+        }
+        return valueWrapper;
+    }
+
+    private ValueWrapper lookupTiers(Object key) {
+        ValueWrapper pinned = getPinned(key);
+        if (!isEmpty(pinned)) {
+            return pinned;
+        }
+        long start = System.nanoTime();
         ValueWrapper valueWrapper = localCache.get(key);
-        log.info("local Cache : {}", valueWrapper);
+        metrics.recordLocalGet(start, !isEmpty(valueWrapper));
         if (!isEmpty(valueWrapper)) {
-            log.info("local Cache LookUp");
+            recordRead(key, valueWrapper);
+            refreshAheadIfDue(key);
             return valueWrapper;
         } else {
-            valueWrapper = new HystrixGetCommand(globalCache, key).execute();
-            log.info("global cache : {}", valueWrapper);
+            valueWrapper = getPendingWrite(key);
+            if (!isEmpty(valueWrapper)) {
+                return valueWrapper;
+            }
+            valueWrapper = getNegative(key);
+            if (!isEmpty(valueWrapper) || !mightExistGlobally(key)) {
+                return valueWrapper;
+            }
+            valueWrapper = globalCommands.get(key, () -> getStale(key));
+            if (StaleValueWrapper.isStale(valueWrapper)) {
+                metrics.recordStaleGet();
+                return valueWrapper;
+            }
+            metrics.recordGlobalGet(!isEmpty(valueWrapper));
             if (valueWrapper != null) {
                 localCache.put(key, valueWrapper.get());
+                recordRead(key, valueWrapper);
+                addKnownKey(key);
             }
             return valueWrapper;
         }
     }
 
+    @Override
+    public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+        Map<Object, ValueWrapper> result = new HashMap<>(keys.size());
+        List<Object> misses = new ArrayList<>();
+        for (Object key : keys) {
+            long start = System.nanoTime();
+            ValueWrapper valueWrapper = localCache.get(key);
+            metrics.recordLocalGet(start, !isEmpty(valueWrapper));
+            if (!isEmpty(valueWrapper)) {
+                result.put(key, valueWrapper);
+            } else {
+                misses.add(key);
+            }
+        }
+        misses = withoutKnownAbsent(misses, result);
+        if (misses.isEmpty()) {
+            return result;
+        }
+
+        Map<Object, ValueWrapper> globalValues = globalCommands.getAll(misses);
+        for (int i = globalValues.size(); i < misses.size(); i++) {
+            metrics.recordGlobalGet(false);
+        }
+        globalValues.forEach((key, valueWrapper) -> {
+            metrics.recordGlobalGet(true);
+            localCache.put(key, valueWrapper.get());
+            addKnownKey(key);
+            result.put(key, valueWrapper);
+        });
+        return result;
+    }
+
+    /**
+     * Non-blocking {@link #get(Object)}: local tier and pending writes are consulted on the calling
+     * thread, the global tier through Lettuce's async API.
+     */
+    @Override
+    public CompletableFuture<ValueWrapper> getAsync(Object key) {
+        ValueWrapper pinned = getPinned(key);
+        if (!isEmpty(pinned)) {
+            return CompletableFuture.completedFuture(pinned);
+        }
+        long start = System.nanoTime();
+        ValueWrapper valueWrapper = localCache.get(key);
+        metrics.recordLocalGet(start, !isEmpty(valueWrapper));
+        if (!isEmpty(valueWrapper)) {
+            recordRead(key, valueWrapper);
+            refreshAheadIfDue(key);
+            return CompletableFuture.completedFuture(valueWrapper);
+        }
+        ValueWrapper pendingWrite = getPendingWrite(key);
+        if (!isEmpty(pendingWrite)) {
+            return CompletableFuture.completedFuture(pendingWrite);
+        }
+        ValueWrapper absent = getNegative(key);
+        if (!isEmpty(absent) || !mightExistGlobally(key)) {
+            return CompletableFuture.completedFuture(absent);
+        }
+        return AsyncCache.mapCancellable(globalCommands.getAsync(key, () -> getStale(key)), globalValue -> {
+            if (StaleValueWrapper.isStale(globalValue)) {
+                metrics.recordStaleGet();
+                return globalValue;
+            }
+            metrics.recordGlobalGet(!isEmpty(globalValue));
+            if (globalValue != null) {
+                localCache.put(key, globalValue.get());
+                recordRead(key, globalValue);
+                addKnownKey(key);
+            }
+            return globalValue;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Map<Object, ValueWrapper>> getAllAsync(Collection<?> keys) {
+        Map<Object, ValueWrapper> result = new HashMap<>(keys.size());
+        List<Object> misses = new ArrayList<>();
+        for (Object key : keys) {
+            long start = System.nanoTime();
+            ValueWrapper valueWrapper = localCache.get(key);
+            metrics.recordLocalGet(start, !isEmpty(valueWrapper));
+            if (!isEmpty(valueWrapper)) {
+                result.put(key, valueWrapper);
+            } else {
+                misses.add(key);
+            }
+        }
+        List<Object> globalKeys = withoutKnownAbsent(misses, result);
+        if (globalKeys.isEmpty()) {
+            return CompletableFuture.completedFuture(result);
+        }
+        return AsyncCache.mapCancellable(globalCommands.getAllAsync(globalKeys), globalValues -> {
+            for (int i = globalValues.size(); i < globalKeys.size(); i++) {
+                metrics.recordGlobalGet(false);
+            }
+            globalValues.forEach((key, valueWrapper) -> {
+                metrics.recordGlobalGet(true);
+                localCache.put(key, valueWrapper.get());
+                addKnownKey(key);
+                result.put(key, valueWrapper);
+            });
+            return result;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> putAsync(Object key, Object value) {
+        if (value == null && negativeEntries != null) {
+            return putAbsentAsync(key);
+        }
+        keyChanged(key);
+        if (writeBehindQueue != null) {
+            put(key, value);
+            return CompletableFuture.completedFuture(null);
+        }
+        return AsyncCache.mapCancellable(globalCommands.putAsync(key, value), ignored -> {
+            invalidationPublisher.publishEvict(name, key);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> evictAsync(Object key) {
+        keyChanged(key);
+        if (writeBehindQueue != null) {
+            writeBehindQueue.discard(key);
+        }
+        return AsyncCache.mapCancellable(globalCommands.evictAsync(key), ignored -> {
+            invalidationPublisher.publishEvict(name, key);
+            return null;
+        });
+    }
+
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        entries.keySet().forEach(this::keyChanged);
+        if (writeBehindQueue != null) {
+            entries.forEach((key, value) -> {
+                localCache.put(key, value);
+                writeBehindQueue.enqueue(key, value);
+            });
+            return;
+        }
+        globalCommands.putAll(entries);
+        entries.keySet().forEach(key -> invalidationPublisher.publishEvict(name, key));
+    }
+
     @Override
     public ValueWrapper putIfAbsent(Object key, Object value) {
-        return new HystrixPutIfAbsentCommand(localCache, globalCache, key, value).execute();
+        ValueWrapper pendingWrite = getPendingWrite(key);
+        if (!isEmpty(pendingWrite)) {
+            return pendingWrite;
+        }
+        ValueWrapper existing = globalCommands.putIfAbsent(key, value);
+        if (existing == null) {
+            keyChanged(key);
+            invalidationPublisher.publishEvict(name, key);
+        }
+        return existing;
     }
 
     @Override
     public boolean evictIfPresent(Object key) {
+        keyChanged(key);
         return localCache.evictIfPresent(key);
     }
 
     @Override
     public boolean invalidate() {
+        forgetScoped();
+        if (hotKeyPins != null) {
+            hotKeyPins.clear();
+        }
+        if (negativeEntries != null) {
+            negativeEntries.clear();
+        }
         return localCache.invalidate();
     }
 
     @Override
     public void put(Object key, Object value) {
-        new HystrixPutCommand(localCache, globalCache, key, value).execute();
+        if (value == null && negativeEntries != null) {
+            putAbsent(key);
+            return;
+        }
+        keyChanged(key);
+        if (writeBehindQueue != null) {
+            localCache.put(key, value);
+            writeBehindQueue.enqueue(key, value);
+            return;
+        }
+        globalCommands.put(key, value);
+        invalidationPublisher.publishEvict(name, key);
     }
 
     @Override
     public void evict(Object key) {
-        new HystrixEvictCommand(localCache, globalCache, key);
+        keyChanged(key);
+        if (writeBehindQueue != null) {
+            writeBehindQueue.discard(key);
+        }
+        globalCommands.evict(key);
+        invalidationPublisher.publishEvict(name, key);
     }
 
     @Override
     public void clear() {
-        new HystrixClearCommand(localCache, globalCache).execute();
+        forgetScoped();
+        if (writeBehindQueue != null) {
+            writeBehindQueue.discardAll();
+        }
+        if (hotKeyPins != null) {
+            hotKeyPins.clear();
+        }
+        if (negativeEntries != null) {
+            negativeEntries.clear();
+        }
+        globalCommands.clear();
+        resetKnownKeys();
+        invalidationPublisher.publishClear(name);
     }
 
     @Override
@@ -70,7 +403,7 @@ public class ChainedCache implements Cache {
         if (!localCache.getName().isEmpty()) {
             return localCache.getName();
         }
-        return new HystrixGetNameCommand(globalCache).execute();
+        return globalCommands.getName();
     }
 
     @Override
@@ -84,31 +417,387 @@ public class ChainedCache implements Cache {
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public <T> T get(Object key, Callable<T> valueLoader) {
-        throw new RuntimeException("not support Calculation");
+        ValueWrapper valueWrapper = lookup(key);
+        if (!isEmpty(valueWrapper)) {
+            return (T) valueWrapper.get();
+        }
+
+        CompletableFuture<Object> loading = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = inFlightLoads.putIfAbsent(key, loading);
+        if (inFlight != null) {
+            return (T) await(key, valueLoader, inFlight);
+        }
+
+        try {
+            ValueWrapper loaded = localCache.get(key);
+            if (!isEmpty(loaded)) {
+                loading.complete(loaded.get());
+                return (T) loaded.get();
+            }
+            T value;
+            if (batchingLoader != null) {
+                value = (T) batchingLoader.load(key);
+            } else {
+                value = valueLoader.call();
+                put(key, value);
+            }
+            loading.complete(value);
+            return value;
+        } catch (Throwable ex) {
+            loading.completeExceptionally(ex);
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        } finally {
+            inFlightLoads.remove(key, loading);
+        }
+    }
+
+    /**
+     * Writes a batch from the {@link BatchingLoader} to both tiers, the values with one pipelined
+     * putAll.
+     */
+    private void cacheLoaded(Map<Object, Object> values) {
+        Map<Object, Object> found = new HashMap<>(values.size());
+        values.forEach((key, value) -> {
+            if (value != null) {
+                found.put(key, value);
+            } else {
+                put(key, null);
+            }
+        });
+        putAll(found);
+    }
+
+    private void refreshAheadIfDue(Object key) {
+        if (refreshAheadPolicy == null || !refreshAheadPolicy.isDue(localCache, key) || !refreshingKeys.add(key)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> refresh(key));
+        } catch (RejectedExecutionException ex) {
+            refreshingKeys.remove(key);
+            metrics.recordRefresh("rejected");
+        }
+    }
+
+    /**
+     * Re-reads the global tier into the local tier. A global miss leaves the local entry to expire so
+     * the next caller loads it with its own loader, on its own thread and with its own context.
+     */
+    private void refresh(Object key) {
+        try {
+            ValueWrapper fresh = globalCommands.get(key);
+            if (fresh == null) {
+                metrics.recordRefresh("miss");
+                return;
+            }
+            localCache.put(key, fresh.get());
+            metrics.recordRefresh("success");
+        } catch (RuntimeException ex) {
+            log.warn("refresh-ahead failed for {} in {}", key, name, ex);
+            metrics.recordRefresh("failure");
+        } finally {
+            refreshingKeys.remove(key);
+        }
+    }
+
+    private Object await(Object key, Callable<?> valueLoader, CompletableFuture<Object> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex.getCause());
+        }
     }
 
     public void clearLocalCache() {
+        forgetScoped();
+        if (hotKeyPins != null) {
+            hotKeyPins.clear();
+        }
+        if (negativeEntries != null) {
+            negativeEntries.clear();
+        }
         localCache.clear();
     }
 
-    public boolean isSynchronized(Object key) {
-        ValueWrapper localValue = localCache.get(key);
-        ValueWrapper globalValue = new HystrixGetCommand(globalCache, key) {
-            @Override
-            protected ValueWrapper getFallback() {
-                log.warn("Synchronize get fallback called, circuit is {}", super.circuitBreaker.isOpen());
-                return localValue;
+    /**
+     * Another node cleared this cache: pick up the new global generation before dropping local
+     * entries, so they are not refilled from the abandoned generation.
+     */
+    public void onRemoteClear() {
+        if (globalCache instanceof GenerationalCache) {
+            try {
+                ((GenerationalCache) globalCache).refreshGeneration();
+            } catch (RuntimeException e) {
+                log.warn("could not refresh the generation of {}", name, e);
+            }
+        }
+        clearLocalCache();
+        resetKnownKeys();
+    }
+
+    /**
+     * Another node found {@code key} absent everywhere. Unlike {@link #evictLocalCache(Object)} the key
+     * is not added to the known keys, so it keeps skipping the global tier.
+     */
+    public void onRemoteAbsent(Object key) {
+        forgetCached(key);
+        localCache.evict(key);
+        if (negativeEntries != null) {
+            negativeEntries.put(key);
+        }
+    }
+
+    public void evictLocalCache(Object key) {
+        keyChanged(key);
+        localCache.evict(key);
+    }
+
+    public WriteBehindQueue getWriteBehindQueue() {
+        return writeBehindQueue;
+    }
+
+    /**
+     * Up to {@code limit} keys worth restoring after a restart: pinned hot keys first, then the
+     * local tier's own view of its hottest entries where it has one.
+     */
+    public List<Object> hottestLocalKeys(int limit) {
+        Set<Object> keys = new LinkedHashSet<>();
+        if (hotKeyPins != null) {
+            hotKeyPins.getPinnedKeys().stream().limit(limit).forEach(keys::add);
+        }
+        Object nativeCache = localCache.getNativeCache();
+        if (nativeCache instanceof Ehcache) {
+            Ehcache ehcache = (Ehcache) nativeCache;
+            List<Element> elements = new ArrayList<>();
+            for (Object key : ehcache.getKeysNoDuplicateCheck()) {
+                Element element = ehcache.getQuiet(key);
+                if (element != null && !element.isExpired()) {
+                    elements.add(element);
+                }
             }
-        }.execute();
+            elements.sort(Comparator.comparingLong(Element::getHitCount).reversed());
+            elements.stream().limit(limit).forEach(element -> keys.add(element.getObjectKey()));
+        } else if (nativeCache instanceof TinyLfuCache) {
+            keys.addAll(((TinyLfuCache) nativeCache).hottestKeys(limit));
+        }
+        return new ArrayList<>(keys).subList(0, Math.min(limit, keys.size()));
+    }
+
+    /**
+     * Loads {@code keys} from the global tier into the local tier without counting them as reads.
+     *
+     * @return the number of keys found in the global tier
+     */
+    public int warmUp(Collection<?> keys) {
+        Map<Object, ValueWrapper> globalValues = globalCommands.getAll(keys);
+        globalValues.forEach((key, valueWrapper) -> localCache.putIfAbsent(key, valueWrapper.get()));
+        return globalValues.size();
+    }
+
+    public HotKeyPins getHotKeyPins() {
+        return hotKeyPins;
+    }
+
+    public void shutdown() {
+        if (hotKeyRefresh != null) {
+            hotKeyRefresh.cancel(false);
+        }
+        if (knownKeysRebuild != null) {
+            knownKeysRebuild.cancel(false);
+        }
+        if (writeBehindQueue != null) {
+            writeBehindQueue.shutdown();
+        }
+    }
+
+    private ValueWrapper getPinned(Object key) {
+        if (hotKeyPins == null) {
+            return null;
+        }
+        ValueWrapper pinned = hotKeyPins.get(key);
+        if (pinned != null) {
+            metrics.recordPinnedGet();
+        }
+        return pinned;
+    }
 
-        if (isEmpty(localValue)) {
+    /**
+     * Caches {@code key} as absent. The global tier is only touched when it may hold a value for the
+     * key, and the key is never added to the known keys.
+     */
+    private void putAbsent(Object key) {
+        forgetCached(key);
+        if (writeBehindQueue != null) {
+            writeBehindQueue.discard(key);
+        }
+        if (knownKeys == null || knownKeys.mightContain(key)) {
+            globalCommands.evict(key);
+            invalidationPublisher.publishAbsent(name, key);
+        } else {
+            localCache.evict(key);
+        }
+        negativeEntries.put(key);
+    }
+
+    private CompletableFuture<Void> putAbsentAsync(Object key) {
+        forgetCached(key);
+        if (writeBehindQueue != null) {
+            writeBehindQueue.discard(key);
+        }
+        if (knownKeys != null && !knownKeys.mightContain(key)) {
+            localCache.evict(key);
+            negativeEntries.put(key);
+            return CompletableFuture.completedFuture(null);
+        }
+        return AsyncCache.mapCancellable(globalCommands.evictAsync(key), ignored -> {
+            invalidationPublisher.publishAbsent(name, key);
+            negativeEntries.put(key);
+            return null;
+        });
+    }
+
+    private void forgetCached(Object key) {
+        CacheScope scope = CacheScope.current();
+        if (scope != null) {
+            scope.forget(this, key);
+        }
+        if (hotKeyPins != null) {
+            hotKeyPins.unpin(key);
+        }
+    }
+
+    /**
+     * {@code key} was written or evicted, here or on another node: drop what is pinned or known
+     * absent for it, and count it as known to the global tier (a harmless false positive after an
+     * evict).
+     */
+    private void keyChanged(Object key) {
+        forgetCached(key);
+        if (negativeEntries != null) {
+            negativeEntries.remove(key);
+        }
+        addKnownKey(key);
+    }
+
+    private void forgetScoped() {
+        CacheScope scope = CacheScope.current();
+        if (scope != null) {
+            scope.forgetAll(this);
+        }
+    }
+
+    private ValueWrapper getNegative(Object key) {
+        ValueWrapper absent = negativeEntries == null ? null : negativeEntries.get(key);
+        if (absent != null) {
+            metrics.recordNegativeGet();
+        }
+        return absent;
+    }
+
+    /**
+     * False only when the Bloom filter of known keys rules the key out, so the global tier can be
+     * skipped. Also kicks off a rebuild once the filter is saturated.
+     */
+    private boolean mightExistGlobally(Object key) {
+        if (knownKeys == null) {
+            return true;
+        }
+        if (knownKeys.isSaturated()
+                && System.currentTimeMillis() - knownKeysRebuiltAt >= KNOWN_KEYS_REBUILD_INTERVAL_MILLIS) {
+            rebuildKnownKeys();
+        }
+        if (knownKeys.mightContain(key)) {
             return true;
-        } else if (isEmpty(globalValue)) {
-            return false;
         }
+        metrics.recordBloomSkip();
+        return false;
+    }
 
-        return localValue.get().equals(globalValue.get());
+    /**
+     * Drops local misses that are known to be absent, answering negative entries in {@code result};
+     * the rest still need the global tier.
+     */
+    private List<Object> withoutKnownAbsent(List<Object> misses, Map<Object, ValueWrapper> result) {
+        if (negativeEntries == null && knownKeys == null) {
+            return misses;
+        }
+        List<Object> globalKeys = new ArrayList<>(misses.size());
+        for (Object key : misses) {
+            ValueWrapper absent = getNegative(key);
+            if (absent != null) {
+                result.put(key, absent);
+            } else if (mightExistGlobally(key)) {
+                globalKeys.add(key);
+            }
+        }
+        return globalKeys;
+    }
+
+    private void addKnownKey(Object key) {
+        if (knownKeys != null) {
+            knownKeys.add(key);
+        }
+    }
+
+    private void resetKnownKeys() {
+        if (knownKeys != null) {
+            knownKeys.reset();
+            rebuildKnownKeys();
+        }
+    }
+
+    private void rebuildKnownKeys() {
+        if (!knownKeys.startRebuild()) {
+            return;
+        }
+        knownKeysRebuiltAt = System.currentTimeMillis();
+        try {
+            maintenanceScheduler.execute(() -> {
+                try {
+                    ((KeyScanningCache) globalCache).scanKeys(knownKeys::addScanned);
+                    knownKeys.completeRebuild();
+                } catch (InterruptedException e) {
+                    knownKeys.abandonRebuild();
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException e) {
+                    knownKeys.abandonRebuild();
+                    log.warn("could not rebuild the known keys of {}", name, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            knownKeys.abandonRebuild();
+        }
+    }
+
+    private void recordRead(Object key, ValueWrapper valueWrapper) {
+        if (hotKeyPins != null) {
+            hotKeyPins.recordRead(key, valueWrapper);
+        }
+    }
+
+    private void refreshHotKeys() {
+        try {
+            hotKeyPins.refresh(globalCommands::getAll);
+        } catch (RuntimeException e) {
+            log.warn("could not refresh the hot keys of {}", name, e);
+        }
+    }
+
+    private ValueWrapper getStale(Object key) {
+        return staleEntries == null ? null : staleEntries.get(key);
+    }
+
+    private ValueWrapper getPendingWrite(Object key) {
+        if (writeBehindQueue == null) {
+            return null;
+        }
+        Object pendingValue = writeBehindQueue.getPending(key);
+        if (pendingValue == null) {
+            return null;
+        }
+        return new SimpleValueWrapper(pendingValue == NullValue.INSTANCE ? null : pendingValue);
     }
 
     private boolean isEmpty(ValueWrapper valueWrapper) {
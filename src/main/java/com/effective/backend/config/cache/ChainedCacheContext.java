@@ -0,0 +1,83 @@
+package com.effective.backend.config.cache;
+
+import com.effective.backend.config.cache.invalidation.CacheInvalidationPublisher;
+import com.effective.backend.config.cache.loader.BatchLoader;
+import com.effective.backend.config.circuit.CircuitBreakerRegistry;
+import com.effective.backend.config.circuit.CircuitBreakerSettings;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
+
+/**
+ * Collaborators shared by every {@link ChainedCache} of a {@link ChainedCacheManager}.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ChainedCacheContext {
+
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final MeterRegistry meterRegistry;
+    private final CacheProfileProperties cacheProfiles;
+    private final Function<Cache, WriteBehindQueue> writeBehindQueueFactory;
+    private final Executor refreshExecutor;
+    private final Duration asyncTimeout;
+    private final ScheduledExecutorService maintenanceScheduler;
+    private final Map<String, BatchLoader> batchLoaders;
+
+    public static ChainedCacheContext defaults() {
+        MeterRegistry meterRegistry = new CompositeMeterRegistry();
+        return new ChainedCacheContext(CacheInvalidationPublisher.NO_OP,
+                new CircuitBreakerRegistry(new CircuitBreakerSettings(), meterRegistry), meterRegistry,
+                new CacheProfileProperties(), null, null, Duration.ofSeconds(1), null, Map.of());
+    }
+
+    public ChainedCacheContext withInvalidationPublisher(CacheInvalidationPublisher invalidationPublisher) {
+        return new ChainedCacheContext(invalidationPublisher, circuitBreakers, meterRegistry, cacheProfiles,
+                writeBehindQueueFactory, refreshExecutor, asyncTimeout, maintenanceScheduler,
+                batchLoaders);
+    }
+
+    public ChainedCacheContext withMeterRegistry(MeterRegistry meterRegistry) {
+        return new ChainedCacheContext(invalidationPublisher, circuitBreakers.withMeterRegistry(meterRegistry),
+                meterRegistry, cacheProfiles, writeBehindQueueFactory, refreshExecutor, asyncTimeout,
+                maintenanceScheduler, batchLoaders);
+    }
+
+    public ChainedCacheContext withWriteBehindQueueFactory(Function<Cache, WriteBehindQueue> writeBehindQueueFactory) {
+        return new ChainedCacheContext(invalidationPublisher, circuitBreakers, meterRegistry, cacheProfiles,
+                writeBehindQueueFactory, refreshExecutor, asyncTimeout, maintenanceScheduler,
+                batchLoaders);
+    }
+
+    public ChainedCacheContext withCacheProfiles(CacheProfileProperties cacheProfiles) {
+        return new ChainedCacheContext(invalidationPublisher, circuitBreakers, meterRegistry, cacheProfiles,
+                writeBehindQueueFactory, refreshExecutor, asyncTimeout, maintenanceScheduler,
+                batchLoaders);
+    }
+
+    public ChainedCacheContext withRefreshExecutor(Executor refreshExecutor) {
+        return new ChainedCacheContext(invalidationPublisher, circuitBreakers, meterRegistry, cacheProfiles,
+                writeBehindQueueFactory, refreshExecutor, asyncTimeout, maintenanceScheduler,
+                batchLoaders);
+    }
+
+    public ChainedCacheContext withMaintenanceScheduler(ScheduledExecutorService maintenanceScheduler) {
+        return new ChainedCacheContext(invalidationPublisher, circuitBreakers, meterRegistry, cacheProfiles,
+                writeBehindQueueFactory, refreshExecutor, asyncTimeout, maintenanceScheduler,
+                batchLoaders);
+    }
+
+    public ChainedCacheContext withBatchLoaders(Map<String, BatchLoader> batchLoaders) {
+        return new ChainedCacheContext(invalidationPublisher, circuitBreakers, meterRegistry, cacheProfiles,
+                writeBehindQueueFactory, refreshExecutor, asyncTimeout, maintenanceScheduler, batchLoaders);
+    }
+}
@@ -1,5 +1,6 @@
 package com.effective.backend.config.cache;
 
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 
@@ -9,18 +10,33 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
-public class ChainedCacheManager implements CacheManager {
+public class ChainedCacheManager implements CacheManager, DisposableBean {
 
     private final List<CacheManager> cacheManagers;
-    private final Map<String, Cache> cacheMap = new ConcurrentHashMap<>();
+    private final ChainedCacheContext context;
+    private final Map<String, ChainedCache> cacheMap = new ConcurrentHashMap<>();
 
-    public ChainedCacheManager(CacheManager localCacheManager, CacheManager globalCacheManager) {
+    public ChainedCacheManager(CacheManager localCacheManager, CacheManager globalCacheManager,
+                               ChainedCacheContext context) {
         this.cacheManagers = List.of(localCacheManager, globalCacheManager);
+        this.context = context;
     }
 
     @Override
     public Cache getCache(String name) {
-        return cacheMap.computeIfAbsent(name, key -> new ChainedCache(getCaches(key)));
+        return cacheMap.computeIfAbsent(name, this::createCache);
+    }
+
+    private ChainedCache createCache(String name) {
+        return new ChainedCache(name, getCaches(name), context);
+    }
+
+    public ChainedCache lookupCache(String name) {
+        return cacheMap.get(name);
+    }
+
+    public Collection<ChainedCache> getChainedCaches() {
+        return cacheMap.values();
     }
 
     private List<Cache> getCaches(String name) {
@@ -33,4 +49,9 @@ public class ChainedCacheManager implements CacheManager {
         return cacheManagers.stream().flatMap(manager -> manager.getCacheNames().stream())
                 .collect(Collectors.toList());
     }
+
+    @Override
+    public void destroy() {
+        cacheMap.values().forEach(ChainedCache::shutdown);
+    }
 }
@@ -0,0 +1,148 @@
+package com.effective.backend.config.cache;
+
+import com.effective.backend.config.cache.hotkey.HotKeyPins;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+public class ChainedCacheMetrics {
+
+    public static final String TIER_LOCAL = "local";
+    public static final String TIER_GLOBAL = "global";
+    public static final String TIER_STALE = "stale";
+    public static final String TIER_PINNED = "pinned";
+    public static final String TIER_NEGATIVE = "negative";
+    public static final String TIER_SCOPE = "scope";
+
+    private final MeterRegistry registry;
+    private final String cacheName;
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter globalHits;
+    private final Counter globalMisses;
+    private final Counter staleHits;
+    private final Counter pinnedHits;
+    private final Counter negativeHits;
+    private final Counter scopedHits;
+    private final Counter bloomSkips;
+    private final Timer localGetLatency;
+    private final ConcurrentMap<String, Timer> globalLatency = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> fallbacks = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> refreshes = new ConcurrentHashMap<>();
+
+    public ChainedCacheMetrics(MeterRegistry registry, String cacheName) {
+        this.registry = registry;
+        this.cacheName = cacheName == null ? "unnamed" : cacheName;
+        this.localHits = gets(TIER_LOCAL, "hit");
+        this.localMisses = gets(TIER_LOCAL, "miss");
+        this.globalHits = gets(TIER_GLOBAL, "hit");
+        this.globalMisses = gets(TIER_GLOBAL, "miss");
+        this.staleHits = gets(TIER_STALE, "hit");
+        this.pinnedHits = gets(TIER_PINNED, "hit");
+        this.negativeHits = gets(TIER_NEGATIVE, "hit");
+        this.scopedHits = gets(TIER_SCOPE, "hit");
+        this.bloomSkips = Counter.builder("cache.chained.bloom.skips")
+                .tag("cache", this.cacheName)
+                .register(registry);
+        this.localGetLatency = latency(TIER_LOCAL, "get");
+    }
+
+    public static ChainedCacheMetrics noop(String cacheName) {
+        return new ChainedCacheMetrics(new CompositeMeterRegistry(), cacheName);
+    }
+
+    public void recordLocalGet(long startNanos, boolean hit) {
+        localGetLatency.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        (hit ? localHits : localMisses).increment();
+    }
+
+    public void recordGlobalGet(boolean hit) {
+        (hit ? globalHits : globalMisses).increment();
+    }
+
+    public void recordStaleGet() {
+        staleHits.increment();
+    }
+
+    public void recordPinnedGet() {
+        pinnedHits.increment();
+    }
+
+    public void recordNegativeGet() {
+        negativeHits.increment();
+    }
+
+    public void recordScopedGet() {
+        scopedHits.increment();
+    }
+
+    public void recordBloomSkip() {
+        bloomSkips.increment();
+    }
+
+    public void recordGlobal(String operation, long startNanos) {
+        Timer timer = globalLatency.get(operation);
+        if (timer == null) {
+            timer = globalLatency.computeIfAbsent(operation, key -> latency(TIER_GLOBAL, key));
+        }
+        timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordFallback(String operation) {
+        Counter counter = fallbacks.get(operation);
+        if (counter == null) {
+            counter = fallbacks.computeIfAbsent(operation, key -> Counter.builder("cache.chained.fallbacks")
+                    .tags("cache", cacheName, "operation", key)
+                    .register(registry));
+        }
+        counter.increment();
+    }
+
+    public void recordRefresh(String result) {
+        Counter counter = refreshes.get(result);
+        if (counter == null) {
+            counter = refreshes.computeIfAbsent(result, key -> Counter.builder("cache.chained.refreshes")
+                    .tags("cache", cacheName, "result", key)
+                    .register(registry));
+        }
+        counter.increment();
+    }
+
+    public void bindWriteBehindQueue(WriteBehindQueue queue) {
+        Gauge.builder("cache.chained.write-behind.queue.depth", queue, WriteBehindQueue::getQueueDepth)
+                .tag("cache", cacheName)
+                .register(registry);
+        FunctionCounter.builder("cache.chained.write-behind.flushed", queue, WriteBehindQueue::getFlushedWrites)
+                .tag("cache", cacheName)
+                .register(registry);
+        FunctionCounter.builder("cache.chained.write-behind.dropped", queue, WriteBehindQueue::getDroppedWrites)
+                .tag("cache", cacheName)
+                .register(registry);
+    }
+
+    public void bindHotKeyPins(HotKeyPins pins) {
+        Gauge.builder("cache.chained.hot-keys.pinned", pins, HotKeyPins::getPinnedCount)
+                .tag("cache", cacheName)
+                .register(registry);
+    }
+
+    private Counter gets(String tier, String result) {
+        return Counter.builder("cache.chained.gets")
+                .tags("cache", cacheName, "tier", tier, "result", result)
+                .register(registry);
+    }
+
+    private Timer latency(String tier, String operation) {
+        return Timer.builder("cache.chained.latency")
+                .tags("cache", cacheName, "tier", tier, "operation", operation)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
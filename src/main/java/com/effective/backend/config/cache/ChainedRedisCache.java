@@ -0,0 +1,403 @@
+package com.effective.backend.config.cache;
+
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+@Slf4j
+public class ChainedRedisCache extends RedisCache implements BatchCache, AsyncCache, GenerationalCache,
+        KeyScanningCache {
+
+    /**
+     * SET NX with an optional PX in one round trip; returns the current value when the key exists.
+     */
+    static final RedisScript<byte[]> PUT_IF_ABSENT = RedisScript.of(
+            "if tonumber(ARGV[2]) > 0 then\n"
+                    + "  if redis.call('SET', KEYS[1], ARGV[1], 'NX', 'PX', ARGV[2]) then return false end\n"
+                    + "elseif redis.call('SET', KEYS[1], ARGV[1], 'NX') then return false end\n"
+                    + "return redis.call('GET', KEYS[1])", byte[].class);
+
+    private final RedisConnectionFactory connectionFactory;
+    private final GenerationSweeper sweeper;
+    private final Supplier<RedisClusterAsyncCommands<byte[], byte[]>> asyncCommands;
+    private final long generationRefreshMillis;
+    private final byte[] generationKey;
+    private volatile long generation = -1;
+    private final AtomicLong generationReadAt = new AtomicLong();
+
+    protected ChainedRedisCache(String name, RedisCacheWriter cacheWriter, RedisCacheConfiguration cacheConfig,
+                                RedisConnectionFactory connectionFactory, GenerationSweeper sweeper,
+                                Supplier<RedisClusterAsyncCommands<byte[], byte[]>> asyncCommands,
+                                Duration generationRefreshInterval) {
+        super(name, cacheWriter, cacheConfig);
+        this.connectionFactory = connectionFactory;
+        this.sweeper = sweeper;
+        this.asyncCommands = asyncCommands;
+        this.generationRefreshMillis = generationRefreshInterval.toMillis();
+        this.generationKey = (cacheConfig.getKeyPrefixFor(name) + "generation").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Inserts the generation tag between the cache prefix and the key: {@code productCache::g3:key}.
+     */
+    @Override
+    protected String createCacheKey(Object key) {
+        String cacheKey = super.createCacheKey(key);
+        if (!getCacheConfiguration().usePrefix()) {
+            return cacheKey;
+        }
+        String prefix = getCacheConfiguration().getKeyPrefixFor(getName());
+        return prefix + generationTag(getGeneration()) + cacheKey.substring(prefix.length());
+    }
+
+    /**
+     * Starts a new generation with a single INCR and leaves the keys of the previous generations to
+     * their TTL and the background sweeper, so the cost does not depend on the size of the cache.
+     */
+    @Override
+    public void clear() {
+        if (!getCacheConfiguration().usePrefix()) {
+            super.clear();
+            return;
+        }
+        long previous = getGeneration();
+        Long next;
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            next = connection.stringCommands().incr(generationKey);
+        }
+        if (next == null) {
+            return;
+        }
+        updateGeneration(next);
+        if (sweeper != null) {
+            String prefix = getCacheConfiguration().getKeyPrefixFor(getName());
+            for (long abandoned = previous; abandoned < next; abandoned++) {
+                sweeper.sweep(prefix + generationTag(abandoned) + "*");
+            }
+        }
+    }
+
+    /**
+     * Scans the keys of the current generation; keys of abandoned generations are skipped.
+     */
+    @Override
+    public void scanKeys(Consumer<String> keys) throws InterruptedException {
+        if (!getCacheConfiguration().usePrefix() || sweeper == null) {
+            throw new UnsupportedOperationException("keys of " + getName() + " cannot be scanned");
+        }
+        String prefix = getCacheConfiguration().getKeyPrefixFor(getName()) + generationTag(getGeneration());
+        sweeper.scan(prefix + "*", batch -> batch.forEach(rawKey ->
+                keys.accept(new String(rawKey, StandardCharsets.UTF_8).substring(prefix.length()))));
+    }
+
+    /**
+     * Blocks only for the very first read. Afterwards an outdated generation is refreshed in the
+     * background by the one caller that claims {@code generationReadAt}, and everyone keeps using the
+     * last known value meanwhile; a clear on another node is also announced by the invalidation channel.
+     */
+    @Override
+    public long getGeneration() {
+        long current = generation;
+        if (current < 0) {
+            return readInitialGeneration();
+        }
+        long readAt = generationReadAt.get();
+        long now = System.currentTimeMillis();
+        if (now - readAt >= generationRefreshMillis && generationReadAt.compareAndSet(readAt, now)) {
+            refreshGenerationInBackground();
+        }
+        return current;
+    }
+
+    private synchronized long readInitialGeneration() {
+        if (generation < 0) {
+            refreshGeneration();
+        }
+        return generation;
+    }
+
+    private void refreshGenerationInBackground() {
+        CompletableFuture<Long> refresh;
+        try {
+            refresh = asyncCommands == null ? CompletableFuture.supplyAsync(this::readGeneration)
+                    : asyncCommands.get().incrby(generationKey, 0).toCompletableFuture();
+        } catch (RuntimeException e) {
+            refresh = CompletableFuture.failedFuture(e);
+        }
+        refresh.whenComplete((current, error) -> {
+            if (error != null) {
+                log.warn("could not refresh the generation of {}", getName(), error);
+            } else {
+                updateGeneration(current == null ? 0 : current);
+            }
+        });
+    }
+
+    /**
+     * Reads the generation with {@code INCRBY 0} rather than GET: as a write it is always routed to
+     * the primary, so a lagging replica cannot hand back the generation that was just abandoned.
+     */
+    @Override
+    public void refreshGeneration() {
+        Long current = readGeneration();
+        updateGeneration(current == null ? 0 : current);
+    }
+
+    private Long readGeneration() {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            return connection.stringCommands().incrBy(generationKey, 0);
+        }
+    }
+
+    private synchronized void updateGeneration(long current) {
+        if (current > generation) {
+            generation = current;
+        }
+        generationReadAt.set(System.currentTimeMillis());
+    }
+
+    private static String generationTag(long generation) {
+        return "g" + generation + ":";
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        Object cacheValue = preProcessCacheValue(value);
+        if (cacheValue == null) {
+            return get(key);
+        }
+        byte[] rawKey = serializeCacheKey(createCacheKey(key));
+        byte[] rawValue = serializeCacheValue(cacheValue);
+        byte[] ttlMillis = String.valueOf(ttlMillis(getCacheConfiguration().getTtl())).getBytes(StandardCharsets.UTF_8);
+
+        byte[] existing;
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            existing = evalPutIfAbsent(connection, rawKey, rawValue, ttlMillis);
+        }
+        return existing == null ? null : toValueWrapper(deserializeCacheValue(existing));
+    }
+
+    private byte[] evalPutIfAbsent(RedisConnection connection, byte[]... keyAndArgs) {
+        try {
+            return connection.scriptingCommands().evalSha(PUT_IF_ABSENT.getSha1(), ReturnType.VALUE, 1, keyAndArgs);
+        } catch (RuntimeException e) {
+            if (!isNoScript(e)) {
+                throw e;
+            }
+            return connection.scriptingCommands().eval(
+                    PUT_IF_ABSENT.getScriptAsString().getBytes(StandardCharsets.UTF_8), ReturnType.VALUE, 1, keyAndArgs);
+        }
+    }
+
+    private boolean isNoScript(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null && cause.getMessage().contains("NOSCRIPT")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        byte[] rawKey = serializeCacheKey(createCacheKey(key));
+        return readStoreValue(key, rawKey, getNativeCache().get(getName(), rawKey));
+    }
+
+    private ValueWrapper readValue(Object key, byte[] rawKey, byte[] rawValue) {
+        return toValueWrapper(readStoreValue(key, rawKey, rawValue));
+    }
+
+    /**
+     * Deserializes a stored value. A value that cannot be read, for example one naming a type the
+     * codecs reject, is a miss and is evicted so it is not read again; it does not count as a Redis
+     * failure.
+     */
+    private Object readStoreValue(Object key, byte[] rawKey, byte[] rawValue) {
+        if (rawValue == null) {
+            return null;
+        }
+        try {
+            return deserializeCacheValue(rawValue);
+        } catch (SerializationException e) {
+            log.warn("evicting unreadable entry {} of {}", key, getName(), e);
+            evictUnreadable(rawKey);
+            return null;
+        }
+    }
+
+    private void evictUnreadable(byte[] rawKey) {
+        try {
+            if (asyncCommands != null) {
+                asyncCommands.get().del(rawKey).whenComplete((deleted, error) -> {
+                    if (error != null) {
+                        log.warn("could not evict an unreadable entry of {}", getName(), error);
+                    }
+                });
+                return;
+            }
+            try (RedisConnection connection = connectionFactory.getConnection()) {
+                connection.keyCommands().del(rawKey);
+            }
+        } catch (RuntimeException e) {
+            log.warn("could not evict an unreadable entry of {}", getName(), e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<ValueWrapper> getAsync(Object key) {
+        if (asyncCommands == null) {
+            return blocking(() -> get(key));
+        }
+        byte[] rawKey = serializeCacheKey(createCacheKey(key));
+        return map(asyncCommands.get().get(rawKey), rawValue -> readValue(key, rawKey, rawValue));
+    }
+
+    @Override
+    public CompletableFuture<Map<Object, ValueWrapper>> getAllAsync(Collection<?> keys) {
+        if (asyncCommands == null || keys.isEmpty()) {
+            return blocking(() -> getAll(keys));
+        }
+        List<Object> keyList = new ArrayList<>(keys);
+        byte[][] rawKeys = new byte[keyList.size()][];
+        for (int i = 0; i < rawKeys.length; i++) {
+            rawKeys[i] = serializeCacheKey(createCacheKey(keyList.get(i)));
+        }
+        return map(asyncCommands.get().mget(rawKeys), keyValues -> {
+            Map<Object, ValueWrapper> result = new HashMap<>(keyList.size());
+            for (int i = 0; i < keyValues.size(); i++) {
+                KeyValue<byte[], byte[]> keyValue = keyValues.get(i);
+                ValueWrapper value = keyValue.hasValue()
+                        ? readValue(keyList.get(i), rawKeys[i], keyValue.getValue()) : null;
+                if (value != null) {
+                    result.put(keyList.get(i), value);
+                }
+            }
+            return result;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> putAsync(Object key, Object value) {
+        Object cacheValue = preProcessCacheValue(value);
+        if (asyncCommands == null || cacheValue == null) {
+            return blocking(() -> {
+                put(key, value);
+                return null;
+            });
+        }
+        byte[] rawKey = serializeCacheKey(createCacheKey(key));
+        byte[] rawValue = serializeCacheValue(cacheValue);
+        long ttlMillis = ttlMillis(getCacheConfiguration().getTtl());
+        RedisFuture<String> command = ttlMillis > 0
+                ? asyncCommands.get().set(rawKey, rawValue, SetArgs.Builder.px(ttlMillis))
+                : asyncCommands.get().set(rawKey, rawValue);
+        return map(command, reply -> null);
+    }
+
+    @Override
+    public CompletableFuture<Void> evictAsync(Object key) {
+        if (asyncCommands == null) {
+            return blocking(() -> {
+                evict(key);
+                return null;
+            });
+        }
+        return map(asyncCommands.get().del(serializeCacheKey(createCacheKey(key))), deleted -> null);
+    }
+
+    private static <T> CompletableFuture<T> blocking(Supplier<T> operation) {
+        try {
+            return CompletableFuture.completedFuture(operation.get());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static <T, R> CompletableFuture<R> map(RedisFuture<T> command, Function<T, R> mapper) {
+        return AsyncCache.mapCancellable(command.toCompletableFuture(), mapper);
+    }
+
+    @Override
+    public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+        if (keys.isEmpty()) {
+            return new HashMap<>();
+        }
+        List<Object> keyList = new ArrayList<>(keys);
+        byte[][] rawKeys = new byte[keyList.size()][];
+        for (int i = 0; i < rawKeys.length; i++) {
+            rawKeys[i] = serializeCacheKey(createCacheKey(keyList.get(i)));
+        }
+
+        List<byte[]> rawValues;
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            rawValues = connection.stringCommands().mGet(rawKeys);
+        }
+
+        Map<Object, ValueWrapper> result = new HashMap<>(keyList.size());
+        for (int i = 0; i < keyList.size(); i++) {
+            ValueWrapper value = rawValues == null ? null
+                    : readValue(keyList.get(i), rawKeys[i], rawValues.get(i));
+            if (value != null) {
+                result.put(keyList.get(i), value);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        Expiration expiration = expiration(getCacheConfiguration().getTtl());
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            entries.forEach((key, value) -> {
+                Object cacheValue = preProcessCacheValue(value);
+                if (cacheValue != null) {
+                    connection.stringCommands().set(serializeCacheKey(createCacheKey(key)),
+                            serializeCacheValue(cacheValue), expiration, SetOption.upsert());
+                }
+            });
+            connection.closePipeline();
+        }
+    }
+
+    private Expiration expiration(Duration ttl) {
+        long ttlMillis = ttlMillis(ttl);
+        return ttlMillis > 0 ? Expiration.milliseconds(ttlMillis) : Expiration.persistent();
+    }
+
+    private long ttlMillis(Duration ttl) {
+        if (ttl == null || ttl.isZero() || ttl.isNegative()) {
+            return 0;
+        }
+        return ttl.toMillis();
+    }
+}
@@ -0,0 +1,52 @@
+package com.effective.backend.config.cache;
+
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.time.Duration;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public class ChainedRedisCacheManager extends RedisCacheManager {
+
+    private final RedisCacheWriter cacheWriter;
+    private final Function<String, RedisCacheConfiguration> cacheConfigurations;
+    private final RedisConnectionFactory connectionFactory;
+    private final GenerationSweeper sweeper;
+    private final Supplier<RedisClusterAsyncCommands<byte[], byte[]>> asyncCommands;
+    private final Duration generationRefreshInterval;
+
+    public ChainedRedisCacheManager(RedisConnectionFactory connectionFactory,
+                                    RedisCacheConfiguration defaultCacheConfiguration,
+                                    Function<String, RedisCacheConfiguration> cacheConfigurations,
+                                    GenerationSweeper sweeper,
+                                    Supplier<RedisClusterAsyncCommands<byte[], byte[]>> asyncCommands,
+                                    Duration generationRefreshInterval) {
+        this(RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory), defaultCacheConfiguration,
+                cacheConfigurations, connectionFactory, sweeper, asyncCommands, generationRefreshInterval);
+    }
+
+    private ChainedRedisCacheManager(RedisCacheWriter cacheWriter, RedisCacheConfiguration defaultCacheConfiguration,
+                                     Function<String, RedisCacheConfiguration> cacheConfigurations,
+                                     RedisConnectionFactory connectionFactory, GenerationSweeper sweeper,
+                                     Supplier<RedisClusterAsyncCommands<byte[], byte[]>> asyncCommands,
+                                     Duration generationRefreshInterval) {
+        super(cacheWriter, defaultCacheConfiguration);
+        this.cacheWriter = cacheWriter;
+        this.cacheConfigurations = cacheConfigurations;
+        this.connectionFactory = connectionFactory;
+        this.sweeper = sweeper;
+        this.asyncCommands = asyncCommands;
+        this.generationRefreshInterval = generationRefreshInterval;
+    }
+
+    @Override
+    protected RedisCache createRedisCache(String name, RedisCacheConfiguration cacheConfig) {
+        return new ChainedRedisCache(name, cacheWriter, cacheConfigurations.apply(name), connectionFactory, sweeper,
+                asyncCommands, generationRefreshInterval);
+    }
+}
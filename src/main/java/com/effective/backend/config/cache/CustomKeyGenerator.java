@@ -1,18 +1,168 @@
 package com.effective.backend.config.cache;
 
 import org.springframework.cache.interceptor.KeyGenerator;
-import org.springframework.cache.interceptor.SimpleKeyGenerator;
 
 import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+/**
+ * Generates keys of the form {@code <class>.<method>(<arg>,<arg>...)} where every argument is
+ * written with a one-character type tag. The class/method prefix is computed once per method.
+ * When hashing is enabled the key is reduced to a 128-bit hex digest.
+ */
 public class CustomKeyGenerator implements KeyGenerator {
 
+    private static final char SEPARATOR = ',';
+
+    private final boolean hashed;
+    private final ClassValue<ConcurrentMap<Method, MethodPrefix>> prefixes = new ClassValue<>() {
+        @Override
+        protected ConcurrentMap<Method, MethodPrefix> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    public CustomKeyGenerator() {
+        this(false);
+    }
+
+    public CustomKeyGenerator(boolean hashed) {
+        this.hashed = hashed;
+    }
+
     @Override
     public Object generate(Object target, Method method, Object... params) {
-        StringBuilder keyBuilder = new StringBuilder();
-        keyBuilder.append(target.getClass().getName());
-        keyBuilder.append(method.getName());
-        keyBuilder.append(SimpleKeyGenerator.generateKey(params));
-        return keyBuilder.toString();
+        String key = buildKey(prefix(target.getClass(), method), params);
+        return hashed ? KeyDigest.hash128(key) : key;
+    }
+
+    private MethodPrefix prefix(Class<?> targetClass, Method method) {
+        ConcurrentMap<Method, MethodPrefix> methodPrefixes = prefixes.get(targetClass);
+        MethodPrefix prefix = methodPrefixes.get(method);
+        if (prefix == null) {
+            prefix = methodPrefixes.computeIfAbsent(method, m -> new MethodPrefix(targetClass.getName() + '.' + m.getName()));
+        }
+        return prefix;
+    }
+
+    private String buildKey(MethodPrefix methodPrefix, Object[] params) {
+        if (params.length == 0) {
+            return methodPrefix.noArgumentKey;
+        }
+        String prefix = methodPrefix.prefix;
+        if (params.length == 1) {
+            Object param = params[0];
+            if (param instanceof String) {
+                String value = (String) param;
+                return prefix + 's' + value.length() + ':' + value + ')';
+            }
+            if (param instanceof Long) {
+                return prefix + 'l' + ((Long) param).longValue() + ')';
+            }
+            if (param instanceof Integer) {
+                return prefix + 'i' + ((Integer) param).intValue() + ')';
+            }
+        }
+
+        StringBuilder keyBuilder = new StringBuilder(prefix.length() + params.length * 16);
+        keyBuilder.append(prefix);
+        for (int i = 0; i < params.length; i++) {
+            if (i > 0) {
+                keyBuilder.append(SEPARATOR);
+            }
+            appendParam(keyBuilder, params[i]);
+        }
+        return keyBuilder.append(')').toString();
+    }
+
+    private void appendParam(StringBuilder keyBuilder, Object param) {
+        if (param == null) {
+            keyBuilder.append('~');
+        } else if (param instanceof String) {
+            appendSized(keyBuilder, 's', (String) param);
+        } else if (param instanceof Long) {
+            keyBuilder.append('l').append(((Long) param).longValue());
+        } else if (param instanceof Integer) {
+            keyBuilder.append('i').append(((Integer) param).intValue());
+        } else if (param instanceof Short || param instanceof Byte) {
+            keyBuilder.append('h').append(((Number) param).intValue());
+        } else if (param instanceof Boolean) {
+            keyBuilder.append((Boolean) param ? 'T' : 'F');
+        } else if (param instanceof Character) {
+            keyBuilder.append('c').append(((Character) param).charValue());
+        } else if (param instanceof Double || param instanceof Float) {
+            keyBuilder.append('d').append(((Number) param).doubleValue());
+        } else if (param instanceof Enum) {
+            keyBuilder.append('e').append(((Enum<?>) param).name());
+        } else if (param instanceof Object[]) {
+            Object[] elements = (Object[]) param;
+            StringBuilder arrayBuilder = new StringBuilder(elements.length * 16);
+            for (int i = 0; i < elements.length; i++) {
+                if (i > 0) {
+                    arrayBuilder.append(SEPARATOR);
+                }
+                appendParam(arrayBuilder, elements[i]);
+            }
+            appendSized(keyBuilder, 'a', arrayBuilder);
+        } else if (param.getClass().isArray()) {
+            appendPrimitiveArray(keyBuilder, param);
+        } else {
+            appendSized(keyBuilder, 'o', String.valueOf(param));
+        }
+    }
+
+    /**
+     * Writes primitive arrays by value; their own {@code toString()} is the identity hash. The tag is
+     * followed by the JVM descriptor of the element type, {@code pI} for {@code int[]}.
+     */
+    private void appendPrimitiveArray(StringBuilder keyBuilder, Object array) {
+        String value;
+        char descriptor;
+        if (array instanceof int[]) {
+            value = Arrays.toString((int[]) array);
+            descriptor = 'I';
+        } else if (array instanceof long[]) {
+            value = Arrays.toString((long[]) array);
+            descriptor = 'J';
+        } else if (array instanceof byte[]) {
+            value = Arrays.toString((byte[]) array);
+            descriptor = 'B';
+        } else if (array instanceof char[]) {
+            value = new String((char[]) array);
+            descriptor = 'C';
+        } else if (array instanceof short[]) {
+            value = Arrays.toString((short[]) array);
+            descriptor = 'S';
+        } else if (array instanceof boolean[]) {
+            value = Arrays.toString((boolean[]) array);
+            descriptor = 'Z';
+        } else if (array instanceof float[]) {
+            value = Arrays.toString((float[]) array);
+            descriptor = 'F';
+        } else {
+            value = Arrays.toString((double[]) array);
+            descriptor = 'D';
+        }
+        appendSized(keyBuilder.append('p'), descriptor, value);
+    }
+
+    /**
+     * Writes {@code <tag><length>:<value>} so a value containing separators cannot be read as two.
+     */
+    private static void appendSized(StringBuilder keyBuilder, char tag, CharSequence value) {
+        keyBuilder.append(tag).append(value.length()).append(':').append(value);
+    }
+
+    private static final class MethodPrefix {
+
+        private final String prefix;
+        private final String noArgumentKey;
+
+        private MethodPrefix(String methodName) {
+            this.prefix = methodName + '(';
+            this.noArgumentKey = methodName + "()";
+        }
     }
 }
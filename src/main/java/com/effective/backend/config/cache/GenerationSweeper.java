@@ -0,0 +1,103 @@
+package com.effective.backend.config.cache;
+
+import io.lettuce.core.KeyScanCursor;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.ScanArgs;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Deletes the keys of abandoned cache generations in the background with SCAN and UNLINK, one
+ * batch at a time with a pause in between so that a sweep never monopolizes Redis. Goes through
+ * Lettuce directly because its cluster connection scans every primary behind one cursor and
+ * splits multi-key UNLINKs by slot.
+ */
+@Slf4j
+public class GenerationSweeper {
+
+    private final Supplier<RedisClusterAsyncCommands<byte[], byte[]>> asyncCommands;
+    private final ExecutorService executor;
+    private final int batchSize;
+    private final long pauseMillis;
+
+    public GenerationSweeper(Supplier<RedisClusterAsyncCommands<byte[], byte[]>> asyncCommands,
+                             ExecutorService executor, int batchSize, long pauseMillis) {
+        this.asyncCommands = asyncCommands;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.pauseMillis = pauseMillis;
+    }
+
+    public void sweep(String keyPattern) {
+        try {
+            executor.execute(() -> sweepNow(keyPattern));
+        } catch (RejectedExecutionException e) {
+            log.warn("generation sweep of {} rejected, keys are left to expire", keyPattern);
+        }
+    }
+
+    long sweepNow(String keyPattern) {
+        long[] deleted = {0};
+        try {
+            RedisClusterAsyncCommands<byte[], byte[]> commands = asyncCommands.get();
+            scan(keyPattern, keys -> {
+                Long unlinked = await(commands.unlink(keys.toArray(new byte[0][])));
+                deleted[0] += unlinked == null ? 0 : unlinked;
+                pause();
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("generation sweep of {} stopped after {} keys", keyPattern, deleted[0], e);
+            return deleted[0];
+        }
+        log.debug("generation sweep of {} removed {} keys", keyPattern, deleted[0]);
+        return deleted[0];
+    }
+
+    /**
+     * Hands every non-empty SCAN batch of keys matching {@code keyPattern} to {@code batches}, on
+     * the calling thread.
+     */
+    public void scan(String keyPattern, KeyBatchConsumer batches) throws InterruptedException {
+        ScanArgs args = ScanArgs.Builder.matches(keyPattern).limit(batchSize);
+        RedisClusterAsyncCommands<byte[], byte[]> commands = asyncCommands.get();
+        KeyScanCursor<byte[]> cursor = await(commands.scan(args));
+        while (true) {
+            if (!cursor.getKeys().isEmpty()) {
+                batches.accept(cursor.getKeys());
+            }
+            if (cursor.isFinished()) {
+                return;
+            }
+            cursor = await(commands.scan(cursor, args));
+        }
+    }
+
+    private static <T> T await(RedisFuture<T> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException
+                    ? (RuntimeException) e.getCause() : new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void pause() throws InterruptedException {
+        if (pauseMillis > 0) {
+            Thread.sleep(pauseMillis);
+        }
+    }
+
+    @FunctionalInterface
+    public interface KeyBatchConsumer {
+
+        void accept(List<byte[]> keys) throws InterruptedException;
+    }
+}
@@ -0,0 +1,15 @@
+package com.effective.backend.config.cache;
+
+/**
+ * A cache whose keys are scoped by a generation number; clearing it moves to a new generation
+ * instead of deleting keys.
+ */
+public interface GenerationalCache {
+
+    long getGeneration();
+
+    /**
+     * Re-reads the current generation, e.g. after another node cleared the cache.
+     */
+    void refreshGeneration();
+}
@@ -0,0 +1,161 @@
+package com.effective.backend.config.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bloom filter of the keys known to exist in the global tier. It answers "definitely absent" only
+ * after a rebuild from a full key scan completed; until then, and while it is reset, every key
+ * might be present. Keys written locally, announced by other nodes or found in the global tier are
+ * added incrementally, also to a rebuild in progress. Deleted keys cannot be removed, so a filter
+ * that took twice its expected keys reports itself saturated and should be rebuilt; owners also
+ * rebuild it periodically to pick up keys whose announcement was lost.
+ */
+public class KeyBloomFilter {
+
+    private final long expectedKeys;
+    private final int bitCount;
+    private final int hashCount;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile Bits active;
+    private volatile Bits building;
+
+    public KeyBloomFilter(long expectedKeys, double falsePositiveRate) {
+        this.expectedKeys = Math.max(1, expectedKeys);
+        double bits = -this.expectedKeys * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        this.bitCount = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, (long) bits));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / this.expectedKeys * Math.log(2)));
+    }
+
+    public static KeyBloomFilter of(CacheProfile profile) {
+        if (profile.getBloomExpectedKeys() <= 0) {
+            return null;
+        }
+        return new KeyBloomFilter(profile.getBloomExpectedKeys(), profile.getBloomFalsePositiveRate());
+    }
+
+    public boolean mightContain(Object key) {
+        Bits bits = active;
+        return bits == null || bits.mightContain(hash(key));
+    }
+
+    /**
+     * Adds to the active filter and to a rebuild in progress. A rebuild completing in between could
+     * leave the key only in the replaced filter, so this repeats until the active filter it added to
+     * is still the active one.
+     */
+    public void add(Object key) {
+        long hash = hash(key);
+        Bits bits;
+        do {
+            bits = active;
+            if (bits != null) {
+                bits.add(hash);
+            }
+            Bits next = building;
+            if (next != null) {
+                next.add(hash);
+            }
+        } while (active != bits);
+    }
+
+    /**
+     * Adds a key found by the scan of the rebuild in progress.
+     */
+    public void addScanned(Object key) {
+        Bits next = building;
+        if (next != null) {
+            next.add(hash(key));
+        }
+    }
+
+    public boolean isReady() {
+        return active != null;
+    }
+
+    public boolean isSaturated() {
+        Bits bits = active;
+        return bits != null && bits.insertions.sum() > 2 * expectedKeys;
+    }
+
+    /**
+     * @return whether the caller owns the rebuild and must finish it with {@link #completeRebuild()}
+     *         or {@link #abandonRebuild()}
+     */
+    public boolean startRebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        building = new Bits(bitCount);
+        return true;
+    }
+
+    public void completeRebuild() {
+        active = building;
+        building = null;
+        rebuilding.set(false);
+    }
+
+    public void abandonRebuild() {
+        building = null;
+        rebuilding.set(false);
+    }
+
+    /**
+     * Forgets every key; the filter answers "might contain" until the next rebuild completes.
+     */
+    public void reset() {
+        active = null;
+    }
+
+    private long hash(Object key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : String.valueOf(key).getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private final class Bits {
+
+        private final AtomicLongArray words;
+        private final LongAdder insertions = new LongAdder();
+
+        private Bits(int bitCount) {
+            this.words = new AtomicLongArray((bitCount + 63) >>> 6);
+        }
+
+        private boolean mightContain(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < hashCount; i++) {
+                int bit = index(h1 + i * h2);
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void add(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < hashCount; i++) {
+                int bit = index(h1 + i * h2);
+                long mask = 1L << bit;
+                words.getAndAccumulate(bit >>> 6, mask, (word, m) -> word | m);
+            }
+            insertions.increment();
+        }
+
+        private int index(int combined) {
+            return (combined & Integer.MAX_VALUE) % bitCount;
+        }
+    }
+}
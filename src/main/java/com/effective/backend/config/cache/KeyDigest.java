@@ -0,0 +1,98 @@
+package com.effective.backend.config.cache;
+
+/**
+ * MurmurHash3 (x64, 128-bit) applied to the UTF-16 code units of a key.
+ */
+final class KeyDigest {
+
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private KeyDigest() {
+    }
+
+    static String hash128(CharSequence key) {
+        int length = key.length();
+        long h1 = 0;
+        long h2 = 0;
+
+        int i = 0;
+        for (; i + 8 <= length; i += 8) {
+            h1 ^= mixK1(pack(key, i));
+            h1 = Long.rotateLeft(h1, 27) + h2;
+            h1 = h1 * 5 + 0x52dce729;
+
+            h2 ^= mixK2(pack(key, i + 4));
+            h2 = Long.rotateLeft(h2, 31) + h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+
+        long k1 = 0;
+        long k2 = 0;
+        int remaining = length - i;
+        for (int j = 0; j < remaining; j++) {
+            long unit = key.charAt(i + j);
+            if (j < 4) {
+                k1 |= unit << (16 * j);
+            } else {
+                k2 |= unit << (16 * (j - 4));
+            }
+        }
+        if (remaining > 4) {
+            h2 ^= mixK2(k2);
+        }
+        if (remaining > 0) {
+            h1 ^= mixK1(k1);
+        }
+
+        h1 ^= length * 2L;
+        h2 ^= length * 2L;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix64(h1);
+        h2 = fmix64(h2);
+        h1 += h2;
+        h2 += h1;
+
+        char[] digest = new char[32];
+        writeHex(digest, 0, h1);
+        writeHex(digest, 16, h2);
+        return new String(digest);
+    }
+
+    private static long pack(CharSequence key, int offset) {
+        return key.charAt(offset)
+                | (long) key.charAt(offset + 1) << 16
+                | (long) key.charAt(offset + 2) << 32
+                | (long) key.charAt(offset + 3) << 48;
+    }
+
+    private static long mixK1(long k1) {
+        k1 *= C1;
+        k1 = Long.rotateLeft(k1, 31);
+        return k1 * C2;
+    }
+
+    private static long mixK2(long k2) {
+        k2 *= C2;
+        k2 = Long.rotateLeft(k2, 33);
+        return k2 * C1;
+    }
+
+    private static long fmix64(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+
+    private static void writeHex(char[] target, int offset, long value) {
+        for (int i = 15; i >= 0; i--) {
+            target[offset + i] = HEX[(int) (value & 0xf)];
+            value >>>= 4;
+        }
+    }
+}
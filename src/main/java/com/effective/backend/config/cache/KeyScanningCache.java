@@ -0,0 +1,17 @@
+package com.effective.backend.config.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * A global tier that can enumerate the keys it currently holds.
+ */
+public interface KeyScanningCache {
+
+    /**
+     * Passes every key of the cache to {@code keys} as the string it was stored under, blocking
+     * until the enumeration is complete.
+     *
+     * @throws UnsupportedOperationException if the keys of this cache cannot be told apart
+     */
+    void scanKeys(Consumer<String> keys) throws InterruptedException;
+}
@@ -0,0 +1,42 @@
+package com.effective.backend.config.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Picks the local tier implementation of each cache from its {@link CacheProfile#getLocalTier()}.
+ */
+public class LocalTierCacheManager implements CacheManager {
+
+    private final Map<CacheProfile.LocalTier, CacheManager> cacheManagers;
+    private final CacheProfileProperties profiles;
+
+    public LocalTierCacheManager(Map<CacheProfile.LocalTier, CacheManager> cacheManagers,
+                                 CacheProfileProperties profiles) {
+        this.cacheManagers = new EnumMap<>(cacheManagers);
+        this.profiles = profiles;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        CacheProfile.LocalTier localTier = profiles.resolve(name).getLocalTier();
+        CacheManager cacheManager = cacheManagers.get(localTier);
+        if (cacheManager == null) {
+            throw new IllegalStateException("no local cache manager for tier " + localTier + " of cache " + name);
+        }
+        return cacheManager.getCache(name);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        Set<String> names = new LinkedHashSet<>();
+        cacheManagers.values().forEach(cacheManager -> names.addAll(cacheManager.getCacheNames()));
+        return names;
+    }
+}
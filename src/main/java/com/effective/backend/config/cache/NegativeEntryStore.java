@@ -0,0 +1,77 @@
+package com.effective.backend.config.cache;
+
+import org.springframework.cache.Cache.ValueWrapper;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded, short-lived record of keys a loader found absent. A hit answers with a {@code null}
+ * value, so callers stop reloading the key until the entry expires or the key is written,
+ * evicted or invalidated.
+ */
+public class NegativeEntryStore {
+
+    private static final ValueWrapper ABSENT = new SimpleValueWrapper(null);
+
+    private final long ttlMillis;
+    private final Map<Object, Long> expiresAt;
+
+    public NegativeEntryStore(Duration ttl, int maxEntries) {
+        this.ttlMillis = ttl.toMillis();
+        this.expiresAt = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Long> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public static NegativeEntryStore of(CacheProfile profile) {
+        Duration ttl = profile.getNegativeTtl();
+        if (ttl == null || ttl.isZero() || ttl.isNegative()) {
+            return null;
+        }
+        return new NegativeEntryStore(ttl, profile.getNegativeEntries());
+    }
+
+    public ValueWrapper get(Object key) {
+        synchronized (expiresAt) {
+            Long expiry = expiresAt.get(key);
+            if (expiry == null) {
+                return null;
+            }
+            if (System.currentTimeMillis() >= expiry) {
+                expiresAt.remove(key);
+                return null;
+            }
+            return ABSENT;
+        }
+    }
+
+    public void put(Object key) {
+        synchronized (expiresAt) {
+            expiresAt.put(key, System.currentTimeMillis() + ttlMillis);
+        }
+    }
+
+    public void remove(Object key) {
+        synchronized (expiresAt) {
+            expiresAt.remove(key);
+        }
+    }
+
+    public void clear() {
+        synchronized (expiresAt) {
+            expiresAt.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (expiresAt) {
+            return expiresAt.size();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.effective.backend.config.cache;
+
+import net.sf.ehcache.Ehcache;
+import net.sf.ehcache.config.CacheConfiguration;
+import net.sf.ehcache.store.MemoryStoreEvictionPolicy;
+import org.springframework.cache.Cache;
+import org.springframework.cache.ehcache.EhCacheCache;
+import org.springframework.cache.ehcache.EhCacheCacheManager;
+
+/**
+ * Creates caches that are missing from ehcache.xml from their {@link CacheProfile} and applies
+ * explicitly configured profiles to the caches declared in ehcache.xml.
+ */
+public class ProfiledEhCacheCacheManager extends EhCacheCacheManager {
+
+    private final CacheProfileProperties profiles;
+
+    public ProfiledEhCacheCacheManager(net.sf.ehcache.CacheManager cacheManager, CacheProfileProperties profiles) {
+        super(cacheManager);
+        this.profiles = profiles;
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        Cache cache = super.getMissingCache(name);
+        if (cache != null) {
+            return cache;
+        }
+        CacheProfile profile = profiles.resolve(name);
+        CacheConfiguration configuration = new CacheConfiguration(name, profile.getLocalHeapEntries())
+                .memoryStoreEvictionPolicy(MemoryStoreEvictionPolicy.LRU);
+        applyTtl(configuration, profile);
+        return new EhCacheCache(getCacheManager().addCacheIfAbsent(new net.sf.ehcache.Cache(configuration)));
+    }
+
+    @Override
+    protected Cache decorateCache(Cache cache) {
+        if (profiles.isConfigured(cache.getName())) {
+            CacheProfile profile = profiles.resolve(cache.getName());
+            CacheConfiguration configuration = ((Ehcache) cache.getNativeCache()).getCacheConfiguration();
+            configuration.setMaxEntriesLocalHeap(profile.getLocalHeapEntries());
+            applyTtl(configuration, profile);
+        }
+        return super.decorateCache(cache);
+    }
+
+    private void applyTtl(CacheConfiguration configuration, CacheProfile profile) {
+        long ttlSeconds = profile.getLocalTtl().getSeconds();
+        if (ttlSeconds > 0) {
+            configuration.setEternal(false);
+            configuration.setTimeToLiveSeconds(ttlSeconds);
+        } else {
+            configuration.setEternal(true);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.effective.backend.config.cache;
+
+import org.springframework.cache.Cache.ValueWrapper;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * {@link Mono} view of an {@link AsyncCache} for WebFlux handlers. Nothing happens until
+ * subscription, and cancelling the subscription cancels the Redis command in flight.
+ */
+public class ReactiveChainedCache {
+
+    private final AsyncCache cache;
+
+    public ReactiveChainedCache(AsyncCache cache) {
+        this.cache = cache;
+    }
+
+    public Mono<ValueWrapper> get(Object key) {
+        return Mono.defer(() -> Mono.fromFuture(cache.getAsync(key)));
+    }
+
+    public Mono<Map<Object, ValueWrapper>> getAll(Collection<?> keys) {
+        return Mono.defer(() -> Mono.fromFuture(cache.getAllAsync(keys)));
+    }
+
+    public Mono<Void> put(Object key, Object value) {
+        return Mono.defer(() -> Mono.fromFuture(cache.putAsync(key, value)));
+    }
+
+    public Mono<Void> evict(Object key) {
+        return Mono.defer(() -> Mono.fromFuture(cache.evictAsync(key)));
+    }
+}
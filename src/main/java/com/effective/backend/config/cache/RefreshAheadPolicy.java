@@ -0,0 +1,55 @@
+package com.effective.backend.config.cache;
+
+import net.sf.ehcache.Ehcache;
+import net.sf.ehcache.Element;
+import net.sf.ehcache.config.CacheConfiguration;
+import org.springframework.cache.Cache;
+
+/**
+ * Decides whether a local entry is read often enough and close enough to its expiry to be
+ * reloaded in the background before it expires.
+ */
+public class RefreshAheadPolicy {
+
+    private final double ratio;
+    private final long minHits;
+
+    public RefreshAheadPolicy(double ratio, long minHits) {
+        this.ratio = ratio;
+        this.minHits = minHits;
+    }
+
+    public static RefreshAheadPolicy of(CacheProfile profile) {
+        Double ratio = profile.getRefreshAheadRatio();
+        if (ratio == null || ratio <= 0 || ratio >= 1) {
+            return null;
+        }
+        return new RefreshAheadPolicy(ratio, profile.getRefreshAheadMinHits());
+    }
+
+    public boolean isDue(Cache localCache, Object key) {
+        Object nativeCache = localCache.getNativeCache();
+        if (!(nativeCache instanceof Ehcache)) {
+            return false;
+        }
+        Ehcache ehcache = (Ehcache) nativeCache;
+        Element element = ehcache.getQuiet(key);
+        if (element == null || element.getHitCount() < minHits) {
+            return false;
+        }
+        long ttlMillis = ttlMillis(element, ehcache.getCacheConfiguration());
+        if (ttlMillis <= 0) {
+            return false;
+        }
+        long age = System.currentTimeMillis() - element.getLatestOfCreationAndUpdateTime();
+        return age >= ttlMillis * ratio;
+    }
+
+    private long ttlMillis(Element element, CacheConfiguration configuration) {
+        if (element.isEternal() || configuration.isEternal()) {
+            return 0;
+        }
+        long ttlSeconds = element.getTimeToLive() > 0 ? element.getTimeToLive() : configuration.getTimeToLiveSeconds();
+        return ttlSeconds * 1000;
+    }
+}
@@ -0,0 +1,126 @@
+package com.effective.backend.config.cache;
+
+import net.sf.ehcache.CacheException;
+import net.sf.ehcache.Ehcache;
+import net.sf.ehcache.Element;
+import net.sf.ehcache.event.CacheEventListenerAdapter;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded area holding local entries after they expired or were evicted for capacity, so they can
+ * still be served for up to {@code maxStaleness} while the global tier is down. Entries removed on
+ * purpose (evict, clear, invalidation) or overwritten are dropped from it.
+ */
+public class StaleEntryStore extends CacheEventListenerAdapter {
+
+    private final Duration maxStaleness;
+    private final Map<Object, StaleEntry> entries;
+
+    public StaleEntryStore(Duration maxStaleness, int maxEntries) {
+        this.maxStaleness = maxStaleness;
+        this.entries = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, StaleEntry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public static StaleEntryStore of(CacheProfile profile) {
+        Duration maxStaleness = profile.getMaxStaleness();
+        if (maxStaleness == null || maxStaleness.isZero() || maxStaleness.isNegative()) {
+            return null;
+        }
+        return new StaleEntryStore(maxStaleness, profile.getStaleEntries());
+    }
+
+    public StaleValueWrapper get(Object key) {
+        StaleEntry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry == null) {
+            return null;
+        }
+        long staleMillis = System.currentTimeMillis() - entry.staleSince;
+        if (staleMillis > maxStaleness.toMillis()) {
+            remove(key, entry);
+            return null;
+        }
+        return new StaleValueWrapper(entry.value, Duration.ofMillis(Math.max(staleMillis, 0)));
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    @Override
+    public void notifyElementExpired(Ehcache cache, Element element) {
+        long expiration = element.getExpirationTime();
+        retain(element, expiration == Long.MAX_VALUE ? System.currentTimeMillis() : expiration);
+    }
+
+    @Override
+    public void notifyElementEvicted(Ehcache cache, Element element) {
+        retain(element, System.currentTimeMillis());
+    }
+
+    @Override
+    public void notifyElementPut(Ehcache cache, Element element) throws CacheException {
+        remove(element.getObjectKey());
+    }
+
+    @Override
+    public void notifyElementUpdated(Ehcache cache, Element element) throws CacheException {
+        remove(element.getObjectKey());
+    }
+
+    @Override
+    public void notifyElementRemoved(Ehcache cache, Element element) throws CacheException {
+        remove(element.getObjectKey());
+    }
+
+    @Override
+    public void notifyRemoveAll(Ehcache cache) {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private void retain(Element element, long staleSince) {
+        if (element == null || element.getObjectValue() == null) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(element.getObjectKey(), new StaleEntry(element.getObjectValue(), staleSince));
+        }
+    }
+
+    private void remove(Object key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    private void remove(Object key, StaleEntry entry) {
+        synchronized (entries) {
+            entries.remove(key, entry);
+        }
+    }
+
+    private static class StaleEntry {
+
+        private final Object value;
+        private final long staleSince;
+
+        private StaleEntry(Object value, long staleSince) {
+            this.value = value;
+            this.staleSince = staleSince;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.effective.backend.config.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+
+/**
+ * A value served from the stale area while the global tier is unavailable.
+ */
+public class StaleValueWrapper extends SimpleValueWrapper {
+
+    private final Duration staleness;
+
+    public StaleValueWrapper(Object value, Duration staleness) {
+        super(value);
+        this.staleness = staleness;
+    }
+
+    public Duration getStaleness() {
+        return staleness;
+    }
+
+    public static boolean isStale(Cache.ValueWrapper valueWrapper) {
+        return valueWrapper instanceof StaleValueWrapper;
+    }
+}
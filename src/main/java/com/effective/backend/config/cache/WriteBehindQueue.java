@@ -0,0 +1,189 @@
+package com.effective.backend.config.cache;
+
+import com.effective.backend.config.circuit.CircuitBreaker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.NullValue;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Queues global-tier writes per key (last write wins) and flushes them in batches from a
+ * background worker. Evictions and clears take the flush lock so a write that is already
+ * being flushed cannot land after the eviction that superseded it.
+ */
+@Slf4j
+public class WriteBehindQueue {
+
+    public enum BackpressurePolicy {
+        DROP,
+        CALLER_RUNS
+    }
+
+    private final Cache globalCache;
+    private final CircuitBreaker circuitBreaker;
+    private final int capacity;
+    private final int batchSize;
+    private final BackpressurePolicy backpressurePolicy;
+    private final ConcurrentMap<Object, Object> pending = new ConcurrentHashMap<>();
+    private final ScheduledFuture<?> flushTask;
+    private volatile Consumer<Collection<?>> flushListener = keys -> {
+    };
+    private volatile Consumer<Collection<?>> dropListener = keys -> {
+    };
+
+    private final AtomicLong enqueuedWrites = new AtomicLong();
+    private final AtomicLong flushedWrites = new AtomicLong();
+    private final AtomicLong droppedWrites = new AtomicLong();
+
+    public WriteBehindQueue(Cache globalCache, CircuitBreaker circuitBreaker, ScheduledExecutorService scheduler,
+                            int capacity, int batchSize, long flushIntervalMillis,
+                            BackpressurePolicy backpressurePolicy) {
+        this.globalCache = globalCache;
+        this.circuitBreaker = circuitBreaker;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.backpressurePolicy = backpressurePolicy;
+        this.flushTask = scheduler.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    public void onFlushed(Consumer<Collection<?>> flushListener) {
+        this.flushListener = flushListener;
+    }
+
+    /**
+     * Called with the keys of writes that never reach the global tier. The local tier already holds
+     * those values, so the listener has to evict them to bring the tiers back in line.
+     */
+    public void onDropped(Consumer<Collection<?>> dropListener) {
+        this.dropListener = dropListener;
+    }
+
+    public void enqueue(Object key, Object value) {
+        Object storeValue = value == null ? NullValue.INSTANCE : value;
+        if (pending.size() >= capacity && !pending.containsKey(key)) {
+            if (backpressurePolicy == BackpressurePolicy.CALLER_RUNS) {
+                writeThrough(key, value);
+            } else {
+                drop(key);
+            }
+            return;
+        }
+        pending.put(key, storeValue);
+        enqueuedWrites.incrementAndGet();
+    }
+
+    public Object getPending(Object key) {
+        return pending.get(key);
+    }
+
+    public synchronized void discard(Object key) {
+        pending.remove(key);
+    }
+
+    public synchronized void discardAll() {
+        pending.clear();
+    }
+
+    /**
+     * Flushes at most what was pending when the run started, taking the lock once per batch so
+     * evictions and clears never wait behind a producer that keeps the queue busy.
+     */
+    public void flush() {
+        int batches = (pending.size() + batchSize - 1) / batchSize;
+        for (int i = 0; i < batches; i++) {
+            if (!flushBatch()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * A failed batch goes back into the queue unless a newer write for the key arrived meanwhile;
+     * the next run retries it.
+     */
+    private synchronized boolean flushBatch() {
+        Map<Object, Object> batch = drain();
+        if (batch.isEmpty()) {
+            return false;
+        }
+        if (write(batch)) {
+            flushedWrites.addAndGet(batch.size());
+            flushListener.accept(batch.keySet());
+            return true;
+        }
+        batch.forEach((key, value) -> pending.putIfAbsent(key, value == null ? NullValue.INSTANCE : value));
+        return false;
+    }
+
+    private Map<Object, Object> drain() {
+        Map<Object, Object> batch = new HashMap<>();
+        Iterator<Object> keys = pending.keySet().iterator();
+        while (keys.hasNext() && batch.size() < batchSize) {
+            Object key = keys.next();
+            Object value = pending.remove(key);
+            if (value != null) {
+                batch.put(key, value == NullValue.INSTANCE ? null : value);
+            }
+        }
+        return batch;
+    }
+
+    private synchronized void writeThrough(Object key, Object value) {
+        if (write(Collections.singletonMap(key, value))) {
+            flushedWrites.incrementAndGet();
+            flushListener.accept(Collections.singleton(key));
+        } else {
+            drop(key);
+        }
+    }
+
+    private void drop(Object key) {
+        droppedWrites.incrementAndGet();
+        dropListener.accept(Collections.singleton(key));
+    }
+
+    private boolean write(Map<?, ?> entries) {
+        return circuitBreaker.execute(() -> {
+            BatchCache.putAll(globalCache, entries);
+            return true;
+        }, () -> {
+            log.warn("write-behind flush fallback called for {} writes, circuit is {}", entries.size(),
+                    circuitBreaker.isOpen());
+            return false;
+        });
+    }
+
+    public void shutdown() {
+        flushTask.cancel(false);
+        flush();
+    }
+
+    public int getQueueDepth() {
+        return pending.size();
+    }
+
+    public long getEnqueuedWrites() {
+        return enqueuedWrites.get();
+    }
+
+    public long getFlushedWrites() {
+        return flushedWrites.get();
+    }
+
+    public long getDroppedWrites() {
+        return droppedWrites.get();
+    }
+}
@@ -0,0 +1,37 @@
+package com.effective.backend.config.cache.codec;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class CacheCodecs {
+
+    private final Map<String, CacheValueCodec> byName = new HashMap<>();
+    private final CacheValueCodec[] byId = new CacheValueCodec[256];
+
+    public CacheCodecs(CacheValueCodec... codecs) {
+        for (CacheValueCodec codec : codecs) {
+            int id = codec.getId() & 0xff;
+            if (byId[id] != null) {
+                throw new IllegalArgumentException("duplicate cache codec id " + id);
+            }
+            byId[id] = codec;
+            byName.put(codec.getName(), codec);
+        }
+    }
+
+    public static CacheCodecs defaults(ClassLoader classLoader) {
+        return new CacheCodecs(new JdkCacheValueCodec(classLoader), new SmileCacheValueCodec());
+    }
+
+    public CacheValueCodec byName(String name) {
+        CacheValueCodec codec = byName.get(name);
+        if (codec == null) {
+            throw new IllegalArgumentException("unknown cache codec " + name + ", available " + byName.keySet());
+        }
+        return codec;
+    }
+
+    public CacheValueCodec byId(byte id) {
+        return byId[id & 0xff];
+    }
+}
@@ -0,0 +1,15 @@
+package com.effective.backend.config.cache.codec;
+
+public interface CacheValueCodec {
+
+    /**
+     * Identifier written into every payload header. Must never be reused for a different format.
+     */
+    byte getId();
+
+    String getName();
+
+    byte[] encode(Object value);
+
+    Object decode(byte[] bytes, int offset, int length);
+}
@@ -0,0 +1,84 @@
+package com.effective.backend.config.cache.codec;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The types a cached value may be built from. Every node reads what any node wrote, whichever codec
+ * the payload header names, so each codec checks type names against this list before it instantiates
+ * anything.
+ */
+final class CacheValueTypes {
+
+    static final String APPLICATION_PACKAGE = "com.effective.backend.";
+
+    /**
+     * Value and collection types both codecs can write and read back.
+     */
+    static final Set<String> JDK_VALUE_TYPES = names(
+            String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class,
+            Float.class, Double.class, BigInteger.class, BigDecimal.class, UUID.class, Date.class,
+            java.sql.Date.class, java.sql.Time.class, java.sql.Timestamp.class,
+            ArrayList.class, LinkedList.class, HashSet.class, LinkedHashSet.class, TreeSet.class,
+            HashMap.class, LinkedHashMap.class, TreeMap.class);
+
+    /**
+     * Further types only JDK serialization writes: supertypes of the value types, the JDK's immutable
+     * and wrapped collections with their serial forms, Spring's cached null and page types, and
+     * Hibernate's second-level cache entries.
+     */
+    private static final Set<String> JDK_SERIAL_TYPES = Set.of(
+            "java.lang.Object", "java.lang.Number", "java.lang.Enum", "java.util.CollSer",
+            "java.util.Arrays$ArrayList", "org.springframework.cache.support.NullValue");
+    private static final List<String> JDK_SERIAL_PREFIXES = List.of(
+            "java.util.Collections$", "java.util.ImmutableCollections$", "org.springframework.data.domain.",
+            "org.hibernate.cache.",
+            "org.hibernate.bytecode.enhance.spi.LazyPropertyInitializer$",
+            "org.hibernate.property.access.internal.PropertyAccessStrategyBackRefImpl$");
+
+    private CacheValueTypes() {
+    }
+
+    /**
+     * Whether a type id in a Smile payload may be instantiated.
+     */
+    static boolean isPortable(String className) {
+        return className.startsWith(APPLICATION_PACKAGE) || className.startsWith("java.time.")
+                || JDK_VALUE_TYPES.contains(className);
+    }
+
+    /**
+     * Whether a class descriptor in a JDK serialization stream may be resolved. Arrays are judged by
+     * their element type.
+     */
+    static boolean isJdkSerializable(Class<?> type) {
+        Class<?> elementType = type;
+        while (elementType.isArray()) {
+            elementType = elementType.getComponentType();
+        }
+        if (elementType.isPrimitive()) {
+            return true;
+        }
+        String className = elementType.getName();
+        return isPortable(className) || JDK_SERIAL_TYPES.contains(className)
+                || JDK_SERIAL_PREFIXES.stream().anyMatch(className::startsWith);
+    }
+
+    private static Set<String> names(Class<?>... types) {
+        return Stream.of(types).map(Class::getName).collect(Collectors.toUnmodifiableSet());
+    }
+}
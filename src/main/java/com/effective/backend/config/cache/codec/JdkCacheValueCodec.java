@@ -0,0 +1,64 @@
+package com.effective.backend.config.cache.codec;
+
+import org.springframework.core.ConfigurableObjectInputStream;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+
+/**
+ * JDK serialization. Reading resolves only the classes {@link CacheValueTypes} allows, so a payload
+ * written to the shared store cannot name an arbitrary serializable class, even for caches configured
+ * with another codec.
+ */
+public class JdkCacheValueCodec implements CacheValueCodec {
+
+    public static final byte ID = 1;
+    public static final String NAME = "jdk";
+
+    private static final ObjectInputFilter ALLOWED_TYPES = info -> {
+        Class<?> type = info.serialClass();
+        if (type == null) {
+            return ObjectInputFilter.Status.UNDECIDED;
+        }
+        return CacheValueTypes.isJdkSerializable(type) ? ObjectInputFilter.Status.ALLOWED
+                : ObjectInputFilter.Status.REJECTED;
+    };
+
+    private final JdkSerializationRedisSerializer serializer;
+    private final ClassLoader classLoader;
+
+    public JdkCacheValueCodec(ClassLoader classLoader) {
+        this.serializer = new JdkSerializationRedisSerializer(classLoader);
+        this.classLoader = classLoader;
+    }
+
+    @Override
+    public byte getId() {
+        return ID;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        return serializer.serialize(value);
+    }
+
+    @Override
+    public Object decode(byte[] bytes, int offset, int length) {
+        try (ObjectInputStream in = new ConfigurableObjectInputStream(
+                new ByteArrayInputStream(bytes, offset, length), classLoader)) {
+            in.setObjectInputFilter(ALLOWED_TYPES);
+            return in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new SerializationException("Cannot deserialize", e);
+        }
+    }
+}
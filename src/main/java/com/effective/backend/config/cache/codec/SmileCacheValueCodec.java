@@ -0,0 +1,204 @@
+package com.effective.backend.config.cache.codec;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DatabindContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.cfg.MapperConfig;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.NamedType;
+import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.TypeIdResolver;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+
+/**
+ * Binary JSON (Smile) with embedded type information, so values round-trip without a target type.
+ * Cached types must be Jackson-friendly (default constructor or creator, accessible properties).
+ * Values that embed a type id the reader would reject, such as {@code List.of(..)} or {@code Optional},
+ * fail to encode with {@link UnsupportedCacheValueException} instead of being written unreadable.
+ */
+public class SmileCacheValueCodec implements CacheValueCodec {
+
+    public static final byte ID = 2;
+    public static final String NAME = "smile";
+
+    private final ObjectMapper objectMapper;
+
+    public SmileCacheValueCodec() {
+        this.objectMapper = new ObjectMapper(new SmileFactory())
+                .findAndRegisterModules()
+                .registerModule(new SimpleModule("unsupported-cache-values")
+                        .addSerializer(Optional.class, new UnsupportedValueSerializer())
+                        .addSerializer(OptionalInt.class, new UnsupportedValueSerializer())
+                        .addSerializer(OptionalLong.class, new UnsupportedValueSerializer())
+                        .addSerializer(OptionalDouble.class, new UnsupportedValueSerializer()))
+                .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.objectMapper.setDefaultTyping(new PortableTypeResolverBuilder(BasicPolymorphicTypeValidator.builder()
+                        .allowIfSubType(new PortableTypeMatcher())
+                        .allowIfSubTypeIsArray()
+                        .build())
+                .init(JsonTypeInfo.Id.CLASS, null)
+                .inclusion(JsonTypeInfo.As.PROPERTY));
+    }
+
+    @Override
+    public byte getId() {
+        return ID;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (cause instanceof UnsupportedCacheValueException) {
+                    throw (UnsupportedCacheValueException) cause;
+                }
+            }
+            throw new SerializationException("Could not write Smile: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Object decode(byte[] bytes, int offset, int length) {
+        try {
+            return objectMapper.readValue(bytes, offset, length, Object.class);
+        } catch (IOException e) {
+            throw new SerializationException("Could not read Smile: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Type ids are honoured only for {@link CacheValueTypes#isPortable portable} types; anything else is
+     * rejected before it is instantiated.
+     */
+    private static class PortableTypeMatcher extends BasicPolymorphicTypeValidator.TypeMatcher {
+
+        @Override
+        public boolean match(MapperConfig<?> config, Class<?> type) {
+            return CacheValueTypes.isPortable(type.getName());
+        }
+    }
+
+    /**
+     * Default typing whose type ids are checked when written as well as when read.
+     */
+    private static class PortableTypeResolverBuilder extends ObjectMapper.DefaultTypeResolverBuilder {
+
+        private static final long serialVersionUID = 1L;
+
+        private PortableTypeResolverBuilder(PolymorphicTypeValidator validator) {
+            super(ObjectMapper.DefaultTyping.EVERYTHING, validator);
+        }
+
+        @Override
+        protected TypeIdResolver idResolver(MapperConfig<?> config, JavaType baseType,
+                                            PolymorphicTypeValidator subtypeValidator, Collection<NamedType> subtypes,
+                                            boolean forSer, boolean forDeser) {
+            TypeIdResolver resolver = super.idResolver(config, baseType, subtypeValidator, subtypes, forSer, forDeser);
+            return forSer ? new PortableTypeIdResolver(resolver) : resolver;
+        }
+    }
+
+    /**
+     * For types Jackson writes as their content without a type id of their own, so they would read back
+     * as something else.
+     */
+    private static class UnsupportedValueSerializer extends StdSerializer<Object> {
+
+        private static final long serialVersionUID = 1L;
+
+        private UnsupportedValueSerializer() {
+            super(Object.class);
+        }
+
+        @Override
+        public void serialize(Object value, JsonGenerator gen, SerializerProvider provider) {
+            throw unsupported(value.getClass().getName());
+        }
+
+        @Override
+        public void serializeWithType(Object value, JsonGenerator gen, SerializerProvider provider,
+                                      TypeSerializer typeSerializer) {
+            throw unsupported(value.getClass().getName());
+        }
+    }
+
+    private static class PortableTypeIdResolver implements TypeIdResolver {
+
+        private final TypeIdResolver delegate;
+
+        private PortableTypeIdResolver(TypeIdResolver delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void init(JavaType baseType) {
+            delegate.init(baseType);
+        }
+
+        @Override
+        public String idFromValue(Object value) {
+            return checked(delegate.idFromValue(value));
+        }
+
+        @Override
+        public String idFromValueAndType(Object value, Class<?> suggestedType) {
+            return checked(delegate.idFromValueAndType(value, suggestedType));
+        }
+
+        @Override
+        public String idFromBaseType() {
+            return delegate.idFromBaseType();
+        }
+
+        @Override
+        public JavaType typeFromId(DatabindContext context, String id) throws IOException {
+            return delegate.typeFromId(context, id);
+        }
+
+        @Override
+        public String getDescForKnownTypeIds() {
+            return delegate.getDescForKnownTypeIds();
+        }
+
+        @Override
+        public JsonTypeInfo.Id getMechanism() {
+            return delegate.getMechanism();
+        }
+
+        private static String checked(String id) {
+            if (id != null && !id.startsWith("[") && !CacheValueTypes.isPortable(id)) {
+                throw unsupported(id);
+            }
+            return id;
+        }
+    }
+
+    private static UnsupportedCacheValueException unsupported(String type) {
+        return new UnsupportedCacheValueException("Smile values cannot contain " + type
+                + ", it would not read back as written");
+    }
+}
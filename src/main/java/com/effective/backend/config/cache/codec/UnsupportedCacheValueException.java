@@ -0,0 +1,13 @@
+package com.effective.backend.config.cache.codec;
+
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Thrown by {@link CacheValueCodec#encode} for a value the codec could write but would refuse to read back.
+ */
+public class UnsupportedCacheValueException extends SerializationException {
+
+    public UnsupportedCacheValueException(String msg) {
+        super(msg);
+    }
+}
@@ -0,0 +1,160 @@
+package com.effective.backend.config.cache.codec;
+
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Writes values as {@code [magic][format version][codec id][flags]([uncompressed length])[body]}.
+ * Reading dispatches on the codec id in the header rather than on the configured write codec,
+ * so nodes configured with different codecs can share a cache during a rollout. Headerless
+ * payloads written by the plain JDK serializer are still readable. Values the configured codec cannot
+ * carry are written with the JDK codec instead.
+ */
+public class VersionedCodecRedisSerializer implements RedisSerializer<Object> {
+
+    static final byte MAGIC = (byte) 0xCA;
+    static final byte FORMAT_VERSION = 1;
+    private static final int FLAG_COMPRESSED = 1;
+    private static final int FLAG_NULL_VALUE = 1 << 1;
+    private static final int HEADER_LENGTH = 4;
+    private static final byte JDK_STREAM_MAGIC = (byte) 0xAC;
+    /**
+     * Deflate cannot expand input by more than about 1032:1, and no cached value is expected beyond the
+     * cap; a header claiming more is corrupt and must not size an allocation.
+     */
+    private static final int MAX_INFLATION_RATIO = 1032;
+    private static final int MAX_UNCOMPRESSED_LENGTH = 64 * 1024 * 1024;
+
+    private final CacheCodecs codecs;
+    private final CacheValueCodec writeCodec;
+    private final int compressionThreshold;
+
+    public VersionedCodecRedisSerializer(CacheCodecs codecs, CacheValueCodec writeCodec, int compressionThreshold) {
+        this.codecs = codecs;
+        this.writeCodec = writeCodec;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] serialize(Object value) {
+        if (value == null || value == NullValue.INSTANCE) {
+            return new byte[]{MAGIC, FORMAT_VERSION, writeCodec.getId(), FLAG_NULL_VALUE};
+        }
+        CacheValueCodec codec = writeCodec;
+        byte[] body;
+        try {
+            body = codec.encode(value);
+        } catch (UnsupportedCacheValueException e) {
+            codec = codecs.byName(JdkCacheValueCodec.NAME);
+            if (codec == writeCodec) {
+                throw e;
+            }
+            body = codec.encode(value);
+        }
+        if (compressionThreshold > 0 && body.length >= compressionThreshold) {
+            byte[] compressed = deflate(body);
+            if (compressed.length + Integer.BYTES < body.length) {
+                return ByteBuffer.allocate(HEADER_LENGTH + Integer.BYTES + compressed.length)
+                        .put(MAGIC).put(FORMAT_VERSION).put(codec.getId()).put((byte) FLAG_COMPRESSED)
+                        .putInt(body.length)
+                        .put(compressed)
+                        .array();
+            }
+        }
+        return ByteBuffer.allocate(HEADER_LENGTH + body.length)
+                .put(MAGIC).put(FORMAT_VERSION).put(codec.getId()).put((byte) 0)
+                .put(body)
+                .array();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            if (bytes[0] == JDK_STREAM_MAGIC) {
+                return codecs.byName(JdkCacheValueCodec.NAME).decode(bytes, 0, bytes.length);
+            }
+            throw new SerializationException("unrecognized cache payload");
+        }
+        if (bytes.length < HEADER_LENGTH) {
+            throw new SerializationException("truncated cache payload");
+        }
+        if (bytes[1] > FORMAT_VERSION) {
+            throw new SerializationException("unsupported cache payload format version " + bytes[1]);
+        }
+        int flags = bytes[3];
+        if ((flags & FLAG_NULL_VALUE) != 0) {
+            return NullValue.INSTANCE;
+        }
+        CacheValueCodec codec = codecs.byId(bytes[2]);
+        if (codec == null) {
+            throw new SerializationException("unknown cache codec id " + bytes[2]);
+        }
+        if ((flags & FLAG_COMPRESSED) != 0) {
+            int offset = HEADER_LENGTH + Integer.BYTES;
+            if (bytes.length < offset) {
+                throw new SerializationException("truncated cache payload");
+            }
+            int length = ByteBuffer.wrap(bytes, HEADER_LENGTH, Integer.BYTES).getInt();
+            int compressedLength = bytes.length - offset;
+            long maxLength = Math.min((long) compressedLength * MAX_INFLATION_RATIO, MAX_UNCOMPRESSED_LENGTH);
+            if (length < 0 || length > maxLength) {
+                throw new SerializationException("implausible uncompressed length " + length + " for "
+                        + compressedLength + " compressed bytes");
+            }
+            byte[] body = inflate(bytes, offset, compressedLength, length);
+            return codec.decode(body, 0, body.length);
+        }
+        return codec.decode(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH);
+    }
+
+    private byte[] deflate(byte[] body) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(body);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 2);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                int count = deflater.deflate(buffer);
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private byte[] inflate(byte[] bytes, int offset, int length, int uncompressedLength) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes, offset, length);
+            byte[] body = new byte[uncompressedLength];
+            int read = 0;
+            while (read < uncompressedLength && !inflater.finished()) {
+                int count = inflater.inflate(body, read, uncompressedLength - read);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += count;
+            }
+            if (read != uncompressedLength) {
+                throw new SerializationException("corrupt compressed cache payload");
+            }
+            return body;
+        } catch (DataFormatException e) {
+            throw new SerializationException("corrupt compressed cache payload", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.effective.backend.config.cache.hibernate;
+
+import java.io.Serializable;
+
+/**
+ * Cache key handed to Hibernate by {@link ChainedCacheKeysFactory}. Identity is the stable string
+ * form, which is also what the chained cache stores; the original id is kept for Hibernate to read back.
+ */
+final class ChainedCacheKey implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Object id;
+    private final String value;
+
+    ChainedCacheKey(Object id, String value) {
+        this.id = id;
+        this.value = value;
+    }
+
+    Object getId() {
+        return id;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || other instanceof ChainedCacheKey && value.equals(((ChainedCacheKey) other).value);
+    }
+
+    @Override
+    public int hashCode() {
+        return value.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
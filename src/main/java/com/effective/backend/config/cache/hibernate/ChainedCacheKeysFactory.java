@@ -0,0 +1,141 @@
+package com.effective.backend.config.cache.hibernate;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.CacheKeysFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.ComponentType;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Base64;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Builds keys whose string form is stable across nodes: {@code <kind>:<role>[@<tenant>]#<id>}, where
+ * kind is {@code e}ntity, {@code c}ollection or {@code n}atural id, and the id is written value by
+ * value with a type tag, walking embeddable ids through their Hibernate type. Ids that have no stable
+ * form, such as associations or arbitrary user types, are rejected instead of falling back to
+ * {@code toString()}.
+ */
+final class ChainedCacheKeysFactory implements CacheKeysFactory {
+
+    static final ChainedCacheKeysFactory INSTANCE = new ChainedCacheKeysFactory();
+
+    private ChainedCacheKeysFactory() {
+    }
+
+    @Override
+    public Object createCollectionKey(Object id, CollectionPersister persister, SessionFactoryImplementor factory,
+                                      String tenantIdentifier) {
+        StringBuilder key = start('c', persister.getRole(), tenantIdentifier);
+        write(key, id, persister.getKeyType(), persister.getRole());
+        return new ChainedCacheKey(id, key.toString());
+    }
+
+    @Override
+    public Object createEntityKey(Object id, EntityPersister persister, SessionFactoryImplementor factory,
+                                  String tenantIdentifier) {
+        StringBuilder key = start('e', persister.getRootEntityName(), tenantIdentifier);
+        write(key, id, persister.getIdentifierType(), persister.getRootEntityName());
+        return new ChainedCacheKey(id, key.toString());
+    }
+
+    @Override
+    public Object createNaturalIdKey(Object[] naturalIdValues, EntityPersister persister,
+                                     SharedSessionContractImplementor session) {
+        String role = persister.getRootEntityName();
+        StringBuilder key = start('n', role, session.getTenantIdentifier());
+        int[] naturalIdProperties = persister.getNaturalIdentifierProperties();
+        Type[] propertyTypes = persister.getPropertyTypes();
+        Serializable[] disassembled = new Serializable[naturalIdProperties.length];
+        key.append('(');
+        for (int i = 0; i < naturalIdProperties.length; i++) {
+            Type type = propertyTypes[naturalIdProperties[i]];
+            if (i > 0) {
+                key.append(',');
+            }
+            write(key, naturalIdValues[i], type, role);
+            disassembled[i] = type.disassemble(naturalIdValues[i], session, null);
+        }
+        return new ChainedCacheKey(disassembled, key.append(')').toString());
+    }
+
+    @Override
+    public Object getEntityId(Object cacheKey) {
+        return ((ChainedCacheKey) cacheKey).getId();
+    }
+
+    @Override
+    public Object getCollectionId(Object cacheKey) {
+        return ((ChainedCacheKey) cacheKey).getId();
+    }
+
+    @Override
+    public Object[] getNaturalIdValues(Object cacheKey) {
+        return (Object[]) ((ChainedCacheKey) cacheKey).getId();
+    }
+
+    private static StringBuilder start(char kind, String role, String tenantIdentifier) {
+        StringBuilder key = new StringBuilder(role.length() + 24).append(kind).append(':').append(role);
+        if (tenantIdentifier != null) {
+            key.append('@').append(tenantIdentifier.length()).append(':').append(tenantIdentifier);
+        }
+        return key.append('#');
+    }
+
+    private static void write(StringBuilder key, Object value, Type type, String role) {
+        if (value == null) {
+            key.append('~');
+        } else if (type instanceof ComponentType) {
+            ComponentType componentType = (ComponentType) type;
+            Type[] subtypes = componentType.getSubtypes();
+            key.append('(');
+            for (int i = 0; i < subtypes.length; i++) {
+                if (i > 0) {
+                    key.append(',');
+                }
+                write(key, componentType.getPropertyValue(value, i), subtypes[i], role);
+            }
+            key.append(')');
+        } else if (type.isAssociationType()) {
+            throw unstable(role, type.getName());
+        } else if (value instanceof String) {
+            String string = (String) value;
+            key.append('s').append(string.length()).append(':').append(string);
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short
+                || value instanceof Byte || value instanceof BigInteger) {
+            key.append('n').append(value);
+        } else if (value instanceof BigDecimal) {
+            key.append('d').append(((BigDecimal) value).toPlainString());
+        } else if (value instanceof Double || value instanceof Float) {
+            key.append('f').append(((Number) value).doubleValue());
+        } else if (value instanceof Boolean) {
+            key.append((Boolean) value ? 'T' : 'F');
+        } else if (value instanceof Character) {
+            key.append('c').append(((Character) value).charValue());
+        } else if (value instanceof Enum) {
+            key.append('E').append(((Enum<?>) value).name());
+        } else if (value instanceof UUID) {
+            key.append('u').append(value);
+        } else if (value instanceof Date) {
+            key.append('t').append(((Date) value).getTime());
+        } else if ("java.time".equals(value.getClass().getPackageName())) {
+            key.append('j').append(value);
+        } else if (value instanceof byte[]) {
+            key.append('b').append(Base64.getEncoder().encodeToString((byte[]) value));
+        } else {
+            throw unstable(role, value.getClass().getName());
+        }
+    }
+
+    private static CacheException unstable(String role, String idType) {
+        return new CacheException("Cannot cache " + role + ": its " + idType + " id has no stable cache key form,"
+                + " use a basic or embeddable id");
+    }
+}
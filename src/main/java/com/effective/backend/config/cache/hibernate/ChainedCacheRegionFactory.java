@@ -0,0 +1,108 @@
+package com.effective.backend.config.cache.hibernate;
+
+import com.effective.backend.config.cache.CacheProfileProperties;
+import com.effective.backend.config.cache.ChainedCacheManager;
+import com.effective.backend.config.cache.codec.JdkCacheValueCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.CacheKeysFactory;
+import org.hibernate.cache.cfg.spi.DomainDataCachingConfig;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.RegionNameQualifier;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Hibernate second-level cache on top of {@link ChainedCacheManager}. Every region is a chained cache
+ * named after the qualified region name, so it is configured through {@code spring.cache.profiles}
+ * like any other cache and must use the jdk codec.
+ * <p>
+ * Only read-only and nonstrict-read-write access are offered. Updates evict the entry from both tiers
+ * and broadcast the eviction, which is exactly what nonstrict-read-write expects; read-write would need
+ * soft locks that are atomic across nodes.
+ */
+@Slf4j
+public class ChainedCacheRegionFactory extends RegionFactoryTemplate {
+
+    private static final Set<AccessType> SUPPORTED_ACCESS_TYPES =
+            EnumSet.of(AccessType.READ_ONLY, AccessType.NONSTRICT_READ_WRITE);
+
+    private final ChainedCacheManager cacheManager;
+    private final CacheProfileProperties cacheProfiles;
+
+    public ChainedCacheRegionFactory(ChainedCacheManager cacheManager, CacheProfileProperties cacheProfiles) {
+        this.cacheManager = cacheManager;
+        this.cacheProfiles = cacheProfiles;
+    }
+
+    @Override
+    public AccessType getDefaultAccessType() {
+        return AccessType.NONSTRICT_READ_WRITE;
+    }
+
+    @Override
+    protected CacheKeysFactory getImplicitCacheKeysFactory() {
+        return ChainedCacheKeysFactory.INSTANCE;
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                    DomainDataRegionBuildingContext buildingContext) {
+        verifyAccessTypes(regionConfig);
+        return storageAccess(regionConfig.getRegionName(), buildingContext.getSessionFactory());
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName,
+                                                                  SessionFactoryImplementor sessionFactory) {
+        return storageAccess(regionName, sessionFactory);
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName,
+                                                                SessionFactoryImplementor sessionFactory) {
+        return storageAccess(regionName, sessionFactory);
+    }
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, @SuppressWarnings("rawtypes") Map configValues) {
+        log.info("Hibernate second-level cache backed by chained caches");
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        // caches belong to the cache manager and are shut down with it
+    }
+
+    private ChainedCacheStorageAccess storageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+        String cacheName = RegionNameQualifier.INSTANCE.qualify(regionName, sessionFactory.getSessionFactoryOptions());
+        String codec = cacheProfiles.resolve(cacheName).getCodec();
+        if (!JdkCacheValueCodec.NAME.equals(codec)) {
+            throw new CacheException("Hibernate region " + cacheName + " uses the " + codec
+                    + " codec, configure spring.cache.profiles.caches." + cacheName + ".codec=jdk");
+        }
+        return new ChainedCacheStorageAccess(cacheManager.getCache(cacheName));
+    }
+
+    static void verifyAccessTypes(DomainDataRegionConfig regionConfig) {
+        Stream.of(regionConfig.getEntityCaching(), regionConfig.getNaturalIdCaching(),
+                        regionConfig.getCollectionCaching())
+                .flatMap(configs -> configs.stream().map(DomainDataCachingConfig::getAccessType))
+                .filter(accessType -> !SUPPORTED_ACCESS_TYPES.contains(accessType))
+                .findFirst()
+                .ifPresent(accessType -> {
+                    throw new CacheException("Hibernate region " + regionConfig.getRegionName() + " requests "
+                            + accessType.getExternalName() + " access, supported are " + SUPPORTED_ACCESS_TYPES);
+                });
+    }
+}
@@ -0,0 +1,92 @@
+package com.effective.backend.config.cache.hibernate;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.QueryKey;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.Cache.ValueWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Stores one Hibernate region in a chained cache. Hibernate's cache keys are reduced to a string so
+ * both tiers and every node agree on key identity and invalidation messages stay small: entity,
+ * collection and natural-id keys come from {@link ChainedCacheKeysFactory}, query keys are digested
+ * from their serialized form, and timestamp keys already are table names.
+ */
+public class ChainedCacheStorageAccess implements DomainDataStorageAccess {
+
+    private final Cache cache;
+
+    public ChainedCacheStorageAccess(Cache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+        ValueWrapper valueWrapper = cache.get(toCacheKey(key));
+        return valueWrapper == null ? null : valueWrapper.get();
+    }
+
+    @Override
+    public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+        cache.put(toCacheKey(key), value);
+    }
+
+    @Override
+    public boolean contains(Object key) {
+        ValueWrapper valueWrapper = cache.get(toCacheKey(key));
+        return valueWrapper != null && valueWrapper.get() != null;
+    }
+
+    @Override
+    public void evictData() {
+        cache.clear();
+    }
+
+    @Override
+    public void evictData(Object key) {
+        cache.evict(toCacheKey(key));
+    }
+
+    @Override
+    public void release() {
+        // the cache manager owns the cache, it outlives the session factory
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    static String toCacheKey(Object key) {
+        if (key instanceof ChainedCacheKey || key instanceof String) {
+            return key.toString();
+        }
+        if (key instanceof QueryKey) {
+            return "q:" + digest((QueryKey) key);
+        }
+        throw new CacheException("Unsupported cache key " + key.getClass().getName()
+                + ", do not set hibernate.cache.keys_factory with the chained cache region factory");
+    }
+
+    private static String digest(QueryKey key) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(key);
+        } catch (IOException e) {
+            throw new CacheException("Query key is not serializable: " + key, e);
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes.toByteArray());
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
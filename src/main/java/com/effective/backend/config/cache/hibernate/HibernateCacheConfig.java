@@ -0,0 +1,37 @@
+package com.effective.backend.config.cache.hibernate;
+
+import com.effective.backend.config.cache.CacheProfileProperties;
+import com.effective.backend.config.cache.ChainedCacheManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@RequiredArgsConstructor
+@Configuration
+@ConditionalOnProperty(name = "spring.cache.hibernate.enabled", havingValue = "true")
+public class HibernateCacheConfig {
+
+    private final ChainedCacheManager cacheManager;
+    private final CacheProfileProperties cacheProfileProperties;
+
+    @Value("${spring.cache.hibernate.region-prefix}")
+    private String regionPrefix;
+
+    @Value("${spring.cache.hibernate.use-query-cache}")
+    private boolean useQueryCache;
+
+    @Bean
+    public HibernatePropertiesCustomizer chainedCacheHibernateProperties() {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, useQueryCache);
+            properties.put(AvailableSettings.CACHE_REGION_PREFIX, regionPrefix);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY,
+                    new ChainedCacheRegionFactory(cacheManager, cacheProfileProperties));
+        };
+    }
+}
@@ -0,0 +1,13 @@
+package com.effective.backend.config.cache.hotkey;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class HotKey {
+
+    private final String key;
+    private final long estimatedReads;
+    private final boolean pinned;
+}
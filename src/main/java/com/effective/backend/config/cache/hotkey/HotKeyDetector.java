@@ -0,0 +1,149 @@
+package com.effective.backend.config.cache.hotkey;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Finds the keys read most often over a sliding window. Reads are sampled into a count-min sketch
+ * per window; the estimate of a key is its count in the current window plus the part of the
+ * previous window that still overlaps the sliding window. Keys whose estimate reaches the
+ * threshold are reported as hot until it drops below half of it.
+ */
+public class HotKeyDetector {
+
+    private static final int DEPTH = 4;
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+
+    private final long threshold;
+    private final int sampleRate;
+    private final long windowMillis;
+    private final int maxHotKeys;
+    private final int width;
+    private final AtomicLong windowStart = new AtomicLong();
+    private final ConcurrentMap<Object, Long> hotKeys = new ConcurrentHashMap<>();
+    private volatile AtomicIntegerArray current;
+    private volatile AtomicIntegerArray previous;
+
+    public HotKeyDetector(long threshold, int sampleRate, long windowMillis, int maxHotKeys) {
+        this.threshold = threshold;
+        this.sampleRate = Math.max(1, sampleRate);
+        this.windowMillis = Math.max(1, windowMillis);
+        this.maxHotKeys = maxHotKeys;
+        this.width = Integer.highestOneBit(Math.max(1024, maxHotKeys * 64 - 1)) << 1;
+        this.current = new AtomicIntegerArray(DEPTH * width);
+        this.previous = new AtomicIntegerArray(DEPTH * width);
+        this.windowStart.set(System.currentTimeMillis());
+    }
+
+    /**
+     * Records a read of {@code key}.
+     *
+     * @return whether the key is currently hot
+     */
+    public boolean record(Object key) {
+        if (sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+            return hotKeys.containsKey(key);
+        }
+        long now = System.currentTimeMillis();
+        rotateIfDue(now);
+        int hash = spread(key.hashCode());
+        long count = increment(current, hash);
+        long estimate = scale(count, estimate(previous, hash), now);
+        if (estimate >= threshold) {
+            if (hotKeys.put(key, estimate) == null && hotKeys.size() > maxHotKeys) {
+                evictColdest();
+            }
+        }
+        return hotKeys.containsKey(key);
+    }
+
+    public boolean isHot(Object key) {
+        return hotKeys.containsKey(key);
+    }
+
+    /**
+     * Re-estimates the hot keys and removes the ones that cooled down.
+     *
+     * @return the keys that are no longer hot
+     */
+    public Set<Object> coolDown() {
+        long now = System.currentTimeMillis();
+        rotateIfDue(now);
+        Set<Object> cooled = new HashSet<>();
+        for (Object key : hotKeys.keySet()) {
+            int hash = spread(key.hashCode());
+            long estimate = scale(estimate(current, hash), estimate(previous, hash), now);
+            if (estimate < threshold / 2) {
+                hotKeys.remove(key);
+                cooled.add(key);
+            } else {
+                hotKeys.replace(key, estimate);
+            }
+        }
+        return cooled;
+    }
+
+    public Map<Object, Long> snapshot() {
+        return Map.copyOf(hotKeys);
+    }
+
+    public void forget(Object key) {
+        hotKeys.remove(key);
+    }
+
+    private long scale(long currentCount, long previousCount, long now) {
+        double elapsed = Math.min(1.0, (double) (now - windowStart.get()) / windowMillis);
+        return (long) ((currentCount + previousCount * (1.0 - elapsed)) * sampleRate);
+    }
+
+    private void rotateIfDue(long now) {
+        long start = windowStart.get();
+        if (now - start < windowMillis || !windowStart.compareAndSet(start, now)) {
+            return;
+        }
+        previous = now - start < 2 * windowMillis ? current : new AtomicIntegerArray(DEPTH * width);
+        current = new AtomicIntegerArray(DEPTH * width);
+    }
+
+    private void evictColdest() {
+        hotKeys.entrySet().stream()
+                .min(Comparator.comparingLong(Map.Entry::getValue))
+                .ifPresent(coldest -> hotKeys.remove(coldest.getKey(), coldest.getValue()));
+    }
+
+    private long increment(AtomicIntegerArray sketch, int hash) {
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < DEPTH; i++) {
+            min = Math.min(min, sketch.incrementAndGet(indexOf(hash, i)));
+        }
+        return min;
+    }
+
+    private long estimate(AtomicIntegerArray sketch, int hash) {
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < DEPTH; i++) {
+            min = Math.min(min, sketch.get(indexOf(hash, i)));
+        }
+        return min;
+    }
+
+    private int indexOf(int hash, int row) {
+        long mixed = (hash + SEEDS[row]) * SEEDS[row];
+        mixed += mixed >>> 32;
+        return row * width + ((int) mixed & (width - 1));
+    }
+
+    private static int spread(int hash) {
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        return (hash >>> 16) ^ hash;
+    }
+}
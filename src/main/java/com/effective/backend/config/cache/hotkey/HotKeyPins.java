@@ -0,0 +1,126 @@
+package com.effective.backend.config.cache.hotkey;
+
+import com.effective.backend.config.cache.CacheProfile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache.ValueWrapper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Keeps the values of hot keys pinned in front of the local tier, where eviction cannot reach them.
+ * Pins are refreshed from the global tier on their own interval and dropped once the key cools
+ * down, or when they could not be refreshed for three intervals.
+ */
+public class HotKeyPins {
+
+    private static final int STALE_REFRESHES = 3;
+
+    private final HotKeyDetector detector;
+    private final long refreshIntervalMillis;
+    private final ConcurrentMap<Object, Pin> pins = new ConcurrentHashMap<>();
+
+    public HotKeyPins(HotKeyDetector detector, long refreshIntervalMillis) {
+        this.detector = detector;
+        this.refreshIntervalMillis = refreshIntervalMillis;
+    }
+
+    public static HotKeyPins of(CacheProfile profile) {
+        if (profile.getHotKeyThreshold() <= 0) {
+            return null;
+        }
+        return new HotKeyPins(new HotKeyDetector(profile.getHotKeyThreshold(), profile.getHotKeySampleRate(),
+                profile.getHotKeyWindow().toMillis(), profile.getHotKeyMaxPinned()),
+                profile.getHotKeyRefreshInterval().toMillis());
+    }
+
+    public long getRefreshIntervalMillis() {
+        return refreshIntervalMillis;
+    }
+
+    public ValueWrapper get(Object key) {
+        Pin pin = pins.get(key);
+        if (pin == null) {
+            return null;
+        }
+        detector.record(key);
+        return pin.value;
+    }
+
+    /**
+     * Counts a read served by the local or global tier and pins {@code value} once the key is hot.
+     */
+    public void recordRead(Object key, ValueWrapper value) {
+        if (detector.record(key) && value != null) {
+            pins.putIfAbsent(key, new Pin(value, System.currentTimeMillis()));
+        }
+    }
+
+    public void unpin(Object key) {
+        pins.remove(key);
+    }
+
+    public void clear() {
+        pins.clear();
+    }
+
+    /**
+     * Drops cooled keys and reloads the pins older than the refresh interval through {@code loader}.
+     */
+    public void refresh(Function<Collection<?>, Map<Object, ValueWrapper>> loader) {
+        detector.coolDown().forEach(pins::remove);
+        pins.keySet().removeIf(key -> !detector.isHot(key));
+
+        long now = System.currentTimeMillis();
+        Map<Object, Pin> due = new HashMap<>();
+        pins.forEach((key, pin) -> {
+            if (now - pin.loadedAt >= refreshIntervalMillis) {
+                due.put(key, pin);
+            }
+        });
+        if (due.isEmpty()) {
+            return;
+        }
+        Map<Object, ValueWrapper> fresh = loader.apply(new ArrayList<>(due.keySet()));
+        due.forEach((key, pin) -> {
+            ValueWrapper value = fresh.get(key);
+            if (value != null) {
+                pins.replace(key, pin, new Pin(value, now));
+            } else if (now - pin.loadedAt >= STALE_REFRESHES * refreshIntervalMillis) {
+                pins.remove(key, pin);
+            }
+        });
+    }
+
+    public Set<Object> getPinnedKeys() {
+        return Set.copyOf(pins.keySet());
+    }
+
+    public int getPinnedCount() {
+        return pins.size();
+    }
+
+    /**
+     * Hot keys with their estimated reads over the window, hottest first.
+     */
+    public List<HotKey> getHotKeys() {
+        List<HotKey> hotKeys = new ArrayList<>();
+        detector.snapshot().forEach((key, estimate) ->
+                hotKeys.add(new HotKey(String.valueOf(key), estimate, pins.containsKey(key))));
+        hotKeys.sort((left, right) -> Long.compare(right.getEstimatedReads(), left.getEstimatedReads()));
+        return hotKeys;
+    }
+
+    @RequiredArgsConstructor
+    private static final class Pin {
+        private final ValueWrapper value;
+        private final long loadedAt;
+    }
+}
@@ -0,0 +1,42 @@
+package com.effective.backend.config.cache.hotkey;
+
+import com.effective.backend.config.cache.ChainedCache;
+import com.effective.backend.config.cache.ChainedCacheManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Exposes the current hot keys of every cache with hot-key pinning enabled at {@code /actuator/hotkeys}.
+ */
+@Endpoint(id = "hotkeys")
+@RequiredArgsConstructor
+public class HotKeysEndpoint {
+
+    private final ChainedCacheManager cacheManager;
+
+    @ReadOperation
+    public Map<String, List<HotKey>> hotKeys() {
+        Map<String, List<HotKey>> hotKeys = new TreeMap<>();
+        for (ChainedCache cache : cacheManager.getChainedCaches()) {
+            if (cache.getHotKeyPins() != null) {
+                hotKeys.put(cache.getName(), cache.getHotKeyPins().getHotKeys());
+            }
+        }
+        return hotKeys;
+    }
+
+    @ReadOperation
+    public List<HotKey> hotKeys(@Selector String cacheName) {
+        ChainedCache cache = cacheManager.lookupCache(cacheName);
+        if (cache == null || cache.getHotKeyPins() == null) {
+            return null;
+        }
+        return cache.getHotKeyPins().getHotKeys();
+    }
+}
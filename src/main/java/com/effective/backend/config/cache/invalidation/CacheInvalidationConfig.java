@@ -0,0 +1,57 @@
+package com.effective.backend.config.cache.invalidation;
+
+import com.effective.backend.config.cache.ChainedCacheManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@RequiredArgsConstructor
+@Configuration
+public class CacheInvalidationConfig {
+
+    private static final String NODE_ID = UUID.randomUUID().toString();
+
+    private final RedisConnectionFactory connectionFactory;
+
+    @Value("${spring.cache.invalidation.channel}")
+    private String channel;
+
+    @Value("${spring.cache.invalidation.flush-interval-millis}")
+    private long flushIntervalMillis;
+
+    @Value("${spring.cache.invalidation.max-batch-size}")
+    private int maxBatchSize;
+
+    @Bean
+    public CacheInvalidationPublisher cacheInvalidationPublisher() {
+        return new RedisCacheInvalidationPublisher(connectionFactory, NODE_ID, channel, flushIntervalMillis, maxBatchSize);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(ChainedCacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(new CacheInvalidationListener(cacheManager, NODE_ID, invalidationExecutor()),
+                new ChannelTopic(channel));
+        return container;
+    }
+
+    private Executor invalidationExecutor() {
+        return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(10_000),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "cache-invalidation-listener");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+}
@@ -0,0 +1,55 @@
+package com.effective.backend.config.cache.invalidation;
+
+import com.effective.backend.config.cache.ChainedCache;
+import com.effective.backend.config.cache.ChainedCacheManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.concurrent.Executor;
+
+@Slf4j
+public class CacheInvalidationListener implements MessageListener {
+
+    private final ChainedCacheManager cacheManager;
+    private final String nodeId;
+    private final Executor executor;
+    private final JdkSerializationRedisSerializer serializer = new JdkSerializationRedisSerializer();
+
+    public CacheInvalidationListener(ChainedCacheManager cacheManager, String nodeId, Executor executor) {
+        this.cacheManager = cacheManager;
+        this.nodeId = nodeId;
+        this.executor = executor;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        CacheInvalidationMessage invalidation;
+        try {
+            invalidation = (CacheInvalidationMessage) serializer.deserialize(message.getBody());
+        } catch (SerializationException | ClassCastException e) {
+            log.warn("unreadable cache invalidation message", e);
+            return;
+        }
+        if (invalidation == null || nodeId.equals(invalidation.getNodeId())) {
+            return;
+        }
+        executor.execute(() -> apply(invalidation));
+    }
+
+    private void apply(CacheInvalidationMessage invalidation) {
+        ChainedCache cache = cacheManager.lookupCache(invalidation.getCacheName());
+        if (cache == null) {
+            return;
+        }
+        if (invalidation.isClear()) {
+            cache.onRemoteClear();
+        } else if (invalidation.isAbsent()) {
+            invalidation.getKeys().forEach(cache::onRemoteAbsent);
+        } else {
+            invalidation.getKeys().forEach(cache::evictLocalCache);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.effective.backend.config.cache.invalidation;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Getter
+@RequiredArgsConstructor
+public class CacheInvalidationMessage implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String nodeId;
+    private final String cacheName;
+    private final boolean clear;
+    private final boolean absent;
+    private final List<Object> keys;
+
+    public static CacheInvalidationMessage evict(String nodeId, String cacheName, List<Object> keys) {
+        return new CacheInvalidationMessage(nodeId, cacheName, false, false, keys);
+    }
+
+    public static CacheInvalidationMessage absent(String nodeId, String cacheName, List<Object> keys) {
+        return new CacheInvalidationMessage(nodeId, cacheName, false, true, keys);
+    }
+
+    public static CacheInvalidationMessage clear(String nodeId, String cacheName) {
+        return new CacheInvalidationMessage(nodeId, cacheName, true, false, List.of());
+    }
+}
@@ -0,0 +1,28 @@
+package com.effective.backend.config.cache.invalidation;
+
+public interface CacheInvalidationPublisher {
+
+    CacheInvalidationPublisher NO_OP = new CacheInvalidationPublisher() {
+        @Override
+        public void publishEvict(String cacheName, Object key) {
+        }
+
+        @Override
+        public void publishAbsent(String cacheName, Object key) {
+        }
+
+        @Override
+        public void publishClear(String cacheName) {
+        }
+    };
+
+    void publishEvict(String cacheName, Object key);
+
+    /**
+     * Announces that {@code key} has no value anywhere. Receivers drop their local copy and may
+     * remember the key as absent, but must not treat it as a key that exists globally.
+     */
+    void publishAbsent(String cacheName, Object key);
+
+    void publishClear(String cacheName);
+}
@@ -0,0 +1,144 @@
+package com.effective.backend.config.cache.invalidation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Buffers invalidations and publishes them in batches. Evictions are coalesced per cache and
+ * dropped entirely when a clear for the same cache is pending. A key is either pending as evicted or
+ * as absent, whichever was published last.
+ */
+@Slf4j
+public class RedisCacheInvalidationPublisher implements CacheInvalidationPublisher, DisposableBean {
+
+    private final RedisConnectionFactory connectionFactory;
+    private final JdkSerializationRedisSerializer serializer = new JdkSerializationRedisSerializer();
+    private final String nodeId;
+    private final byte[] channel;
+    private final int maxBatchSize;
+
+    private final ConcurrentMap<String, Set<Object>> pendingEvictions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Set<Object>> pendingAbsents = new ConcurrentHashMap<>();
+    private final Set<String> pendingClears = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final ScheduledExecutorService flusher;
+
+    public RedisCacheInvalidationPublisher(RedisConnectionFactory connectionFactory, String nodeId, String channel,
+                                           long flushIntervalMillis, int maxBatchSize) {
+        this.connectionFactory = connectionFactory;
+        this.nodeId = nodeId;
+        this.channel = channel.getBytes(StandardCharsets.UTF_8);
+        this.maxBatchSize = maxBatchSize;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-invalidation-publisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flusher.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void publishEvict(String cacheName, Object key) {
+        enqueue(cacheName, key, pendingEvictions, pendingAbsents);
+    }
+
+    @Override
+    public void publishAbsent(String cacheName, Object key) {
+        enqueue(cacheName, key, pendingAbsents, pendingEvictions);
+    }
+
+    private void enqueue(String cacheName, Object key,
+                         ConcurrentMap<String, Set<Object>> target, ConcurrentMap<String, Set<Object>> other) {
+        if (pendingClears.contains(cacheName)) {
+            return;
+        }
+        other.computeIfPresent(cacheName, (name, keys) -> {
+            if (keys.remove(key)) {
+                pendingCount.decrementAndGet();
+            }
+            return keys.isEmpty() ? null : keys;
+        });
+        target.compute(cacheName, (name, keys) -> {
+            Set<Object> pending = keys == null ? new HashSet<>() : keys;
+            if (pending.add(key)) {
+                pendingCount.incrementAndGet();
+            }
+            return pending;
+        });
+        if (pendingCount.get() >= maxBatchSize) {
+            flusher.execute(this::flush);
+        }
+    }
+
+    @Override
+    public void publishClear(String cacheName) {
+        pendingClears.add(cacheName);
+        flusher.execute(this::flush);
+    }
+
+    synchronized void flush() {
+        try {
+            for (String cacheName : new ArrayList<>(pendingClears)) {
+                pendingClears.remove(cacheName);
+                discard(pendingEvictions, cacheName);
+                discard(pendingAbsents, cacheName);
+                send(CacheInvalidationMessage.clear(nodeId, cacheName));
+            }
+            sendBatches(pendingEvictions, CacheInvalidationMessage::evict);
+            sendBatches(pendingAbsents, CacheInvalidationMessage::absent);
+        } catch (RuntimeException e) {
+            log.warn("cache invalidation publish failed", e);
+        }
+    }
+
+    private void sendBatches(ConcurrentMap<String, Set<Object>> pending, MessageFactory factory) {
+        for (String cacheName : new ArrayList<>(pending.keySet())) {
+            List<Object> keys = discard(pending, cacheName);
+            for (int from = 0; from < keys.size(); from += maxBatchSize) {
+                List<Object> batch = new ArrayList<>(keys.subList(from, Math.min(keys.size(), from + maxBatchSize)));
+                send(factory.create(nodeId, cacheName, batch));
+            }
+        }
+    }
+
+    private List<Object> discard(ConcurrentMap<String, Set<Object>> pending, String cacheName) {
+        Set<Object> keys = pending.remove(cacheName);
+        if (keys == null) {
+            return List.of();
+        }
+        pendingCount.addAndGet(-keys.size());
+        return new ArrayList<>(keys);
+    }
+
+    private void send(CacheInvalidationMessage message) {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.publish(channel, serializer.serialize(message));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        flusher.shutdown();
+        flush();
+    }
+
+    private interface MessageFactory {
+
+        CacheInvalidationMessage create(String nodeId, String cacheName, List<Object> keys);
+    }
+}
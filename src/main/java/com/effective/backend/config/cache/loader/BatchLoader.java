@@ -0,0 +1,20 @@
+package com.effective.backend.config.cache.loader;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk loader for one cache, registered as a bean. When present, concurrent misses of that cache
+ * are collected and resolved with one {@link #loadAll(Set)} call instead of one value loader call
+ * each.
+ */
+public interface BatchLoader {
+
+    String getCacheName();
+
+    /**
+     * Loads the values of {@code keys}, which are cache keys as produced by the key generator.
+     * Keys missing from the result are treated as loaded with a {@code null} value.
+     */
+    Map<Object, Object> loadAll(Set<Object> keys) throws Exception;
+}
@@ -0,0 +1,122 @@
+package com.effective.backend.config.cache.loader;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Coalesces loads of different keys into batches for a {@link BatchLoader}. The first caller of a
+ * batch leads it: it waits until the window has passed or the batch is full, then runs the bulk
+ * load on its own thread and completes every caller of the batch. Needs no threads of its own, and
+ * a caller waits at most one window plus the bulk load.
+ */
+@Slf4j
+public class BatchingLoader {
+
+    private final BatchLoader loader;
+    private final int maxBatchSize;
+    private final long windowNanos;
+    private final Consumer<Map<Object, Object>> onLoaded;
+    private final ReentrantLock lock = new ReentrantLock();
+    private Batch open;
+
+    /**
+     * @param onLoaded receives every loaded batch, keys without a value mapped to {@code null}, before
+     *                 the callers are completed
+     */
+    public BatchingLoader(BatchLoader loader, int maxBatchSize, long windowNanos,
+                          Consumer<Map<Object, Object>> onLoaded) {
+        this.loader = loader;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.windowNanos = windowNanos;
+        this.onLoaded = onLoaded;
+    }
+
+    public Object load(Object key) throws Exception {
+        Batch batch;
+        CompletableFuture<Object> result;
+        boolean leader;
+        lock.lock();
+        try {
+            leader = open == null;
+            if (leader) {
+                open = new Batch(lock.newCondition());
+            }
+            batch = open;
+            result = batch.results.computeIfAbsent(key, ignored -> new CompletableFuture<>());
+            if (batch.results.size() >= maxBatchSize) {
+                open = null;
+                batch.full.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (leader) {
+            awaitWindow(batch);
+            run(batch);
+        }
+        return await(result);
+    }
+
+    private void awaitWindow(Batch batch) {
+        lock.lock();
+        try {
+            long remaining = windowNanos;
+            while (open == batch && remaining > 0) {
+                remaining = batch.full.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (open == batch) {
+                open = null;
+            }
+            lock.unlock();
+        }
+    }
+
+    private void run(Batch batch) {
+        Map<Object, Object> values = new LinkedHashMap<>(batch.results.size());
+        try {
+            Map<Object, Object> loaded = loader.loadAll(new LinkedHashSet<>(batch.results.keySet()));
+            batch.results.keySet().forEach(key -> values.put(key, loaded == null ? null : loaded.get(key)));
+        } catch (Throwable e) {
+            batch.results.values().forEach(result -> result.completeExceptionally(e));
+            return;
+        }
+        try {
+            onLoaded.accept(values);
+        } catch (RuntimeException e) {
+            log.warn("could not cache a batch of {} loaded by {}", values.size(), loader.getCacheName(), e);
+        }
+        batch.results.forEach((key, result) -> result.complete(values.get(key)));
+    }
+
+    private static Object await(CompletableFuture<Object> result) throws Exception {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static final class Batch {
+
+        private final Map<Object, CompletableFuture<Object>> results = new LinkedHashMap<>();
+        private final Condition full;
+
+        private Batch(Condition full) {
+            this.full = full;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.effective.backend.config.cache.offheap;
+
+import com.effective.backend.config.cache.codec.CacheValueCodec;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.cache.support.NullValue;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Local cache tier keeping encoded values in an {@link OffHeapStore}, so only keys and index
+ * entries occupy the Java heap.
+ */
+public class OffHeapCache extends AbstractValueAdaptingCache {
+
+    private static final byte[] NULL_VALUE = new byte[0];
+
+    private final String name;
+    private final OffHeapStore store;
+    private final CacheValueCodec codec;
+    private final long ttlMillis;
+
+    public OffHeapCache(String name, OffHeapStore store, CacheValueCodec codec, Duration ttl) {
+        super(true);
+        this.name = name;
+        this.store = store;
+        this.codec = codec;
+        this.ttlMillis = ttl == null || ttl.isNegative() ? 0 : ttl.toMillis();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public OffHeapStore getNativeCache() {
+        return store;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        return decode(store.get(key));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper valueWrapper = get(key);
+        if (valueWrapper != null) {
+            return (T) valueWrapper.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Throwable ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        store.put(key, encode(value), expiresAt());
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        byte[] existing = store.putIfAbsent(key, encode(value), expiresAt());
+        return existing == null ? null : toValueWrapper(decode(existing));
+    }
+
+    @Override
+    public void evict(Object key) {
+        store.remove(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return store.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        store.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return store.clear();
+    }
+
+    private byte[] encode(Object value) {
+        Object storeValue = toStoreValue(value);
+        return storeValue == NullValue.INSTANCE ? NULL_VALUE : codec.encode(storeValue);
+    }
+
+    private Object decode(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        return bytes.length == 0 ? NullValue.INSTANCE : codec.decode(bytes, 0, bytes.length);
+    }
+
+    private long expiresAt() {
+        return ttlMillis > 0 ? System.currentTimeMillis() + ttlMillis : 0;
+    }
+}
@@ -0,0 +1,42 @@
+package com.effective.backend.config.cache.offheap;
+
+import com.effective.backend.config.cache.CacheProfile;
+import com.effective.backend.config.cache.CacheProfileProperties;
+import com.effective.backend.config.cache.codec.CacheCodecs;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractCacheManager;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Collections;
+
+public class OffHeapCacheManager extends AbstractCacheManager {
+
+    private final CacheProfileProperties profiles;
+    private final CacheCodecs codecs;
+    private final Path directory;
+
+    public OffHeapCacheManager(CacheProfileProperties profiles, CacheCodecs codecs) {
+        this(profiles, codecs, Paths.get(System.getProperty("java.io.tmpdir")));
+    }
+
+    public OffHeapCacheManager(CacheProfileProperties profiles, CacheCodecs codecs, Path directory) {
+        this.profiles = profiles;
+        this.codecs = codecs;
+        this.directory = directory;
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        CacheProfile profile = profiles.resolve(name);
+        OffHeapStore store = new OffHeapStore(name, profile.getOffHeapSize().toBytes(),
+                profile.getOffHeapSegments(), profile.getOffHeapMode(), directory);
+        return new OffHeapCache(name, store, codecs.byName(profile.getCodec()), profile.getLocalTtl());
+    }
+}
@@ -0,0 +1,200 @@
+package com.effective.backend.config.cache.offheap;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ring buffer that appends records {@code [int length][bytes]} at the head and reclaims space by
+ * dropping the oldest records. Overwritten and removed records stay in the log as dead space until
+ * the ring wraps over them. The key index lives on heap.
+ */
+final class OffHeapSegment {
+
+    private static final int HEADER_BYTES = Integer.BYTES;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ByteBuffer buffer;
+    private final int capacity;
+    private final Map<Object, Slot> index = new HashMap<>();
+    private final ArrayDeque<Slot> log = new ArrayDeque<>();
+    private long head;
+    private long liveBytes;
+    private long evictions;
+
+    OffHeapSegment(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.capacity = buffer.capacity();
+    }
+
+    byte[] get(Object key, long now) {
+        lock.lock();
+        try {
+            Slot slot = live(key, now);
+            return slot == null ? null : read(slot);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean put(Object key, byte[] value, long expiresAt) {
+        if (value.length + HEADER_BYTES > capacity) {
+            remove(key);
+            return false;
+        }
+        lock.lock();
+        try {
+            append(key, value, expiresAt);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    byte[] putIfAbsent(Object key, byte[] value, long expiresAt, long now) {
+        lock.lock();
+        try {
+            Slot existing = live(key, now);
+            if (existing != null) {
+                return read(existing);
+            }
+            if (value.length + HEADER_BYTES <= capacity) {
+                append(key, value, expiresAt);
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean remove(Object key) {
+        lock.lock();
+        try {
+            Slot slot = index.remove(key);
+            if (slot == null) {
+                return false;
+            }
+            liveBytes -= slot.length;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean clear() {
+        lock.lock();
+        try {
+            boolean hadEntries = !index.isEmpty();
+            index.clear();
+            log.clear();
+            liveBytes = 0;
+            return hadEntries;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return index.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long getLiveBytes() {
+        lock.lock();
+        try {
+            return liveBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long getEvictions() {
+        lock.lock();
+        try {
+            return evictions;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    private Slot live(Object key, long now) {
+        Slot slot = index.get(key);
+        if (slot != null && slot.expiresAt > 0 && now >= slot.expiresAt) {
+            index.remove(key);
+            liveBytes -= slot.length;
+            return null;
+        }
+        return slot;
+    }
+
+    private void append(Object key, byte[] value, long expiresAt) {
+        int length = value.length + HEADER_BYTES;
+        long position = head;
+        int offset = (int) (position % capacity);
+        if (offset + length > capacity) {
+            position += capacity - offset;
+            offset = 0;
+        }
+        long end = position + length;
+        while (!log.isEmpty() && end - log.peekFirst().position > capacity) {
+            evictOldest();
+        }
+
+        buffer.putInt(offset, value.length);
+        ByteBuffer view = buffer.duplicate();
+        view.position(offset + HEADER_BYTES);
+        view.put(value);
+        head = end;
+
+        Slot slot = new Slot(key, position, length, expiresAt);
+        log.addLast(slot);
+        Slot previous = index.put(key, slot);
+        if (previous != null) {
+            liveBytes -= previous.length;
+        }
+        liveBytes += length;
+    }
+
+    private void evictOldest() {
+        Slot oldest = log.pollFirst();
+        if (index.get(oldest.key) == oldest) {
+            index.remove(oldest.key);
+            liveBytes -= oldest.length;
+            evictions++;
+        }
+    }
+
+    private byte[] read(Slot slot) {
+        int offset = (int) (slot.position % capacity);
+        byte[] value = new byte[buffer.getInt(offset)];
+        ByteBuffer view = buffer.duplicate();
+        view.position(offset + HEADER_BYTES);
+        view.get(value);
+        return value;
+    }
+
+    private static final class Slot {
+
+        private final Object key;
+        private final long position;
+        private final int length;
+        private final long expiresAt;
+
+        private Slot(Object key, long position, int length, long expiresAt) {
+            this.key = key;
+            this.position = position;
+            this.length = length;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
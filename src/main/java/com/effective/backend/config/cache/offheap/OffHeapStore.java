@@ -0,0 +1,109 @@
+package com.effective.backend.config.cache.offheap;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Byte-bounded key/value store split into independently locked {@link OffHeapSegment}s backed by
+ * direct or memory-mapped buffers.
+ */
+public class OffHeapStore {
+
+    public enum Mode {
+        DIRECT, MAPPED
+    }
+
+    private final OffHeapSegment[] segments;
+    private final int mask;
+
+    public OffHeapStore(String name, long capacityBytes, int segmentCount, Mode mode, Path directory) {
+        int count = segmentCount <= 1 ? 1 : Integer.highestOneBit(segmentCount - 1) << 1;
+        long segmentBytes = capacityBytes / count;
+        if (segmentBytes <= 0 || segmentBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("off-heap segment size out of range: " + segmentBytes
+                    + " bytes for cache " + name);
+        }
+        this.segments = new OffHeapSegment[count];
+        this.mask = count - 1;
+        for (int i = 0; i < count; i++) {
+            segments[i] = new OffHeapSegment(allocate(name, (int) segmentBytes, mode, directory));
+        }
+    }
+
+    public byte[] get(Object key) {
+        return segmentFor(key).get(key, System.currentTimeMillis());
+    }
+
+    public boolean put(Object key, byte[] value, long expiresAt) {
+        return segmentFor(key).put(key, value, expiresAt);
+    }
+
+    public byte[] putIfAbsent(Object key, byte[] value, long expiresAt) {
+        return segmentFor(key).putIfAbsent(key, value, expiresAt, System.currentTimeMillis());
+    }
+
+    public boolean remove(Object key) {
+        return segmentFor(key).remove(key);
+    }
+
+    public boolean clear() {
+        boolean hadEntries = false;
+        for (OffHeapSegment segment : segments) {
+            hadEntries |= segment.clear();
+        }
+        return hadEntries;
+    }
+
+    public long size() {
+        long size = 0;
+        for (OffHeapSegment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public long getLiveBytes() {
+        long bytes = 0;
+        for (OffHeapSegment segment : segments) {
+            bytes += segment.getLiveBytes();
+        }
+        return bytes;
+    }
+
+    public long getCapacityBytes() {
+        return (long) segments.length * segments[0].getCapacity();
+    }
+
+    public long getEvictions() {
+        long evictions = 0;
+        for (OffHeapSegment segment : segments) {
+            evictions += segment.getEvictions();
+        }
+        return evictions;
+    }
+
+    private OffHeapSegment segmentFor(Object key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & mask];
+    }
+
+    private static ByteBuffer allocate(String name, int bytes, Mode mode, Path directory) {
+        if (mode == Mode.DIRECT) {
+            return ByteBuffer.allocateDirect(bytes);
+        }
+        try {
+            Path file = Files.createTempFile(directory, "offheap-" + name + "-", ".seg");
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.DELETE_ON_CLOSE)) {
+                return channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to map off-heap segment for cache " + name, e);
+        }
+    }
+}
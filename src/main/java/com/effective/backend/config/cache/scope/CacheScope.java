@@ -0,0 +1,114 @@
+package com.effective.backend.config.cache.scope;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.Cache.ValueWrapper;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * L0 memo for one unit of work (usually one request), bound to the thread that opened it. Reads
+ * remember what every tier answered, so repeated lookups of a key skip the near cache entirely;
+ * writes and evictions through the cache drop the memo for their key, so the unit of work always
+ * reads its own writes. Changes made by other threads or nodes are not seen until the scope closes.
+ * <p>
+ * The scope is a plain thread-confined object held in a {@link ThreadLocal} that is removed on
+ * close, so it behaves the same on pooled platform threads and on one-shot virtual threads. Work
+ * handed to other threads runs unscoped and goes straight to the cache.
+ */
+public final class CacheScope implements AutoCloseable {
+
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+
+    private static final ThreadLocal<CacheScope> CURRENT = new ThreadLocal<>();
+
+    private final Thread owner = Thread.currentThread();
+    private final Map<Cache, Map<Object, ValueWrapper>> entries = new IdentityHashMap<>();
+    private final int maxEntries;
+    private int size;
+    private int depth = 1;
+
+    private CacheScope(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public static CacheScope open() {
+        return open(DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * Opens a scope on the current thread, or joins the one already open; a joined scope stays open
+     * until its outermost owner closes it.
+     */
+    public static CacheScope open(int maxEntries) {
+        CacheScope current = CURRENT.get();
+        if (current != null) {
+            current.depth++;
+            return current;
+        }
+        CacheScope scope = new CacheScope(maxEntries);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    public static CacheScope current() {
+        return CURRENT.get();
+    }
+
+    public static void run(Runnable work) {
+        try (CacheScope ignored = open()) {
+            work.run();
+        }
+    }
+
+    public ValueWrapper get(Cache cache, Object key) {
+        Map<Object, ValueWrapper> cacheEntries = entries.get(cache);
+        return cacheEntries == null ? null : cacheEntries.get(key);
+    }
+
+    /**
+     * Remembers {@code valueWrapper} until the scope closes; once full, further reads are not memoized.
+     */
+    public void put(Cache cache, Object key, ValueWrapper valueWrapper) {
+        Map<Object, ValueWrapper> cacheEntries = entries.computeIfAbsent(cache, c -> new HashMap<>());
+        if (cacheEntries.containsKey(key)) {
+            cacheEntries.put(key, valueWrapper);
+        } else if (size < maxEntries) {
+            cacheEntries.put(key, valueWrapper);
+            size++;
+        }
+    }
+
+    public void forget(Cache cache, Object key) {
+        Map<Object, ValueWrapper> cacheEntries = entries.get(cache);
+        if (cacheEntries != null && cacheEntries.remove(key) != null) {
+            size--;
+        }
+    }
+
+    public void forgetAll(Cache cache) {
+        Map<Object, ValueWrapper> cacheEntries = entries.remove(cache);
+        if (cacheEntries != null) {
+            size -= cacheEntries.size();
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void close() {
+        if (Thread.currentThread() != owner) {
+            throw new IllegalStateException("cache scope opened on " + owner.getName() + " closed on "
+                    + Thread.currentThread().getName());
+        }
+        if (--depth > 0) {
+            return;
+        }
+        entries.clear();
+        size = 0;
+        CURRENT.remove();
+    }
+}
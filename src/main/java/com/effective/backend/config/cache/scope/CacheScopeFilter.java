@@ -0,0 +1,30 @@
+package com.effective.backend.config.cache.scope;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Opens a {@link CacheScope} around every request. Async dispatches run on other threads and stay
+ * unscoped.
+ */
+public class CacheScopeFilter extends OncePerRequestFilter {
+
+    private final int maxEntries;
+
+    public CacheScopeFilter(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try (CacheScope ignored = CacheScope.open(maxEntries)) {
+            filterChain.doFilter(request, response);
+        }
+    }
+}
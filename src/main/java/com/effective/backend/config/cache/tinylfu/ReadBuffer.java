@@ -0,0 +1,52 @@
+package com.effective.backend.config.cache.tinylfu;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded multi-producer ring of recent reads, drained under the eviction lock. Reads are dropped
+ * when the ring is full or the slot is contended; losing some access history only makes the
+ * policy slightly less precise.
+ */
+final class ReadBuffer<E> {
+
+    static final int SIZE = 16;
+    private static final int MASK = SIZE - 1;
+
+    private final AtomicLong writeCounter = new AtomicLong();
+    private final AtomicReferenceArray<E> buffer = new AtomicReferenceArray<>(SIZE);
+    private volatile long readCounter;
+
+    /**
+     * @return {@code true} when the buffer is full enough to be worth draining
+     */
+    boolean offer(E element) {
+        long head = readCounter;
+        long tail = writeCounter.get();
+        long size = tail - head;
+        if (size >= SIZE) {
+            return true;
+        }
+        if (writeCounter.compareAndSet(tail, tail + 1)) {
+            buffer.lazySet((int) (tail & MASK), element);
+            return size + 1 >= SIZE / 2;
+        }
+        return false;
+    }
+
+    void drainTo(Consumer<E> consumer) {
+        long head = readCounter;
+        long tail = writeCounter.get();
+        for (; head < tail; head++) {
+            int index = (int) (head & MASK);
+            E element = buffer.get(index);
+            if (element == null) {
+                break;
+            }
+            buffer.lazySet(index, null);
+            consumer.accept(element);
+        }
+        readCounter = head;
+    }
+}
@@ -0,0 +1,416 @@
+package com.effective.backend.config.cache.tinylfu;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded on-heap cache with W-TinyLFU eviction: new entries land in a small LRU window and are
+ * only admitted into the segmented-LRU main space when the frequency sketch rates them more
+ * popular than the entry they would displace. One-off scans therefore churn the window instead
+ * of flushing hot entries.
+ *
+ * <p>Reads never take the eviction lock; they are recorded in striped {@link ReadBuffer}s and
+ * replayed against the policy when a buffer fills up or on the next write.
+ */
+public class TinyLfuCache extends AbstractValueAdaptingCache {
+
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+    private static final int DEAD = 3;
+
+    private final String name;
+    private final long ttlMillis;
+    private final ConcurrentMap<Object, Node> data = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final FrequencySketch sketch;
+    private final ReadBuffer<Node>[] readBuffers;
+    private final int readBufferMask;
+    private final AccessOrderDeque window = new AccessOrderDeque();
+    private final AccessOrderDeque probation = new AccessOrderDeque();
+    private final AccessOrderDeque protectedSpace = new AccessOrderDeque();
+    private final long maximum;
+    private final long windowMaximum;
+    private final long protectedMaximum;
+    private long windowSize;
+    private long protectedSize;
+    private long size;
+    private long evictions;
+
+    @SuppressWarnings("unchecked")
+    public TinyLfuCache(String name, long maximumSize, Duration ttl) {
+        super(true);
+        this.name = name;
+        this.ttlMillis = ttl == null || ttl.isNegative() ? 0 : ttl.toMillis();
+        this.maximum = Math.max(1, maximumSize);
+        this.windowMaximum = Math.max(1, maximum / 100);
+        this.protectedMaximum = (long) ((maximum - windowMaximum) * 0.8);
+        this.sketch = new FrequencySketch(maximum);
+        int stripes = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() - 1)) << 2;
+        this.readBuffers = new ReadBuffer[stripes];
+        for (int i = 0; i < stripes; i++) {
+            readBuffers[i] = new ReadBuffer<>();
+        }
+        this.readBufferMask = stripes - 1;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public TinyLfuCache getNativeCache() {
+        return this;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Node node = data.get(key);
+        if (node == null) {
+            return null;
+        }
+        if (node.isExpired(System.currentTimeMillis())) {
+            remove(key, node);
+            return null;
+        }
+        afterRead(node);
+        return node.value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper valueWrapper = get(key);
+        if (valueWrapper != null) {
+            return (T) valueWrapper.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Throwable ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Object storeValue = toStoreValue(value);
+        long expiresAt = expiresAt();
+        Node node = new Node(key, storeValue, expiresAt);
+        Node existing = data.putIfAbsent(key, node);
+        if (existing == null) {
+            afterInsert(node);
+            return;
+        }
+        existing.value = storeValue;
+        existing.expiresAt = expiresAt;
+        afterRead(existing);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        Node node = new Node(key, toStoreValue(value), expiresAt());
+        while (true) {
+            Node existing = data.putIfAbsent(key, node);
+            if (existing == null) {
+                afterInsert(node);
+                return null;
+            }
+            if (!existing.isExpired(System.currentTimeMillis())) {
+                afterRead(existing);
+                return toValueWrapper(existing.value);
+            }
+            remove(key, existing);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictIfPresent(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        Node node = data.remove(key);
+        if (node == null) {
+            return false;
+        }
+        evictionLock.lock();
+        try {
+            unlink(node);
+        } finally {
+            evictionLock.unlock();
+        }
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        invalidate();
+    }
+
+    @Override
+    public boolean invalidate() {
+        evictionLock.lock();
+        try {
+            boolean hadEntries = !data.isEmpty();
+            for (Node node : data.values()) {
+                unlink(node);
+            }
+            data.clear();
+            return hadEntries;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    public long estimatedSize() {
+        return data.size();
+    }
+
+    /**
+     * Up to {@code limit} keys, protected segment first, each segment from most to least recently used.
+     */
+    public List<Object> hottestKeys(int limit) {
+        List<Object> keys = new ArrayList<>(Math.min(limit, data.size()));
+        evictionLock.lock();
+        try {
+            for (AccessOrderDeque deque : new AccessOrderDeque[]{protectedSpace, probation, window}) {
+                for (Node node = deque.peekLast(); node != null && keys.size() < limit; node = node.prev) {
+                    keys.add(node.key);
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+        return keys;
+    }
+
+    public long getEvictionCount() {
+        evictionLock.lock();
+        try {
+            return evictions;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void remove(Object key, Node node) {
+        if (data.remove(key, node)) {
+            evictionLock.lock();
+            try {
+                unlink(node);
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    private void afterRead(Node node) {
+        int stripe = (int) (Thread.currentThread().getId() * 0x9E3779B97F4A7C15L >>> 32) & readBufferMask;
+        if (readBuffers[stripe].offer(node) && evictionLock.tryLock()) {
+            try {
+                drainReadBuffers();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    private void afterInsert(Node node) {
+        evictionLock.lock();
+        try {
+            drainReadBuffers();
+            if (node.queue == DEAD) {
+                return;
+            }
+            sketch.increment(node.key);
+            node.queue = WINDOW;
+            window.addLast(node);
+            windowSize++;
+            size++;
+            evictEntries();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void drainReadBuffers() {
+        for (ReadBuffer<Node> readBuffer : readBuffers) {
+            readBuffer.drainTo(this::onAccess);
+        }
+    }
+
+    private void onAccess(Node node) {
+        sketch.increment(node.key);
+        if (node.queue == WINDOW) {
+            window.moveToLast(node);
+        } else if (node.queue == PROBATION) {
+            probation.remove(node);
+            node.queue = PROTECTED;
+            protectedSpace.addLast(node);
+            protectedSize++;
+            demoteOverflow();
+        } else if (node.queue == PROTECTED) {
+            protectedSpace.moveToLast(node);
+        }
+    }
+
+    private void demoteOverflow() {
+        while (protectedSize > protectedMaximum) {
+            Node demoted = protectedSpace.pollFirst();
+            demoted.queue = PROBATION;
+            probation.addLast(demoted);
+            protectedSize--;
+        }
+    }
+
+    private void evictEntries() {
+        int candidates = 0;
+        while (windowSize > windowMaximum) {
+            Node node = window.pollFirst();
+            node.queue = PROBATION;
+            probation.addLast(node);
+            windowSize--;
+            candidates++;
+        }
+        while (size > maximum) {
+            Node victim = probation.peekFirst();
+            Node candidate = candidates > 0 ? probation.peekLast() : null;
+            if (victim == null) {
+                victim = protectedSpace.peekFirst() != null ? protectedSpace.peekFirst() : window.peekFirst();
+            }
+            if (candidate == null || candidate == victim) {
+                evictNode(victim);
+                candidates = Math.max(0, candidates - 1);
+            } else if (sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+                evictNode(victim);
+            } else {
+                evictNode(candidate);
+                candidates--;
+            }
+        }
+    }
+
+    private void evictNode(Node node) {
+        data.remove(node.key, node);
+        unlink(node);
+        evictions++;
+    }
+
+    private void unlink(Node node) {
+        switch (node.queue) {
+            case WINDOW:
+                window.remove(node);
+                windowSize--;
+                size--;
+                break;
+            case PROBATION:
+                probation.remove(node);
+                size--;
+                break;
+            case PROTECTED:
+                protectedSpace.remove(node);
+                protectedSize--;
+                size--;
+                break;
+            default:
+                break;
+        }
+        node.queue = DEAD;
+    }
+
+    private long expiresAt() {
+        return ttlMillis > 0 ? System.currentTimeMillis() + ttlMillis : 0;
+    }
+
+    private static final class Node {
+
+        private final Object key;
+        private volatile Object value;
+        private volatile long expiresAt;
+        private int queue = -1;
+        private Node prev;
+        private Node next;
+
+        private Node(Object key, Object value, long expiresAt) {
+            this.key = key;
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            long expiry = expiresAt;
+            return expiry > 0 && now >= expiry;
+        }
+    }
+
+    /**
+     * Intrusive doubly linked list ordered from least to most recently used. Guarded by the
+     * eviction lock.
+     */
+    private static final class AccessOrderDeque {
+
+        private Node first;
+        private Node last;
+
+        private Node peekFirst() {
+            return first;
+        }
+
+        private Node peekLast() {
+            return last;
+        }
+
+        private void addLast(Node node) {
+            node.prev = last;
+            node.next = null;
+            if (last == null) {
+                first = node;
+            } else {
+                last.next = node;
+            }
+            last = node;
+        }
+
+        private Node pollFirst() {
+            Node node = first;
+            if (node != null) {
+                remove(node);
+            }
+            return node;
+        }
+
+        private void moveToLast(Node node) {
+            if (node != last) {
+                remove(node);
+                addLast(node);
+            }
+        }
+
+        private void remove(Node node) {
+            if (node.prev == null) {
+                first = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                last = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+        }
+    }
+}
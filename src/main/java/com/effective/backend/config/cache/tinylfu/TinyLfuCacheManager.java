@@ -0,0 +1,29 @@
+package com.effective.backend.config.cache.tinylfu;
+
+import com.effective.backend.config.cache.CacheProfile;
+import com.effective.backend.config.cache.CacheProfileProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractCacheManager;
+
+import java.util.Collection;
+import java.util.Collections;
+
+public class TinyLfuCacheManager extends AbstractCacheManager {
+
+    private final CacheProfileProperties profiles;
+
+    public TinyLfuCacheManager(CacheProfileProperties profiles) {
+        this.profiles = profiles;
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        CacheProfile profile = profiles.resolve(name);
+        return new TinyLfuCache(name, profile.getLocalHeapEntries(), profile.getLocalTtl());
+    }
+}
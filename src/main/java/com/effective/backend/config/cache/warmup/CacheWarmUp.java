@@ -0,0 +1,118 @@
+package com.effective.backend.config.cache.warmup;
+
+import com.effective.backend.config.cache.ChainedCache;
+import com.effective.backend.config.cache.ChainedCacheManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Restores the local tier from the last snapshot before the application reports ready, then
+ * snapshots the hottest local keys periodically and once more on shutdown. Application runners
+ * complete before the readiness state changes to accepting traffic, so a node joins the load
+ * balancer with a warm local tier.
+ */
+@Slf4j
+public class CacheWarmUp implements ApplicationRunner, DisposableBean {
+
+    private final ChainedCacheManager cacheManager;
+    private final ScheduledExecutorService scheduler;
+    private final Path snapshotFile;
+    private final int keysPerCache;
+    private final int batchSize;
+    private final Duration snapshotInterval;
+    private final Duration restoreTimeout;
+    private ScheduledFuture<?> snapshots;
+
+    public CacheWarmUp(ChainedCacheManager cacheManager, ScheduledExecutorService scheduler, Path snapshotFile,
+                       int keysPerCache, int batchSize, Duration snapshotInterval, Duration restoreTimeout) {
+        this.cacheManager = cacheManager;
+        this.scheduler = scheduler;
+        this.snapshotFile = snapshotFile;
+        this.keysPerCache = keysPerCache;
+        this.batchSize = batchSize;
+        this.snapshotInterval = snapshotInterval;
+        this.restoreTimeout = restoreTimeout;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        restore();
+        snapshots = scheduler.scheduleWithFixedDelay(this::snapshot, snapshotInterval.toMillis(),
+                snapshotInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (snapshots != null) {
+            snapshots.cancel(false);
+        }
+        snapshot();
+    }
+
+    /**
+     * Bulk-loads the keys of the last snapshot from the global tier, giving up once the restore
+     * timeout has passed.
+     *
+     * @return the number of entries loaded into the local tier
+     */
+    public int restore() {
+        Map<String, List<String>> keysByCache;
+        try {
+            keysByCache = LocalTierSnapshot.read(snapshotFile);
+        } catch (IOException e) {
+            log.warn("could not read local tier snapshot {}", snapshotFile, e);
+            return 0;
+        }
+        long deadline = System.nanoTime() + restoreTimeout.toNanos();
+        int loaded = 0;
+        for (Map.Entry<String, List<String>> entry : keysByCache.entrySet()) {
+            ChainedCache cache = (ChainedCache) cacheManager.getCache(entry.getKey());
+            List<String> keys = entry.getValue();
+            for (int from = 0; from < keys.size(); from += batchSize) {
+                if (System.nanoTime() - deadline > 0) {
+                    log.warn("local tier restore timed out after {} entries", loaded);
+                    return loaded;
+                }
+                loaded += cache.warmUp(keys.subList(from, Math.min(keys.size(), from + batchSize)));
+            }
+        }
+        log.info("restored {} local tier entries from {}", loaded, snapshotFile);
+        return loaded;
+    }
+
+    public void snapshot() {
+        Map<String, List<String>> keysByCache = new LinkedHashMap<>();
+        for (ChainedCache cache : cacheManager.getChainedCaches()) {
+            List<String> keys = new ArrayList<>();
+            for (Object key : cache.hottestLocalKeys(keysPerCache)) {
+                if (key instanceof String) {
+                    keys.add((String) key);
+                }
+            }
+            if (!keys.isEmpty()) {
+                keysByCache.put(cache.getName(), keys);
+            }
+        }
+        if (keysByCache.isEmpty()) {
+            return;
+        }
+        try {
+            LocalTierSnapshot.write(snapshotFile, keysByCache);
+        } catch (IOException | RuntimeException e) {
+            log.warn("could not write local tier snapshot {}", snapshotFile, e);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.effective.backend.config.cache.warmup;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzipped stream of the hottest local keys per cache: a header, then for every cache its name,
+ * the key count and the keys as length-prefixed UTF-8. Only keys are stored; values are reloaded
+ * from the global tier. Files are written to a sibling and moved into place, so a crash never
+ * leaves a truncated snapshot behind.
+ */
+public final class LocalTierSnapshot {
+
+    private static final int MAGIC = 0x43435331;
+    private static final int VERSION = 1;
+
+    private LocalTierSnapshot() {
+    }
+
+    public static void write(Path file, Map<String, List<String>> keysByCache) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                write(out, keysByCache);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public static void write(OutputStream out, Map<String, List<String>> keysByCache) throws IOException {
+        GZIPOutputStream gzip = new GZIPOutputStream(out);
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(gzip));
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(keysByCache.size());
+        for (Map.Entry<String, List<String>> entry : keysByCache.entrySet()) {
+            writeString(data, entry.getKey());
+            data.writeInt(entry.getValue().size());
+            for (String key : entry.getValue()) {
+                writeString(data, key);
+            }
+        }
+        data.flush();
+        gzip.finish();
+    }
+
+    public static Map<String, List<String>> read(Path file) throws IOException {
+        if (!Files.isReadable(file)) {
+            return Collections.emptyMap();
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            return read(in);
+        }
+    }
+
+    public static Map<String, List<String>> read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(new GZIPInputStream(in)));
+        if (data.readInt() != MAGIC || data.readInt() != VERSION) {
+            throw new IOException("not a local tier snapshot");
+        }
+        int caches = data.readInt();
+        Map<String, List<String>> keysByCache = new LinkedHashMap<>();
+        for (int i = 0; i < caches; i++) {
+            String cacheName = readString(data);
+            int count = data.readInt();
+            List<String> keys = new ArrayList<>(count);
+            for (int j = 0; j < count; j++) {
+                keys.add(readString(data));
+            }
+            keysByCache.put(cacheName, keys);
+        }
+        return keysByCache;
+    }
+
+    private static void writeString(DataOutputStream data, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        data.writeInt(bytes.length);
+        data.write(bytes);
+    }
+
+    private static String readString(DataInputStream data) throws IOException {
+        byte[] bytes = new byte[data.readInt()];
+        data.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
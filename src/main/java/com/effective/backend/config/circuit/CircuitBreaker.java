@@ -0,0 +1,282 @@
+package com.effective.backend.config.circuit;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Count-based circuit breaker over a time-bucketed sliding window with semaphore isolation.
+ * Calls run on the caller's thread; timeouts are expected to be enforced by the client
+ * (Lettuce command timeouts) and surface as failures.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private static final int CLOSED = 0;
+    private static final int OPEN = 1;
+    private static final int HALF_OPEN = 2;
+    private static final int REJECTED = -1;
+
+    private final String name;
+    private final int failureRateThreshold;
+    private final int minimumRequests;
+    private final long bucketMillis;
+    private final int bucketCount;
+    private final long waitInOpenStateMillis;
+    private final int halfOpenPermits;
+    private final Semaphore permits;
+
+    private final AtomicInteger state = new AtomicInteger(CLOSED);
+    private final AtomicLong openedAt = new AtomicLong();
+    private final AtomicInteger halfOpenTrialsLeft = new AtomicInteger();
+    private final AtomicLongArray bucketEpochs;
+    private final AtomicLongArray bucketSuccesses;
+    private final AtomicLongArray bucketFailures;
+    private final AtomicLong rejectedCalls = new AtomicLong();
+
+    public CircuitBreaker(String name, CircuitBreakerSettings settings) {
+        this.name = name;
+        this.failureRateThreshold = settings.getFailureRateThreshold();
+        this.minimumRequests = settings.getMinimumRequests();
+        this.bucketCount = Math.max(1, settings.getWindowBuckets());
+        this.bucketMillis = Math.max(1, settings.getWindow().toMillis() / bucketCount);
+        this.waitInOpenStateMillis = settings.getWaitInOpenState().toMillis();
+        this.halfOpenPermits = Math.max(1, settings.getHalfOpenPermits());
+        this.permits = new Semaphore(settings.getMaxConcurrentCalls());
+        this.bucketEpochs = new AtomicLongArray(bucketCount);
+        this.bucketSuccesses = new AtomicLongArray(bucketCount);
+        this.bucketFailures = new AtomicLongArray(bucketCount);
+    }
+
+    public <T> T execute(Supplier<T> action, Supplier<T> fallback) {
+        if (!tryAcquirePermission()) {
+            return fallback.get();
+        }
+        try {
+            T result = action.get();
+            onSuccess();
+            return result;
+        } catch (RuntimeException e) {
+            onFailure();
+            return fallback.get();
+        } finally {
+            releasePermission();
+        }
+    }
+
+    /**
+     * Asynchronous variant of {@link #execute}. The permission is held until the stage completes.
+     * Cancelling the returned future cancels the action's future and is not counted as a failure; a
+     * cancelled half-open trial hands its trial back so the next call can decide the state.
+     */
+    public <T> CompletableFuture<T> executeAsync(Supplier<? extends CompletionStage<T>> action,
+                                                 Supplier<T> fallback) {
+        int acquiredIn = acquirePermission();
+        if (acquiredIn == REJECTED) {
+            return CompletableFuture.completedFuture(fallback.get());
+        }
+        long phase = openedAt.get();
+        CompletableFuture<T> source;
+        try {
+            source = action.get().toCompletableFuture();
+        } catch (RuntimeException e) {
+            onFailure();
+            releasePermission();
+            return CompletableFuture.completedFuture(fallback.get());
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        source.whenComplete((value, error) -> {
+            releasePermission();
+            if (error == null) {
+                onSuccess();
+                result.complete(value);
+            } else if (!(error instanceof CancellationException)) {
+                onFailure();
+                try {
+                    result.complete(fallback.get());
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            } else {
+                if (acquiredIn == HALF_OPEN) {
+                    returnTrial(phase);
+                }
+                result.cancel(false);
+            }
+        });
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                source.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    public void run(Runnable action, Runnable fallback) {
+        execute(() -> {
+            action.run();
+            return null;
+        }, () -> {
+            fallback.run();
+            return null;
+        });
+    }
+
+    /**
+     * Acquires a call permission. Callers that get {@code true} must report the outcome through
+     * {@link #onSuccess()} or {@link #onFailure()} and then call {@link #releasePermission()}.
+     * While half-open only {@code half-open-permits} trial calls are let through.
+     */
+    public boolean tryAcquirePermission() {
+        return acquirePermission() != REJECTED;
+    }
+
+    /**
+     * @return the state the permission was granted in, {@code HALF_OPEN} for a trial, or {@code REJECTED}
+     */
+    private int acquirePermission() {
+        int current = state.get();
+        if (current == OPEN && System.currentTimeMillis() - openedAt.get() >= waitInOpenStateMillis
+                && state.compareAndSet(OPEN, HALF_OPEN)) {
+            halfOpenTrialsLeft.set(halfOpenPermits);
+            current = HALF_OPEN;
+        }
+        boolean trial = current == HALF_OPEN && tryAcquireTrial();
+        if ((current != CLOSED && !trial) || !permits.tryAcquire()) {
+            if (trial) {
+                halfOpenTrialsLeft.incrementAndGet();
+            }
+            rejectedCalls.incrementAndGet();
+            return REJECTED;
+        }
+        return trial ? HALF_OPEN : CLOSED;
+    }
+
+    public void releasePermission() {
+        permits.release();
+    }
+
+    public void onSuccess() {
+        if (state.compareAndSet(HALF_OPEN, CLOSED)) {
+            resetWindow();
+            return;
+        }
+        record(bucketSuccesses);
+    }
+
+    public void onFailure() {
+        long now = System.currentTimeMillis();
+        if (state.get() == HALF_OPEN) {
+            open(now);
+            return;
+        }
+        record(bucketFailures);
+        if (state.get() == CLOSED && isFailureRateExceeded(now)) {
+            open(now);
+        }
+    }
+
+    public void transitionToOpenState() {
+        open(System.currentTimeMillis());
+    }
+
+    public void transitionToClosedState() {
+        resetWindow();
+        state.set(CLOSED);
+    }
+
+    public boolean isOpen() {
+        return state.get() != CLOSED;
+    }
+
+    public State getState() {
+        switch (state.get()) {
+            case OPEN:
+                return State.OPEN;
+            case HALF_OPEN:
+                return State.HALF_OPEN;
+            default:
+                return State.CLOSED;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getRejectedCalls() {
+        return rejectedCalls.get();
+    }
+
+    /**
+     * Every way back to OPEN goes through here, so the wait always restarts and no trial budget of the
+     * previous half-open phase survives.
+     */
+    private void open(long now) {
+        halfOpenTrialsLeft.set(0);
+        openedAt.set(now);
+        state.set(OPEN);
+    }
+
+    private boolean tryAcquireTrial() {
+        int left;
+        do {
+            left = halfOpenTrialsLeft.get();
+            if (left <= 0) {
+                return false;
+            }
+        } while (!halfOpenTrialsLeft.compareAndSet(left, left - 1));
+        return true;
+    }
+
+    /**
+     * Gives back a trial that ended without an outcome, unless the half-open phase it was taken in is over.
+     */
+    private void returnTrial(long phase) {
+        if (state.get() == HALF_OPEN && openedAt.get() == phase) {
+            halfOpenTrialsLeft.incrementAndGet();
+        }
+    }
+
+    private void record(AtomicLongArray counters) {
+        long epoch = System.currentTimeMillis() / bucketMillis;
+        int index = (int) (epoch % bucketCount);
+        long bucketEpoch = bucketEpochs.get(index);
+        if (bucketEpoch != epoch && bucketEpochs.compareAndSet(index, bucketEpoch, epoch)) {
+            bucketSuccesses.set(index, 0);
+            bucketFailures.set(index, 0);
+        }
+        counters.incrementAndGet(index);
+    }
+
+    private boolean isFailureRateExceeded(long now) {
+        long currentEpoch = now / bucketMillis;
+        long successes = 0;
+        long failures = 0;
+        for (int i = 0; i < bucketCount; i++) {
+            if (currentEpoch - bucketEpochs.get(i) < bucketCount) {
+                successes += bucketSuccesses.get(i);
+                failures += bucketFailures.get(i);
+            }
+        }
+        long total = successes + failures;
+        return total >= minimumRequests && failures * 100 >= total * failureRateThreshold;
+    }
+
+    private void resetWindow() {
+        for (int i = 0; i < bucketCount; i++) {
+            bucketSuccesses.set(i, 0);
+            bucketFailures.set(i, 0);
+        }
+    }
+}
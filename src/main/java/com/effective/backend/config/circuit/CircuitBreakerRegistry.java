@@ -0,0 +1,52 @@
+package com.effective.backend.config.circuit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public class CircuitBreakerRegistry {
+
+    private final CircuitBreakerSettings settings;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    public CircuitBreakerRegistry(CircuitBreakerSettings settings, MeterRegistry meterRegistry) {
+        this.settings = settings;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * A registry with the same settings whose breakers report to the given meter registry.
+     */
+    public CircuitBreakerRegistry withMeterRegistry(MeterRegistry meterRegistry) {
+        return new CircuitBreakerRegistry(settings, meterRegistry);
+    }
+
+    public CircuitBreaker circuitBreaker(String name) {
+        CircuitBreaker circuitBreaker = circuitBreakers.get(name);
+        if (circuitBreaker == null) {
+            circuitBreaker = circuitBreakers.computeIfAbsent(name, this::create);
+        }
+        return circuitBreaker;
+    }
+
+    public Collection<CircuitBreaker> getCircuitBreakers() {
+        return circuitBreakers.values();
+    }
+
+    private CircuitBreaker create(String name) {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(name, settings);
+        Gauge.builder("cache.chained.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .tag("circuit", name)
+                .description("0 = closed, 1 = open, 2 = half-open")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.chained.circuit.rejected", circuitBreaker, CircuitBreaker::getRejectedCalls)
+                .tag("circuit", name)
+                .register(meterRegistry);
+        return circuitBreaker;
+    }
+}
@@ -0,0 +1,31 @@
+package com.effective.backend.config.circuit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "spring.cache.circuit-breaker")
+public class CircuitBreakerSettings {
+
+    private int failureRateThreshold = 50;
+
+    private int minimumRequests = 20;
+
+    private Duration window = Duration.ofSeconds(10);
+
+    private int windowBuckets = 10;
+
+    private Duration waitInOpenState = Duration.ofSeconds(5);
+
+    private int maxConcurrentCalls = 64;
+
+    /**
+     * Trial calls let through while half-open; the first success closes the circuit, any failure
+     * opens it again.
+     */
+    private int halfOpenPermits = 1;
+}
@@ -0,0 +1,198 @@
+package com.effective.backend.config.circuit;
+
+import com.effective.backend.config.cache.AsyncCache;
+import com.effective.backend.config.cache.BatchCache;
+import com.effective.backend.config.cache.ChainedCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.Cache.ValueWrapper;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Global-tier operations guarded by one circuit breaker per operation. Fallbacks keep the local
+ * tier consistent on their own and report a miss for reads.
+ */
+@Slf4j
+public class GlobalCacheCommands {
+
+    private final Cache localCache;
+    private final Cache globalCache;
+    private final ChainedCacheMetrics metrics;
+    private final long asyncTimeoutMillis;
+    private final CircuitBreaker getCircuit;
+    private final CircuitBreaker getAllCircuit;
+    private final CircuitBreaker putCircuit;
+    private final CircuitBreaker putAllCircuit;
+    private final CircuitBreaker putIfAbsentCircuit;
+    private final CircuitBreaker evictCircuit;
+    private final CircuitBreaker clearCircuit;
+    private final CircuitBreaker getNameCircuit;
+
+    public GlobalCacheCommands(Cache localCache, Cache globalCache, CircuitBreakerRegistry circuitBreakers,
+                               ChainedCacheMetrics metrics, Duration asyncTimeout) {
+        this.localCache = localCache;
+        this.globalCache = globalCache;
+        this.metrics = metrics;
+        this.asyncTimeoutMillis = asyncTimeout.toMillis();
+        this.getCircuit = circuitBreakers.circuitBreaker("get");
+        this.getAllCircuit = circuitBreakers.circuitBreaker("getAll");
+        this.putCircuit = circuitBreakers.circuitBreaker("put");
+        this.putAllCircuit = circuitBreakers.circuitBreaker("putAll");
+        this.putIfAbsentCircuit = circuitBreakers.circuitBreaker("putIfAbsent");
+        this.evictCircuit = circuitBreakers.circuitBreaker("evict");
+        this.clearCircuit = circuitBreakers.circuitBreaker("clear");
+        this.getNameCircuit = circuitBreakers.circuitBreaker("getName");
+    }
+
+    public ValueWrapper get(Object key) {
+        return get(key, () -> null);
+    }
+
+    public ValueWrapper get(Object key, Supplier<ValueWrapper> fallbackValue) {
+        long start = System.nanoTime();
+        ValueWrapper valueWrapper = getCircuit.execute(() -> globalCache.get(key), () -> {
+            fallback("get", getCircuit);
+            return fallbackValue.get();
+        });
+        metrics.recordGlobal("get", start);
+        return valueWrapper;
+    }
+
+    public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+        long start = System.nanoTime();
+        Map<Object, ValueWrapper> values = getAllCircuit.execute(() -> BatchCache.getAll(globalCache, keys), () -> {
+            fallback("getAll", getAllCircuit);
+            return new HashMap<>();
+        });
+        metrics.recordGlobal("getAll", start);
+        return values;
+    }
+
+    public void put(Object key, Object value) {
+        long start = System.nanoTime();
+        putCircuit.run(() -> {
+            localCache.put(key, value);
+            globalCache.put(key, value);
+        }, () -> {
+            fallback("put", putCircuit);
+            localCache.put(key, value);
+        });
+        metrics.recordGlobal("put", start);
+    }
+
+    public void putAll(Map<?, ?> entries) {
+        long start = System.nanoTime();
+        putAllCircuit.run(() -> {
+            entries.forEach(localCache::put);
+            BatchCache.putAll(globalCache, entries);
+        }, () -> {
+            fallback("putAll", putAllCircuit);
+            entries.forEach(localCache::put);
+        });
+        metrics.recordGlobal("putAll", start);
+    }
+
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        long start = System.nanoTime();
+        ValueWrapper existing = putIfAbsentCircuit.execute(() -> {
+            ValueWrapper winner = globalCache.putIfAbsent(key, value);
+            localCache.put(key, winner == null ? value : winner.get());
+            return winner;
+        }, () -> {
+            fallback("putIfAbsent", putIfAbsentCircuit);
+            return localCache.putIfAbsent(key, value);
+        });
+        metrics.recordGlobal("putIfAbsent", start);
+        return existing;
+    }
+
+    public void evict(Object key) {
+        long start = System.nanoTime();
+        evictCircuit.run(() -> {
+            localCache.evict(key);
+            globalCache.evict(key);
+        }, () -> {
+            fallback("evict", evictCircuit);
+            localCache.evict(key);
+        });
+        metrics.recordGlobal("evict", start);
+    }
+
+    public void clear() {
+        long start = System.nanoTime();
+        clearCircuit.run(() -> {
+            globalCache.clear();
+            localCache.clear();
+        }, () -> {
+            fallback("clear", clearCircuit);
+            localCache.clear();
+        });
+        metrics.recordGlobal("clear", start);
+    }
+
+    public CompletableFuture<ValueWrapper> getAsync(Object key, Supplier<ValueWrapper> fallbackValue) {
+        long start = System.nanoTime();
+        return timed("get", start, getCircuit.executeAsync(() -> withTimeout(AsyncCache.getAsync(globalCache, key)),
+                () -> {
+                    fallback("get", getCircuit);
+                    return fallbackValue.get();
+                }));
+    }
+
+    public CompletableFuture<Map<Object, ValueWrapper>> getAllAsync(Collection<?> keys) {
+        long start = System.nanoTime();
+        return timed("getAll", start, getAllCircuit.executeAsync(
+                () -> withTimeout(AsyncCache.getAllAsync(globalCache, keys)), () -> {
+                    fallback("getAll", getAllCircuit);
+                    return new HashMap<>();
+                }));
+    }
+
+    public CompletableFuture<Void> putAsync(Object key, Object value) {
+        long start = System.nanoTime();
+        localCache.put(key, value);
+        return timed("put", start, putCircuit.executeAsync(
+                () -> withTimeout(AsyncCache.putAsync(globalCache, key, value)), () -> {
+                    fallback("put", putCircuit);
+                    return null;
+                }));
+    }
+
+    public CompletableFuture<Void> evictAsync(Object key) {
+        long start = System.nanoTime();
+        localCache.evict(key);
+        return timed("evict", start, evictCircuit.executeAsync(
+                () -> withTimeout(AsyncCache.evictAsync(globalCache, key)), () -> {
+                    fallback("evict", evictCircuit);
+                    return null;
+                }));
+    }
+
+    public String getName() {
+        return getNameCircuit.execute(globalCache::getName, () -> {
+            fallback("getName", getNameCircuit);
+            return null;
+        });
+    }
+
+    private <T> CompletableFuture<T> withTimeout(CompletableFuture<T> future) {
+        return asyncTimeoutMillis > 0 ? future.orTimeout(asyncTimeoutMillis, TimeUnit.MILLISECONDS) : future;
+    }
+
+    private <T> CompletableFuture<T> timed(String operation, long start, CompletableFuture<T> future) {
+        future.whenComplete((result, error) -> metrics.recordGlobal(operation, start));
+        return future;
+    }
+
+    private void fallback(String operation, CircuitBreaker circuitBreaker) {
+        metrics.recordFallback(operation);
+        log.warn("{} fallback called, circuit is {}", operation, circuitBreaker.isOpen());
+    }
+}
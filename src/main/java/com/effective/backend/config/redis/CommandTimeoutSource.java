@@ -0,0 +1,47 @@
+package com.effective.backend.config.redis;
+
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.protocol.CommandType;
+import io.lettuce.core.protocol.ProtocolKeyword;
+import io.lettuce.core.protocol.RedisCommand;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Applies separate Lettuce timeouts to single-key reads, writes and everything else
+ * (bulk, scripting and keyspace commands).
+ */
+public class CommandTimeoutSource extends TimeoutOptions.TimeoutSource {
+
+    private static final Set<CommandType> READS = EnumSet.of(CommandType.GET, CommandType.MGET,
+            CommandType.EXISTS, CommandType.TTL, CommandType.PTTL);
+    private static final Set<CommandType> WRITES = EnumSet.of(CommandType.SET, CommandType.SETNX,
+            CommandType.SETEX, CommandType.PSETEX, CommandType.DEL, CommandType.UNLINK, CommandType.EXPIRE,
+            CommandType.PEXPIRE, CommandType.INCR, CommandType.PUBLISH);
+
+    private final long readTimeoutMillis;
+    private final long writeTimeoutMillis;
+    private final long defaultTimeoutMillis;
+
+    public CommandTimeoutSource(Duration readTimeout, Duration writeTimeout, Duration defaultTimeout) {
+        this.readTimeoutMillis = readTimeout.toMillis();
+        this.writeTimeoutMillis = writeTimeout.toMillis();
+        this.defaultTimeoutMillis = defaultTimeout.toMillis();
+    }
+
+    @Override
+    public long getTimeout(RedisCommand<?, ?, ?> command) {
+        ProtocolKeyword type = command.getType();
+        if (type instanceof CommandType) {
+            if (READS.contains(type)) {
+                return readTimeoutMillis;
+            }
+            if (WRITES.contains(type)) {
+                return writeTimeoutMillis;
+            }
+        }
+        return defaultTimeoutMillis;
+    }
+}
@@ -0,0 +1,96 @@
+package com.effective.backend.config.redis;
+
+import io.lettuce.core.AbstractRedisClient;
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.cluster.RedisClusterClient;
+import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.masterreplica.MasterReplica;
+import io.lettuce.core.masterreplica.StatefulRedisMasterReplicaConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Lazily opened binary connection on the client of a {@link LettuceConnectionFactory}, exposing
+ * Lettuce's async commands for callers that must not block. Shares the factory's client
+ * resources and timeout options.
+ */
+public class LettuceAsyncCommands implements Supplier<RedisClusterAsyncCommands<byte[], byte[]>>, AutoCloseable {
+
+    private final LettuceConnectionFactory connectionFactory;
+    private final List<RedisURI> masterReplicaNodes;
+    private final ReadFrom readFrom;
+    private StatefulConnection<byte[], byte[]> connection;
+    private volatile RedisClusterAsyncCommands<byte[], byte[]> commands;
+
+    public LettuceAsyncCommands(LettuceConnectionFactory connectionFactory) {
+        this(connectionFactory, List.of(), null);
+    }
+
+    /**
+     * @param masterReplicaNodes static primary/replica nodes, empty for standalone and cluster
+     * @param readFrom           read routing for cluster and primary/replica connections, may be null
+     */
+    public LettuceAsyncCommands(LettuceConnectionFactory connectionFactory, List<RedisURI> masterReplicaNodes,
+                                ReadFrom readFrom) {
+        this.connectionFactory = connectionFactory;
+        this.masterReplicaNodes = masterReplicaNodes;
+        this.readFrom = readFrom;
+    }
+
+    @Override
+    public RedisClusterAsyncCommands<byte[], byte[]> get() {
+        RedisClusterAsyncCommands<byte[], byte[]> current = commands;
+        if (current == null) {
+            synchronized (this) {
+                if (commands == null) {
+                    connect();
+                }
+                current = commands;
+            }
+        }
+        return current;
+    }
+
+    private void connect() {
+        AbstractRedisClient client = connectionFactory.getRequiredNativeClient();
+        if (client instanceof RedisClusterClient) {
+            StatefulRedisClusterConnection<byte[], byte[]> clusterConnection =
+                    ((RedisClusterClient) client).connect(ByteArrayCodec.INSTANCE);
+            if (readFrom != null) {
+                clusterConnection.setReadFrom(readFrom);
+            }
+            connection = clusterConnection;
+            commands = clusterConnection.async();
+        } else if (!masterReplicaNodes.isEmpty()) {
+            StatefulRedisMasterReplicaConnection<byte[], byte[]> masterReplicaConnection =
+                    MasterReplica.connect((RedisClient) client, ByteArrayCodec.INSTANCE, masterReplicaNodes);
+            if (readFrom != null) {
+                masterReplicaConnection.setReadFrom(readFrom);
+            }
+            connection = masterReplicaConnection;
+            commands = masterReplicaConnection.async();
+        } else {
+            StatefulRedisConnection<byte[], byte[]> standaloneConnection =
+                    ((RedisClient) client).connect(ByteArrayCodec.INSTANCE);
+            connection = standaloneConnection;
+            commands = standaloneConnection.async();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (connection != null) {
+            connection.close();
+            connection = null;
+            commands = null;
+        }
+    }
+}
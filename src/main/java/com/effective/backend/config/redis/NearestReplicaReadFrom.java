@@ -0,0 +1,27 @@
+package com.effective.backend.config.redis;
+
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.models.role.RedisNodeDescription;
+
+import java.util.List;
+
+/**
+ * Reads from replicas, nearest first, and from the primary only when no replica is known. Lettuce
+ * hands order-sensitive read policies the nodes sorted by measured latency, so filtering while
+ * keeping that order is enough.
+ */
+public class NearestReplicaReadFrom extends ReadFrom {
+
+    public static final String NAME = "nearestReplica";
+
+    @Override
+    public List<RedisNodeDescription> select(Nodes nodes) {
+        List<RedisNodeDescription> replicas = ReadFrom.REPLICA.select(nodes);
+        return replicas.isEmpty() ? ReadFrom.UPSTREAM.select(nodes) : replicas;
+    }
+
+    @Override
+    protected boolean isOrderSensitive() {
+        return true;
+    }
+}
@@ -1,25 +1,142 @@
 package com.effective.backend.config.redis;
 
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.cluster.ClusterClientOptions;
+import io.lettuce.core.cluster.ClusterTopologyRefreshOptions;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
+import org.springframework.data.redis.connection.RedisConfiguration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisNode;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.RedisStaticMasterReplicaConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration.LettuceClientConfigurationBuilder;
+import org.springframework.data.redis.connection.lettuce.LettuceConnection.PipeliningFlushPolicy;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
 import org.springframework.data.redis.core.RedisTemplate;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
 @Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(RedisTopologyProperties.class)
 public class RedisConfig {
 
+    private final RedisTopologyProperties topology;
+
     @Value("${spring.redis.host}")
     private String host;
 
     @Value("${spring.redis.port}")
     private int port;
 
+    @Value("${spring.redis.timeouts.read}")
+    private Duration readTimeout;
+
+    @Value("${spring.redis.timeouts.write}")
+    private Duration writeTimeout;
+
+    @Value("${spring.redis.timeouts.default}")
+    private Duration defaultTimeout;
+
     @Bean
     public RedisConnectionFactory redisConnectionFactory() {
-        return new LettuceConnectionFactory(host, port);
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(redisConfiguration(),
+                clientConfiguration());
+        // pooled connections are only handed out when the shared native connection is disabled
+        connectionFactory.setShareNativeConnection(!topology.getPool().isEnabled());
+        if (topology.getPipelineFlushSize() > 0) {
+            connectionFactory.setPipeliningFlushPolicy(PipeliningFlushPolicy.buffered(topology.getPipelineFlushSize()));
+        }
+        return connectionFactory;
+    }
+
+    private RedisConfiguration redisConfiguration() {
+        switch (topology.getMode()) {
+            case CLUSTER:
+                RedisClusterConfiguration clusterConfiguration = new RedisClusterConfiguration(topology.getNodes());
+                clusterConfiguration.setMaxRedirects(topology.getMaxRedirects());
+                return clusterConfiguration;
+            case MASTER_REPLICA:
+                List<RedisNode> nodes = nodes();
+                RedisStaticMasterReplicaConfiguration masterReplicaConfiguration =
+                        new RedisStaticMasterReplicaConfiguration(nodes.get(0).getHost(), nodes.get(0).getPort());
+                nodes.stream().skip(1).forEach(node -> masterReplicaConfiguration.node(node.getHost(), node.getPort()));
+                return masterReplicaConfiguration;
+            default:
+                return new RedisStandaloneConfiguration(host, port);
+        }
+    }
+
+    private List<RedisNode> nodes() {
+        return topology.getNodes().stream()
+                .map(node -> {
+                    int separator = node.lastIndexOf(':');
+                    return new RedisNode(node.substring(0, separator), Integer.parseInt(node.substring(separator + 1)));
+                })
+                .collect(Collectors.toList());
+    }
+
+    private LettuceClientConfiguration clientConfiguration() {
+        LettuceClientConfigurationBuilder builder = topology.getPool().isEnabled()
+                ? LettucePoolingClientConfiguration.builder().poolConfig(poolConfig(topology.getPool()))
+                : LettuceClientConfiguration.builder();
+        builder.commandTimeout(defaultTimeout).clientOptions(clientOptions());
+        if (topology.getMode() != RedisTopologyProperties.Mode.STANDALONE) {
+            builder.readFrom(topology.resolveReadFrom());
+        }
+        return builder.build();
+    }
+
+    private ClientOptions clientOptions() {
+        TimeoutOptions timeoutOptions = TimeoutOptions.builder()
+                .timeoutSource(new CommandTimeoutSource(readTimeout, writeTimeout, defaultTimeout))
+                .build();
+        if (topology.getMode() != RedisTopologyProperties.Mode.CLUSTER) {
+            return ClientOptions.builder().timeoutOptions(timeoutOptions).build();
+        }
+        return ClusterClientOptions.builder()
+                .timeoutOptions(timeoutOptions)
+                .topologyRefreshOptions(ClusterTopologyRefreshOptions.builder()
+                        .enablePeriodicRefresh(topology.getTopologyRefreshPeriod())
+                        .enableAllAdaptiveRefreshTriggers()
+                        .build())
+                .build();
+    }
+
+    private static GenericObjectPoolConfig<?> poolConfig(RedisTopologyProperties.Pool pool) {
+        GenericObjectPoolConfig<?> poolConfig = new GenericObjectPoolConfig<>();
+        poolConfig.setMaxTotal(pool.getMaxActive());
+        poolConfig.setMaxIdle(pool.getMaxIdle());
+        poolConfig.setMinIdle(pool.getMinIdle());
+        poolConfig.setMaxWait(pool.getMaxWait());
+        return poolConfig;
+    }
+
+    @Bean(destroyMethod = "close")
+    public LettuceAsyncCommands lettuceAsyncCommands() {
+        LettuceConnectionFactory connectionFactory = (LettuceConnectionFactory) redisConnectionFactory();
+        switch (topology.getMode()) {
+            case CLUSTER:
+                return new LettuceAsyncCommands(connectionFactory, List.of(), topology.resolveReadFrom());
+            case MASTER_REPLICA:
+                return new LettuceAsyncCommands(connectionFactory, nodes().stream()
+                        .map(node -> RedisURI.create(node.getHost(), node.getPort()))
+                        .collect(Collectors.toList()), topology.resolveReadFrom());
+            default:
+                return new LettuceAsyncCommands(connectionFactory);
+        }
     }
 
     @Bean
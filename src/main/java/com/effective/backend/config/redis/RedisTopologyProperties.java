@@ -0,0 +1,66 @@
+package com.effective.backend.config.redis;
+
+import io.lettuce.core.ReadFrom;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * How the global tier reaches Redis. {@code STANDALONE} uses {@code spring.redis.host/port};
+ * the other modes use {@link #nodes} as {@code host:port} seeds.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "spring.redis.topology")
+public class RedisTopologyProperties {
+
+    public enum Mode {
+        STANDALONE, MASTER_REPLICA, CLUSTER
+    }
+
+    private Mode mode = Mode.STANDALONE;
+
+    private List<String> nodes = new ArrayList<>();
+
+    /**
+     * {@value NearestReplicaReadFrom#NAME} or any name understood by {@link ReadFrom#valueOf(String)}.
+     * Replicas lag behind the primary, so reading from them can refill the local tier with a value an
+     * invalidation has just replaced; only use them for caches that tolerate it.
+     */
+    private String readFrom = "upstream";
+
+    private int maxRedirects = 3;
+
+    private Duration topologyRefreshPeriod = Duration.ofSeconds(30);
+
+    /**
+     * Commands buffered before a pipeline is flushed; {@code 0} flushes after every command.
+     */
+    private int pipelineFlushSize = 0;
+
+    private Pool pool = new Pool();
+
+    public ReadFrom resolveReadFrom() {
+        return NearestReplicaReadFrom.NAME.equalsIgnoreCase(readFrom) ? new NearestReplicaReadFrom()
+                : ReadFrom.valueOf(readFrom);
+    }
+
+    @Getter
+    @Setter
+    public static class Pool {
+
+        private boolean enabled = false;
+
+        private int maxActive = 16;
+
+        private int maxIdle = 8;
+
+        private int minIdle = 0;
+
+        private Duration maxWait = Duration.ofMillis(100);
+    }
+}
@@ -0,0 +1,33 @@
+package com.effective.backend.config.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheProfilePropertiesTest {
+
+    @Test
+    @DisplayName("캐시별 설정이 없는 항목은 기본 설정을 따른다.")
+    void resolveWithDefaults() {
+        //given
+        CacheProfileProperties properties = new CacheProfileProperties();
+        properties.getDefaults().setRedisTtl(Duration.ofHours(1));
+        CacheProfile productProfile = new CacheProfile();
+        productProfile.setLocalHeapEntries(500);
+        properties.getCaches().put("productCache", productProfile);
+
+        //when
+        CacheProfile product = properties.resolve("productCache");
+        CacheProfile other = properties.resolve("otherCache");
+
+        //then
+        assertEquals(500, product.getLocalHeapEntries());
+        assertEquals(Duration.ofHours(1), product.getRedisTtl());
+        assertEquals(10_000, other.getLocalHeapEntries());
+        assertEquals("smile", other.getCodec());
+        assertFalse(properties.isConfigured("otherCache"));
+    }
+}
@@ -1,16 +1,39 @@
 package com.effective.backend.config.cache;
 
+import com.effective.backend.config.cache.invalidation.CacheInvalidationPublisher;
+import com.effective.backend.config.cache.scope.CacheScope;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import net.sf.ehcache.config.CacheConfiguration;
+import net.sf.ehcache.config.Configuration;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.BDDMockito;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.ehcache.EhCacheCache;
+import org.springframework.cache.support.SimpleValueWrapper;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.BDDMockito.*;
@@ -166,94 +189,629 @@ class ChainedCacheTest {
     }
 
     @Test
-    @DisplayName("로컬 캐시에 값이 없으면 동기화가 필요 없다.")
-    void cacheSynchronized1() {
+    @DisplayName("동시에 같은 key를 로딩하면 loader는 한 번만 실행된다.")
+    void singleFlightLoad() throws Exception {
         //given
         String key = "key";
         String value = "value";
-        given(localCache.get(eq(key))).willReturn(null);
+        int threads = 8;
+        AtomicInteger loadCount = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<ValueWrapper> stored = new AtomicReference<>();
+        given(localCache.get(eq(key))).willAnswer(invocation -> stored.get());
+        willAnswer(invocation -> {
+            stored.set(new SimpleValueWrapper(invocation.getArgument(1)));
+            return null;
+        }).given(localCache).put(eq(key), any());
+        given(globalCache.get(eq(key))).willReturn(null);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<String>> results = new ArrayList<>();
 
         //when
-        boolean result = cache.isSynchronized(key);
+        for (int i = 0; i < threads; i++) {
+            results.add(executor.submit(() -> cache.get(key, () -> {
+                loadCount.incrementAndGet();
+                loaderStarted.countDown();
+                release.await();
+                return value;
+            })));
+        }
+        loaderStarted.await(1, TimeUnit.SECONDS);
+        release.countDown();
 
         //then
-        assertTrue(result);
+        for (Future<String> result : results) {
+            assertEquals(value, result.get(1, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        assertEquals(1, loadCount.get());
+        verify(localCache, times(1)).put(eq(key), eq(value));
+        verify(globalCache, times(1)).put(eq(key), eq(value));
     }
 
     @Test
-    @DisplayName("로컬 캐시가 있고 글로벌 캐시가 없으면 동기화가 필요하다")
-    void cacheSynchronized3() {
+    @DisplayName("loader가 실패하면 ValueRetrievalException이 발생한다.")
+    void loaderFailure() {
         //given
         String key = "key";
-        String value = "value";
+        given(localCache.get(eq(key))).willReturn(null);
+        given(globalCache.get(eq(key))).willReturn(null);
+
+        //when, then
+        assertThrows(ValueRetrievalException.class, () -> cache.get(key, () -> {
+            throw new IllegalStateException();
+        }));
+    }
 
-        ValueWrapper localValue = mock(ValueWrapper.class);
-        ValueWrapper globalValue = mock(ValueWrapper.class);
-        given(localCache.get(eq(key))).willReturn(localValue);
-        given(localValue.get()).willReturn(value);
-        given(globalCache.get(eq(key))).willReturn(globalValue);
-        given(globalValue.get()).willReturn(null);
+    @Test
+    @DisplayName("put, evict, clear는 다른 노드에 로컬 캐시 무효화를 전파한다.")
+    void publishInvalidation() {
+        //given
+        CacheInvalidationPublisher publisher = mock(CacheInvalidationPublisher.class);
+        ChainedCache chainedCache = new ChainedCache("productCache", List.of(localCache, globalCache),
+                ChainedCacheContext.defaults().withInvalidationPublisher(publisher));
 
         //when
-        boolean result = cache.isSynchronized(key);
+        chainedCache.put("key1", "value1");
+        chainedCache.evict("key2");
+        chainedCache.clear();
 
         //then
-        assertFalse(result);
+        verify(publisher, times(1)).publishEvict(eq("productCache"), eq("key1"));
+        verify(publisher, times(1)).publishEvict(eq("productCache"), eq("key2"));
+        verify(publisher, times(1)).publishClear(eq("productCache"));
+        verify(globalCache, times(1)).evict(eq("key2"));
     }
 
     @Test
-    @DisplayName("로컬 캐시와 글로벌 캐시와 값이 같으면 동기화가 필요 없다.")
-    void cacheSynchronized5() {
+    @DisplayName("getAll은 local cache에 없는 key만 global cache에서 가져와 local cache에 저장한다.")
+    void getAll() {
         //given
-        String key = "key";
-        String value = "value";
-        ValueWrapper valueWrapper = mock(ValueWrapper.class);
-        given(localCache.get(eq(key))).willReturn(valueWrapper);
-        given(globalCache.get(eq(key))).willReturn(valueWrapper);
-        given(valueWrapper.get()).willReturn(value);
+        ValueWrapper localValue = new SimpleValueWrapper("value1");
+        ValueWrapper globalValue = new SimpleValueWrapper("value2");
+        given(localCache.get(eq("key1"))).willReturn(localValue);
+        given(localCache.get(eq("key2"))).willReturn(null);
+        given(localCache.get(eq("key3"))).willReturn(null);
+        given(globalCache.get(eq("key2"))).willReturn(globalValue);
+        given(globalCache.get(eq("key3"))).willReturn(null);
 
         //when
-        boolean result = cache.isSynchronized(key);
+        Map<Object, ValueWrapper> result = cache.getAll(List.of("key1", "key2", "key3"));
 
         //then
-        assertTrue(result);
+        assertEquals(2, result.size());
+        assertEquals(localValue, result.get("key1"));
+        assertEquals(globalValue, result.get("key2"));
+        verify(globalCache, never()).get(eq("key1"));
+        verify(localCache, times(1)).put(eq("key2"), eq("value2"));
     }
 
     @Test
-    @DisplayName("로컬 캐시와 글로벌 캐시의 값이 다르면 동기화가 필요하다.")
-    void cacheSynchronized6() {
+    @DisplayName("write-behind 모드에서는 global cache 쓰기가 key별로 병합되어 flush 시점에 반영된다.")
+    void writeBehind() {
         //given
-        String key = "key";
-        String value = "value";
-        ValueWrapper valueWrapper = mock(ValueWrapper.class);
-        given(localCache.get(eq(key))).willReturn(valueWrapper);
-        given(valueWrapper.get()).willReturn(value);
-        given(globalCache.get(eq(key))).willReturn(null);
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        ChainedCacheContext context = ChainedCacheContext.defaults();
+        WriteBehindQueue queue = new WriteBehindQueue(globalCache,
+                context.getCircuitBreakers().circuitBreaker("flush"), scheduler, 100, 10, 60_000,
+                WriteBehindQueue.BackpressurePolicy.DROP);
+        ChainedCache writeBehindCache = new ChainedCache("productCache", List.of(localCache, globalCache),
+                context.withWriteBehindQueueFactory(global -> queue));
 
         //when
-        boolean result = cache.isSynchronized(key);
+        writeBehindCache.put("key1", "value1");
+        writeBehindCache.put("key1", "value2");
 
         //then
-        assertFalse(result);
+        verify(localCache, times(1)).put(eq("key1"), eq("value2"));
+        verify(globalCache, never()).put(any(), any());
+        assertEquals(1, queue.getQueueDepth());
+
+        queue.flush();
+        scheduler.shutdownNow();
+        verify(globalCache, times(1)).put(eq("key1"), eq("value2"));
+        verify(globalCache, never()).put(eq("key1"), eq("value1"));
+        assertEquals(0, queue.getQueueDepth());
     }
 
     @Test
-    @DisplayName("글로벌 캐시에 장애가 발생하면 동기화가 필요없다.")
-    void cacheSynchronized7() {
+    @DisplayName("write-behind flush가 실패한 batch는 다시 queue에 들어가고, 그 사이 들어온 더 최신 쓰기가 우선한다.")
+    void requeueFailedFlush() {
         //given
-        String key = "key";
-        String value = "value";
-        ValueWrapper valueWrapper = mock(ValueWrapper.class);
-        given(localCache.get(eq(key))).willReturn(valueWrapper);
-        given(valueWrapper.get()).willReturn(value);
-        given(globalCache.get(eq(key))).willThrow(new RuntimeException());
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        WriteBehindQueue queue = new WriteBehindQueue(globalCache,
+                ChainedCacheContext.defaults().getCircuitBreakers().circuitBreaker("flush"), scheduler, 100, 10,
+                60_000, WriteBehindQueue.BackpressurePolicy.DROP);
+        queue.enqueue("key1", "value1");
+        queue.enqueue("key2", "value2");
+        willAnswer(invocation -> {
+            queue.enqueue("key1", "value3");
+            throw new IllegalStateException("redis down");
+        }).given(globalCache).put(eq("key1"), eq("value1"));
+
+        //when
+        queue.flush();
+
+        //then
+        assertEquals(2, queue.getQueueDepth());
+        assertEquals("value3", queue.getPending("key1"));
+        assertEquals(0, queue.getDroppedWrites());
+
+        //when
+        queue.flush();
+
+        //then
+        verify(globalCache, times(1)).put(eq("key1"), eq("value3"));
+        assertEquals(0, queue.getQueueDepth());
+    }
+
+    @Test
+    @DisplayName("write-behind 쓰기를 버려야 하면 local cache에서도 제거하고 다른 node에 evict를 전파한다.")
+    void evictDroppedWrites() {
+        //given
+        CacheInvalidationPublisher publisher = mock(CacheInvalidationPublisher.class);
+        ChainedCacheContext context = ChainedCacheContext.defaults().withInvalidationPublisher(publisher);
+        WriteBehindQueue queue = new WriteBehindQueue(globalCache,
+                context.getCircuitBreakers().circuitBreaker("flush"), mock(ScheduledExecutorService.class), 1, 10,
+                60_000, WriteBehindQueue.BackpressurePolicy.CALLER_RUNS);
+        ChainedCache writeBehindCache = new ChainedCache("productCache", List.of(localCache, globalCache),
+                context.withWriteBehindQueueFactory(global -> queue));
+        willThrow(new IllegalStateException("redis down")).given(globalCache).put(eq("key2"), any());
+
+        //when
+        writeBehindCache.put("key1", "value1");
+        writeBehindCache.put("key2", "value2");
+
+        //then
+        assertEquals(1, queue.getDroppedWrites());
+        verify(localCache, times(1)).evict(eq("key2"));
+        verify(publisher, times(1)).publishEvict(eq("productCache"), eq("key2"));
+        verify(localCache, never()).evict(eq("key1"));
+    }
+
+    @Test
+    @DisplayName("write-behind flush는 시작 시점에 쌓여 있던 만큼만 내보내고 lock을 놓는다.")
+    void boundedFlush() {
+        //given
+        WriteBehindQueue queue = new WriteBehindQueue(globalCache,
+                ChainedCacheContext.defaults().getCircuitBreakers().circuitBreaker("flush"),
+                mock(ScheduledExecutorService.class), 1000, 1, 60_000, WriteBehindQueue.BackpressurePolicy.DROP);
+        AtomicInteger produced = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            queue.enqueue("key" + i, "value");
+        }
+        willAnswer(invocation -> {
+            queue.enqueue("late" + produced.incrementAndGet(), "value");
+            return null;
+        }).given(globalCache).put(any(), any());
+
+        //when
+        queue.flush();
+
+        //then
+        verify(globalCache, times(3)).put(any(), any());
+        assertEquals(3, queue.getQueueDepth());
+    }
+
+    @Test
+    @DisplayName("tier별 hit/miss와 global fallback이 meter registry에 기록된다.")
+    void recordMetrics() {
+        //given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ChainedCacheContext context = ChainedCacheContext.defaults().withMeterRegistry(meterRegistry);
+        ChainedCache meteredCache = new ChainedCache("productCache", List.of(localCache, globalCache), context);
+        given(localCache.get(eq("key1"))).willReturn(new SimpleValueWrapper("value1"));
+        given(localCache.get(eq("key2"))).willReturn(null);
+        given(globalCache.get(eq("key2"))).willThrow(new IllegalStateException("redis down"));
+
+        //when
+        meteredCache.get("key1");
+        meteredCache.get("key2");
+
+        //then
+        assertEquals(1, meterRegistry.get("cache.chained.gets")
+                .tags("cache", "productCache", "tier", "local", "result", "hit").counter().count());
+        assertEquals(1, meterRegistry.get("cache.chained.gets")
+                .tags("cache", "productCache", "tier", "global", "result", "miss").counter().count());
+        assertEquals(1, meterRegistry.get("cache.chained.fallbacks")
+                .tags("cache", "productCache", "operation", "get").counter().count());
+        assertEquals(2, meterRegistry.get("cache.chained.latency")
+                .tags("tier", "local", "operation", "get").timer().count());
+    }
+
+    @Test
+    @DisplayName("자주 읽히는 local 항목이 만료에 가까워지면 기존 값을 반환하고 백그라운드에서 갱신한다.")
+    void refreshAhead() throws InterruptedException {
+        //given
+        net.sf.ehcache.CacheManager ehCacheManager = net.sf.ehcache.CacheManager.newInstance(
+                new Configuration().name("refreshAheadTest"));
+        ehCacheManager.addCache(new net.sf.ehcache.Cache(new CacheConfiguration("productCache", 100)
+                .timeToLiveSeconds(1)));
+        Cache ehCache = new EhCacheCache(ehCacheManager.getEhcache("productCache"));
+        CacheProfileProperties profiles = new CacheProfileProperties();
+        profiles.getDefaults().setRefreshAheadRatio(0.5);
+        profiles.getDefaults().setRefreshAheadMinHits(2L);
+        ChainedCache refreshingCache = new ChainedCache("productCache", List.of(ehCache, globalCache),
+                ChainedCacheContext.defaults().withCacheProfiles(profiles).withRefreshExecutor(Runnable::run));
+        given(globalCache.get(eq("key1"))).willReturn(new SimpleValueWrapper("value2"));
+        ehCache.put("key1", "value1");
+
+        //when
+        ValueWrapper early = refreshingCache.get("key1");
+        refreshingCache.get("key1");
+        Thread.sleep(600);
+        ValueWrapper nearExpiry = refreshingCache.get("key1");
+
+        //then
+        assertEquals("value1", early.get());
+        assertEquals("value1", nearExpiry.get());
+        assertEquals("value2", ehCache.get("key1").get());
+        verify(globalCache, times(1)).get(eq("key1"));
+        ehCacheManager.shutdown();
+    }
+
+    @Test
+    @DisplayName("refresh-ahead 중 global cache에 값이 없으면 호출자의 loader를 실행하지 않고 local 항목이 만료되게 둔다.")
+    void refreshAheadOnGlobalMiss() throws InterruptedException {
+        //given
+        net.sf.ehcache.CacheManager ehCacheManager = net.sf.ehcache.CacheManager.newInstance(
+                new Configuration().name("refreshAheadMissTest"));
+        ehCacheManager.addCache(new net.sf.ehcache.Cache(new CacheConfiguration("productCache", 100)
+                .timeToLiveSeconds(1)));
+        Cache ehCache = new EhCacheCache(ehCacheManager.getEhcache("productCache"));
+        CacheProfileProperties profiles = new CacheProfileProperties();
+        profiles.getDefaults().setRefreshAheadRatio(0.5);
+        profiles.getDefaults().setRefreshAheadMinHits(2L);
+        ChainedCache refreshingCache = new ChainedCache("productCache", List.of(ehCache, globalCache),
+                ChainedCacheContext.defaults().withCacheProfiles(profiles).withRefreshExecutor(Runnable::run));
+        AtomicInteger loads = new AtomicInteger();
+        ehCache.put("key1", "value1");
+
+        //when
+        refreshingCache.get("key1", () -> "loaded" + loads.incrementAndGet());
+        refreshingCache.get("key1", () -> "loaded" + loads.incrementAndGet());
+        Thread.sleep(600);
+        String nearExpiry = refreshingCache.get("key1", () -> "loaded" + loads.incrementAndGet());
+
+        //then
+        assertEquals("value1", nearExpiry);
+        assertEquals(0, loads.get());
+        assertEquals("value1", ehCache.get("key1").get());
+        verify(globalCache, times(1)).get(eq("key1"));
+        verify(globalCache, never()).put(any(), any());
+        ehCacheManager.shutdown();
+    }
+
+    @Test
+    @DisplayName("global cache를 사용할 수 없으면 만료된 local 항목을 최대 staleness 동안 stale로 표시해 반환한다.")
+    void serveStaleOnFallback() throws InterruptedException {
+        //given
+        net.sf.ehcache.CacheManager ehCacheManager = net.sf.ehcache.CacheManager.newInstance(
+                new Configuration().name("staleTest"));
+        ehCacheManager.addCache(new net.sf.ehcache.Cache(new CacheConfiguration("productCache", 100)
+                .timeToLiveSeconds(1)));
+        Cache ehCache = new EhCacheCache(ehCacheManager.getEhcache("productCache"));
+        CacheProfileProperties profiles = new CacheProfileProperties();
+        profiles.getDefaults().setMaxStaleness(Duration.ofMinutes(1));
+        ChainedCache staleCache = new ChainedCache("productCache", List.of(ehCache, globalCache),
+                ChainedCacheContext.defaults().withCacheProfiles(profiles));
+        given(globalCache.get(any())).willThrow(new IllegalStateException("redis down"));
+        ehCache.put("key1", "value1");
+        ehCache.put("key2", "value2");
+        ehCache.evict("key2");
+
+        //when
+        Thread.sleep(1100);
+        ValueWrapper expired = staleCache.get("key1");
+        ValueWrapper evicted = staleCache.get("key2");
+
+        //then
+        assertTrue(StaleValueWrapper.isStale(expired));
+        assertEquals("value1", expired.get());
+        assertNull(evicted);
+        assertNull(ehCache.get("key1"));
+        ehCacheManager.shutdown();
+    }
+
+    @Test
+    @DisplayName("putIfAbsent는 global cache의 승자 값을 반환하고 local cache에도 그 값을 저장한다.")
+    void putIfAbsentKeepsWinner() {
+        //given
+        CacheInvalidationPublisher publisher = mock(CacheInvalidationPublisher.class);
+        ChainedCache chainedCache = new ChainedCache("idempotencyCache", List.of(localCache, globalCache),
+                ChainedCacheContext.defaults().withInvalidationPublisher(publisher));
+        given(globalCache.putIfAbsent(eq("request1"), any())).willReturn(new SimpleValueWrapper("first"));
+        given(globalCache.putIfAbsent(eq("request2"), any())).willReturn(null);
+
+        //when
+        ValueWrapper lost = chainedCache.putIfAbsent("request1", "second");
+        ValueWrapper won = chainedCache.putIfAbsent("request2", "second");
+
+        //then
+        assertEquals("first", lost.get());
+        assertNull(won);
+        verify(localCache, times(1)).put(eq("request1"), eq("first"));
+        verify(localCache, times(1)).put(eq("request2"), eq("second"));
+        verify(publisher, never()).publishEvict(eq("idempotencyCache"), eq("request1"));
+        verify(publisher, times(1)).publishEvict(eq("idempotencyCache"), eq("request2"));
+    }
+
+    @Test
+    @DisplayName("다른 노드의 clear를 받으면 global generation을 먼저 갱신한 뒤 local cache를 비운다.")
+    void remoteClearRefreshesGeneration() {
+        //given
+        Cache generationalCache = mock(Cache.class, withSettings().extraInterfaces(GenerationalCache.class));
+        ChainedCache chainedCache = new ChainedCache("productCache", List.of(localCache, generationalCache),
+                ChainedCacheContext.defaults());
+
+        //when
+        chainedCache.onRemoteClear();
+
+        //then
+        InOrder inOrder = inOrder(generationalCache, localCache);
+        inOrder.verify((GenerationalCache) generationalCache).refreshGeneration();
+        inOrder.verify(localCache).clear();
+        verify(generationalCache, never()).clear();
+    }
+
+    @Test
+    @DisplayName("getAsync는 local cache를 먼저 보고, global cache 실패 시 fallback으로 miss를 반환한다.")
+    void getAsync() {
+        //given
+        given(localCache.get(eq("key1"))).willReturn(new SimpleValueWrapper("value1"));
+        given(localCache.get(eq("key2"))).willReturn(null);
+        given(globalCache.get(eq("key2"))).willThrow(new IllegalStateException("redis down"));
+
+        //when
+        CompletableFuture<ValueWrapper> local = cache.getAsync("key1");
+        CompletableFuture<ValueWrapper> fallback = cache.getAsync("key2");
+
+        //then
+        assertEquals("value1", local.join().get());
+        assertNull(fallback.join());
+        verify(globalCache, never()).get(eq("key1"));
+    }
+
+    @Test
+    @DisplayName("getAsync 결과를 취소하면 진행 중인 global cache 요청도 취소된다.")
+    void cancelAsync() {
+        //given
+        CompletableFuture<ValueWrapper> inFlight = new CompletableFuture<>();
+        Cache asyncGlobalCache = mock(Cache.class, withSettings().extraInterfaces(AsyncCache.class));
+        given(((AsyncCache) asyncGlobalCache).getAsync(eq("key1"))).willReturn(inFlight);
+        given(localCache.get(eq("key1"))).willReturn(null);
+        ChainedCache asyncCache = new ChainedCache("productCache", List.of(localCache, asyncGlobalCache),
+                ChainedCacheContext.defaults());
+
+        //when
+        CompletableFuture<ValueWrapper> result = asyncCache.getAsync("key1");
+        result.cancel(true);
+
+        //then
+        assertTrue(inFlight.isCancelled());
+        verify(localCache, never()).put(any(), any());
+    }
+
+    @Test
+    @DisplayName("자주 읽히는 key는 local tier 앞에 고정되고, evict하면 고정이 해제된다.")
+    void pinHotKeys() {
+        //given
+        Cache localTier = new ConcurrentMapCache("productCache");
+        CacheProfileProperties profiles = new CacheProfileProperties();
+        profiles.getDefaults().setHotKeyThreshold(3L);
+        ChainedCache hotKeyCache = new ChainedCache("productCache", List.of(localTier, globalCache),
+                ChainedCacheContext.defaults().withCacheProfiles(profiles)
+                        .withMaintenanceScheduler(mock(ScheduledExecutorService.class)));
+        localTier.put("key1", "value1");
+        localTier.put("key2", "value2");
+        for (int i = 0; i < 3; i++) {
+            hotKeyCache.get("key1");
+        }
+        hotKeyCache.get("key2");
+        localTier.clear();
+
+        //when
+        ValueWrapper pinned = hotKeyCache.get("key1");
+        hotKeyCache.evict("key1");
+        ValueWrapper evicted = hotKeyCache.get("key1");
+
+        //then
+        assertEquals("value1", pinned.get());
+        assertNull(evicted);
+        assertNull(hotKeyCache.get("key2"));
+        assertEquals("key1", hotKeyCache.getHotKeyPins().getHotKeys().get(0).getKey());
+    }
+
+    @Test
+    @DisplayName("loader가 null을 반환하면 짧은 TTL의 negative entry를 남겨 다시 로딩하지 않는다.")
+    void negativeCaching() throws Exception {
+        //given
+        CacheProfileProperties profiles = new CacheProfileProperties();
+        profiles.getDefaults().setNegativeTtl(Duration.ofMinutes(1));
+        ChainedCache negativeCache = new ChainedCache("productCache",
+                List.of(new ConcurrentMapCache("productCache"), globalCache),
+                ChainedCacheContext.defaults().withCacheProfiles(profiles));
+        AtomicInteger loads = new AtomicInteger();
+
+        //when
+        Object first = negativeCache.get("missing", () -> {
+            loads.incrementAndGet();
+            return null;
+        });
+        ValueWrapper absent = negativeCache.get("missing");
+        negativeCache.put("missing", "created");
+        ValueWrapper created = negativeCache.get("missing");
+
+        //then
+        assertNull(first);
+        assertNotNull(absent);
+        assertNull(absent.get());
+        assertEquals(1, loads.get());
+        verify(globalCache, times(1)).get(eq("missing"));
+        verify(globalCache, never()).put(eq("missing"), isNull());
+        assertEquals("created", created.get());
+    }
+
+    @Test
+    @DisplayName("known key Bloom filter가 준비되면 global cache에 없는 key는 global 조회를 건너뛴다.")
+    void skipUnknownKeys() throws InterruptedException {
+        //given
+        Cache scanningGlobalCache = mock(Cache.class, withSettings().extraInterfaces(KeyScanningCache.class));
+        willAnswer(invocation -> {
+            invocation.<Consumer<String>>getArgument(0).accept("key1");
+            return null;
+        }).given((KeyScanningCache) scanningGlobalCache).scanKeys(any());
+        given(scanningGlobalCache.get(eq("key1"))).willReturn(new SimpleValueWrapper("value1"));
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        willAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).given(scheduler).execute(any());
+        CacheProfileProperties profiles = new CacheProfileProperties();
+        profiles.getDefaults().setBloomExpectedKeys(1000L);
+        ChainedCache bloomCache = new ChainedCache("productCache",
+                List.of(new ConcurrentMapCache("productCache"), scanningGlobalCache),
+                ChainedCacheContext.defaults().withCacheProfiles(profiles).withMaintenanceScheduler(scheduler));
+
+        //when
+        ValueWrapper known = bloomCache.get("key1");
+        ValueWrapper unknown = bloomCache.get("bot-generated-id");
+
+        //then
+        assertEquals("value1", known.get());
+        assertNull(unknown);
+        verify(scanningGlobalCache, never()).get(eq("bot-generated-id"));
+    }
+
+    @Test
+    @DisplayName("known key Bloom filter는 주기적으로 다시 만들어, 알림을 놓친 key도 global에서 찾는다.")
+    void rebuildKnownKeysPeriodically() {
+        //given
+        Cache scanningGlobalCache = mock(Cache.class, withSettings().extraInterfaces(KeyScanningCache.class));
+        List<String> storedKeys = new ArrayList<>(List.of("key1"));
+        willAnswer(invocation -> {
+            storedKeys.forEach(invocation.<Consumer<String>>getArgument(0));
+            return null;
+        }).given((KeyScanningCache) scanningGlobalCache).scanKeys(any());
+        given(scanningGlobalCache.get(eq("key2"))).willReturn(new SimpleValueWrapper("value2"));
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        willAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).given(scheduler).execute(any());
+        CacheProfileProperties profiles = new CacheProfileProperties();
+        profiles.getDefaults().setBloomExpectedKeys(1000L);
+        profiles.getDefaults().setBloomRebuildInterval(Duration.ofMinutes(5));
+        ChainedCache bloomCache = new ChainedCache("productCache",
+                List.of(new ConcurrentMapCache("productCache"), scanningGlobalCache),
+                ChainedCacheContext.defaults().withCacheProfiles(profiles).withMaintenanceScheduler(scheduler));
+        ArgumentCaptor<Runnable> rebuild = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).scheduleWithFixedDelay(rebuild.capture(), eq(Duration.ofMinutes(5).toMillis()),
+                eq(Duration.ofMinutes(5).toMillis()), eq(TimeUnit.MILLISECONDS));
+        storedKeys.add("key2");
+
+        //when
+        ValueWrapper beforeRebuild = bloomCache.get("key2");
+        rebuild.getValue().run();
+        ValueWrapper afterRebuild = bloomCache.get("key2");
+
+        //then
+        assertNull(beforeRebuild);
+        assertEquals("value2", afterRebuild.get());
+    }
+
+    @Test
+    @DisplayName("없는 값으로 cache된 key는 Bloom filter에 추가되지 않고 global 삭제나 전파도 하지 않는다.")
+    void keepAbsentKeysUnknown() throws InterruptedException {
+        //given
+        Cache scanningGlobalCache = mock(Cache.class, withSettings().extraInterfaces(KeyScanningCache.class));
+        willAnswer(invocation -> {
+            invocation.<Consumer<String>>getArgument(0).accept("key1");
+            return null;
+        }).given((KeyScanningCache) scanningGlobalCache).scanKeys(any());
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        willAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).given(scheduler).execute(any());
+        CacheInvalidationPublisher publisher = mock(CacheInvalidationPublisher.class);
+        CacheProfileProperties profiles = new CacheProfileProperties();
+        profiles.getDefaults().setBloomExpectedKeys(1000L);
+        profiles.getDefaults().setNegativeTtl(Duration.ofMillis(20));
+        ChainedCache bloomCache = new ChainedCache("productCache",
+                List.of(new ConcurrentMapCache("productCache"), scanningGlobalCache),
+                ChainedCacheContext.defaults().withCacheProfiles(profiles).withMaintenanceScheduler(scheduler)
+                        .withInvalidationPublisher(publisher));
+        bloomCache.get("key1");
 
         //when
-        boolean result = cache.isSynchronized(key);
+        Object loaded = bloomCache.get("bot-generated-id", () -> null);
+        ValueWrapper absent = bloomCache.get("bot-generated-id");
+        Thread.sleep(50);
+        ValueWrapper expired = bloomCache.get("bot-generated-id");
 
         //then
-        assertTrue(result);
+        assertNull(loaded);
+        assertNotNull(absent);
+        assertNull(absent.get());
+        assertNull(expired);
+        verify(scanningGlobalCache, never()).get(eq("bot-generated-id"));
+        verify(scanningGlobalCache, never()).evict(eq("bot-generated-id"));
+        verify(publisher, never()).publishEvict(any(), eq("bot-generated-id"));
+        verify(publisher, never()).publishAbsent(any(), eq("bot-generated-id"));
     }
 
+    @Test
+    @DisplayName("global에 값이 있을 수 있는 key를 없는 값으로 cache하면 삭제하고 absent로 전파한다.")
+    void publishAbsentKeys() {
+        //given
+        CacheInvalidationPublisher publisher = mock(CacheInvalidationPublisher.class);
+        CacheProfileProperties profiles = new CacheProfileProperties();
+        profiles.getDefaults().setNegativeTtl(Duration.ofMinutes(1));
+        ChainedCache negativeCache = new ChainedCache("productCache",
+                List.of(new ConcurrentMapCache("productCache"), globalCache),
+                ChainedCacheContext.defaults().withCacheProfiles(profiles).withInvalidationPublisher(publisher));
+
+        //when
+        negativeCache.put("deleted", null);
+        negativeCache.onRemoteAbsent("remote");
+        ValueWrapper remote = negativeCache.get("remote");
+
+        //then
+        verify(globalCache).evict(eq("deleted"));
+        verify(publisher).publishAbsent(eq("productCache"), eq("deleted"));
+        verify(publisher, never()).publishEvict(any(), any());
+        assertNotNull(remote);
+        assertNull(remote.get());
+        verify(globalCache, never()).get(eq("remote"));
+    }
+
+    @Test
+    @DisplayName("cache scope 안에서는 같은 key를 다시 조회하지 않고, 쓰기 이후에는 다시 조회한다.")
+    void memoizeWithinScope() {
+        //given
+        given(localCache.get(eq("key1"))).willReturn(new SimpleValueWrapper("value1"));
+
+        //when
+        ValueWrapper first;
+        ValueWrapper second;
+        ValueWrapper afterPut;
+        try (CacheScope scope = CacheScope.open()) {
+            first = cache.get("key1");
+            second = cache.get("key1");
+            cache.put("key1", "value2");
+            afterPut = cache.get("key1");
+        }
+        cache.get("key1");
+
+        //then
+        assertEquals("value1", first.get());
+        assertSame(first, second);
+        assertNotNull(afterPut);
+        verify(localCache, times(3)).get(eq("key1"));
+        assertNull(CacheScope.current());
+    }
 
-}
\ No newline at end of file
+}
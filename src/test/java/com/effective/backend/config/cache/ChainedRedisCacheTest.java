@@ -0,0 +1,264 @@
+package com.effective.backend.config.cache;
+
+import com.effective.backend.config.redis.FaultyRedisServer;
+import com.effective.backend.config.redis.LettuceAsyncCommands;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache.ValueWrapper;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs {@link ChainedRedisCache} against {@link FaultyRedisServer} over real Lettuce connections.
+ */
+class ChainedRedisCacheTest {
+
+    private static final Duration GENERATION_REFRESH_INTERVAL = Duration.ofMillis(50);
+
+    private FaultyRedisServer redis;
+    private LettuceConnectionFactory connectionFactory;
+    private LettuceAsyncCommands asyncCommands;
+    private ChainedRedisCache cache;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        redis = FaultyRedisServer.start().script(ChainedRedisCache.PUT_IF_ABSENT.getScriptAsString(),
+                (keys, args, calls) -> {
+                    long ttlMillis = Long.parseLong(new String(args.get(1), StandardCharsets.US_ASCII));
+                    return calls.set(keys.get(0), args.get(0), true, Math.max(ttlMillis, 0)) ? null
+                            : calls.get(keys.get(0));
+                });
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("127.0.0.1", redis.getPort()));
+        connectionFactory.afterPropertiesSet();
+        asyncCommands = new LettuceAsyncCommands(connectionFactory);
+        cache = createCache(RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofMinutes(10)));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        asyncCommands.close();
+        connectionFactory.destroy();
+        redis.close();
+    }
+
+    @Test
+    @DisplayName("generation 갱신 주기가 지나도 key 생성은 Redis를 기다리지 않고, 갱신은 한 번만 백그라운드에서 한다.")
+    void refreshGenerationInBackground() throws InterruptedException {
+        //given
+        assertEquals(0, cache.getGeneration());
+        asyncCommands.get();
+        redis.set("productCache::generation", "5");
+        redis.latency(Duration.ofMillis(300), Duration.ZERO);
+        Thread.sleep(GENERATION_REFRESH_INTERVAL.toMillis() * 2);
+        long commandsBefore = redis.getCommandCount();
+
+        //when
+        long start = System.nanoTime();
+        long[] generations = new long[100];
+        for (int i = 0; i < generations.length; i++) {
+            generations[i] = cache.getGeneration();
+        }
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        Thread.sleep(100);
+        long refreshCommands = redis.getCommandCount() - commandsBefore;
+
+        //then
+        assertTrue(elapsedMillis < 100, () -> "getGeneration blocked for " + elapsedMillis + "ms");
+        for (long generation : generations) {
+            assertEquals(0, generation);
+        }
+        assertEquals(1, refreshCommands);
+        assertEquals(5, awaitGeneration(5));
+    }
+
+    @Test
+    @DisplayName("putIfAbsent는 처음 쓴 값이 이기고, 진 쪽은 이긴 값을 받으며, 값에는 TTL이 붙는다.")
+    void putIfAbsentWinnerAndLoser() {
+        //when
+        ValueWrapper winner = cache.putIfAbsent("1", "first");
+        ValueWrapper loser = cache.putIfAbsent("1", "second");
+
+        //then
+        assertNull(winner);
+        assertNotNull(loser);
+        assertEquals("first", loser.get());
+        assertEquals("first", cache.get("1").get());
+        long ttlMillis = pTtl("productCache::g0:1");
+        assertTrue(ttlMillis > 0 && ttlMillis <= Duration.ofMinutes(10).toMillis(), () -> "ttl " + ttlMillis);
+    }
+
+    @Test
+    @DisplayName("script가 로드되지 않았으면 EVALSHA가 NOSCRIPT로 실패한 뒤 EVAL로 한 번만 보낸다.")
+    void fallBackToEvalOnNoScript() {
+        //when
+        cache.putIfAbsent("1", "first");
+        cache.putIfAbsent("2", "second");
+
+        //then
+        assertEquals(2, redis.getCommandCount("EVALSHA"));
+        assertEquals(1, redis.getCommandCount("EVAL"));
+        assertEquals("second", cache.get("2").get());
+    }
+
+    @Test
+    @DisplayName("TTL이 없는 cache의 putIfAbsent는 만료 없이 저장한다.")
+    void putIfAbsentWithoutTtl() {
+        //given
+        ChainedRedisCache eternalCache = createCache(RedisCacheConfiguration.defaultCacheConfig());
+
+        //when
+        ValueWrapper winner = eternalCache.putIfAbsent("1", "first");
+
+        //then
+        assertNull(winner);
+        assertEquals("first", eternalCache.get("1").get());
+        assertEquals(-1, pTtl("productCache::g0:1"));
+    }
+
+    @Test
+    @DisplayName("putAll은 TTL을 붙여 한 번에 쓰고, getAll은 MGET 한 번으로 읽으며 null 값과 없는 key를 구분한다.")
+    void putAllAndGetAll() throws Exception {
+        //given
+        Map<Object, Object> entries = new HashMap<>();
+        entries.put("1", "first");
+        entries.put("2", "second");
+        entries.put("3", null);
+
+        //when
+        cache.putAll(entries);
+        Map<Object, ValueWrapper> values = cache.getAll(List.of("1", "2", "3", "4"));
+        Map<Object, ValueWrapper> asyncValues = cache.getAllAsync(List.of("1", "2", "3", "4"))
+                .get(2, TimeUnit.SECONDS);
+
+        //then
+        assertEquals(3, redis.getCommandCount("SET"));
+        assertEquals(2, redis.getCommandCount("MGET"));
+        for (Map<Object, ValueWrapper> result : List.of(values, asyncValues)) {
+            assertEquals(3, result.size());
+            assertEquals("first", result.get("1").get());
+            assertEquals("second", result.get("2").get());
+            assertNull(result.get("3").get());
+            assertFalse(result.containsKey("4"));
+        }
+        long ttlMillis = pTtl("productCache::g0:1");
+        assertTrue(ttlMillis > 0 && ttlMillis <= Duration.ofMinutes(10).toMillis(), () -> "ttl " + ttlMillis);
+    }
+
+    @Test
+    @DisplayName("TTL이 없는 cache의 putAll은 만료 없이 저장하고, null을 허용하지 않으면 null 값은 쓰지 않는다.")
+    void putAllWithoutTtlOrNullValues() {
+        //given
+        ChainedRedisCache eternalCache = createCache(RedisCacheConfiguration.defaultCacheConfig()
+                .disableCachingNullValues());
+        Map<Object, Object> entries = new HashMap<>();
+        entries.put("1", "first");
+        entries.put("2", null);
+
+        //when
+        eternalCache.putAll(entries);
+        Map<Object, ValueWrapper> values = eternalCache.getAll(List.of("1", "2"));
+
+        //then
+        assertEquals(1, redis.getCommandCount("SET"));
+        assertEquals("first", values.get("1").get());
+        assertFalse(values.containsKey("2"));
+        assertEquals(-1, pTtl("productCache::g0:1"));
+    }
+
+    @Test
+    @DisplayName("MGET 응답이 null이면 getAll은 모든 key를 없는 것으로 본다.")
+    void getAllWithNullReply() {
+        //given
+        RedisStringCommands stringCommands = mock(RedisStringCommands.class);
+        given(stringCommands.mGet(any())).willReturn(null);
+        RedisConnection connection = mock(RedisConnection.class);
+        given(connection.stringCommands()).willReturn(stringCommands);
+        RedisConnectionFactory mockConnectionFactory = mock(RedisConnectionFactory.class);
+        given(mockConnectionFactory.getConnection()).willReturn(connection);
+        RedisCacheConfiguration configuration = RedisCacheConfiguration.defaultCacheConfig();
+        ChainedRedisCache mockedCache = (ChainedRedisCache) new ChainedRedisCacheManager(mockConnectionFactory,
+                configuration, name -> configuration, null, null, GENERATION_REFRESH_INTERVAL)
+                .getCache("productCache");
+
+        //when
+        Map<Object, ValueWrapper> values = mockedCache.getAll(List.of("1", "2"));
+
+        //then
+        assertTrue(values.isEmpty());
+        verify(stringCommands).mGet(any());
+    }
+
+    @Test
+    @DisplayName("읽을 수 없는 값은 오류 없이 miss로 처리하고 Redis에서 지운다.")
+    void evictUnreadableValues() throws Exception {
+        //given
+        redis.set("productCache::g0:1", "unreadable");
+        redis.set("productCache::g0:2", "unreadable");
+        redis.set("productCache::g0:3", "unreadable");
+
+        //when
+        ValueWrapper value = cache.get("1");
+        ValueWrapper asyncValue = cache.getAsync("2").get(2, TimeUnit.SECONDS);
+        Map<Object, ValueWrapper> values = cache.getAll(List.of("3"));
+
+        //then
+        assertNull(value);
+        assertNull(asyncValue);
+        assertTrue(values.isEmpty());
+        for (String key : List.of("productCache::g0:1", "productCache::g0:2", "productCache::g0:3")) {
+            assertTrue(awaitDeleted(key), key);
+        }
+    }
+
+    private boolean awaitDeleted(String key) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(2).toNanos();
+        while (System.nanoTime() < deadline) {
+            try (RedisConnection connection = connectionFactory.getConnection()) {
+                if (!connection.keyCommands().exists(key.getBytes(StandardCharsets.UTF_8))) {
+                    return true;
+                }
+            }
+            Thread.sleep(20);
+        }
+        return false;
+    }
+
+    private long pTtl(String key) {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            return connection.keyCommands().pTtl(key.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private long awaitGeneration(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        long generation = cache.getGeneration();
+        while (generation != expected && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            generation = cache.getGeneration();
+        }
+        return generation;
+    }
+
+    private ChainedRedisCache createCache(RedisCacheConfiguration configuration) {
+        return (ChainedRedisCache) new ChainedRedisCacheManager(connectionFactory, configuration,
+                name -> configuration, null, asyncCommands, GENERATION_REFRESH_INTERVAL).getCache("productCache");
+    }
+}
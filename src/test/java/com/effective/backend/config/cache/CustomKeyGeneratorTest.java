@@ -0,0 +1,98 @@
+package com.effective.backend.config.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomKeyGeneratorTest {
+
+    private final CustomKeyGenerator keyGenerator = new CustomKeyGenerator();
+    private final ProductService target = new ProductService();
+
+    @Test
+    @DisplayName("같은 메소드와 인자는 같은 key를 만든다.")
+    void sameKey() throws Exception {
+        //given
+        Method method = ProductService.class.getMethod("search", String.class, int.class);
+
+        //when
+        Object first = keyGenerator.generate(target, method, "keyboard", 3);
+        Object second = keyGenerator.generate(target, method, "keyboard", 3);
+
+        //then
+        assertEquals(first, second);
+        assertEquals(ProductService.class.getName() + ".search(s8:keyboard,i3)", first);
+    }
+
+    @Test
+    @DisplayName("인자의 타입이나 경계가 다르면 다른 key를 만든다.")
+    void distinctKeys() throws Exception {
+        //given
+        Method method = ProductService.class.getMethod("find", Object.class, Object.class);
+
+        //when
+        Object stringSplit1 = keyGenerator.generate(target, method, "a,b", "c");
+        Object stringSplit2 = keyGenerator.generate(target, method, "a", "b,c");
+        Object longKey = keyGenerator.generate(target, method, 1L, null);
+        Object intKey = keyGenerator.generate(target, method, 1, null);
+
+        //then
+        assertNotEquals(stringSplit1, stringSplit2);
+        assertNotEquals(longKey, intKey);
+    }
+
+    @Test
+    @DisplayName("primitive 배열은 값으로, 객체와 배열 인자는 길이를 붙여 key를 만든다.")
+    void arrayAndObjectKeys() throws Exception {
+        //given
+        Method method = ProductService.class.getMethod("find", Object.class, Object.class);
+
+        //when
+        Object intArray = keyGenerator.generate(target, method, new int[]{1, 2}, null);
+        Object sameIntArray = keyGenerator.generate(target, method, new int[]{1, 2}, null);
+        Object nestedArray = keyGenerator.generate(target, method, new Object[]{"a", new long[]{3}}, new char[]{'x'});
+        Object objectSplit1 = keyGenerator.generate(target, method, new StringBuilder("a,o1"), new StringBuilder("b"));
+        Object objectSplit2 = keyGenerator.generate(target, method, new StringBuilder("a"), new StringBuilder("1,ob"));
+
+        //then
+        assertEquals(ProductService.class.getName() + ".find(pI6:[1, 2],~)", intArray);
+        assertEquals(intArray, sameIntArray);
+        assertEquals(ProductService.class.getName() + ".find(a12:s1:a,pJ3:[3],pC1:x)", nestedArray);
+        assertNotEquals(objectSplit1, objectSplit2);
+    }
+
+    @Test
+    @DisplayName("해시 모드에서는 128bit hex digest를 만든다.")
+    void hashedKey() throws Exception {
+        //given
+        CustomKeyGenerator hashedKeyGenerator = new CustomKeyGenerator(true);
+        Method method = ProductService.class.getMethod("findById", long.class);
+
+        //when
+        Object key1 = hashedKeyGenerator.generate(target, method, 1L);
+        Object key2 = hashedKeyGenerator.generate(target, method, 2L);
+
+        //then
+        assertEquals(32, key1.toString().length());
+        assertEquals(key1, hashedKeyGenerator.generate(target, method, 1L));
+        assertNotEquals(key1, key2);
+    }
+
+    static class ProductService {
+
+        public Object findById(long id) {
+            return null;
+        }
+
+        public Object search(String keyword, int page) {
+            return null;
+        }
+
+        public Object find(Object first, Object second) {
+            return null;
+        }
+    }
+}
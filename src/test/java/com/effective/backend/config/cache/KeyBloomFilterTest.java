@@ -0,0 +1,50 @@
+package com.effective.backend.config.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyBloomFilterTest {
+
+    @Test
+    @DisplayName("rebuild가 끝나기 전에는 모든 key가 있을 수 있다고 답한다.")
+    void mightContainUntilRebuilt() {
+        KeyBloomFilter filter = new KeyBloomFilter(1000, 0.01);
+
+        filter.startRebuild();
+        filter.addScanned("key1");
+
+        assertTrue(filter.mightContain("unknown"));
+        filter.completeRebuild();
+        assertTrue(filter.mightContain("key1"));
+        assertFalse(filter.mightContain("unknown"));
+    }
+
+    @Test
+    @DisplayName("추가된 key는 항상 포함되고, 없는 key의 오탐률은 설정값 근처로 유지된다.")
+    void falsePositiveRate() {
+        //given
+        KeyBloomFilter filter = new KeyBloomFilter(10_000, 0.01);
+        filter.startRebuild();
+        filter.completeRebuild();
+
+        //when
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("product:" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 10_000; i < 20_000; i++) {
+            if (filter.mightContain("product:" + i)) {
+                falsePositives++;
+            }
+        }
+
+        //then
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("product:" + i));
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+        assertFalse(filter.isSaturated());
+    }
+}
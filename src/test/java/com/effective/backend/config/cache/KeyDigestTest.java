@@ -0,0 +1,20 @@
+package com.effective.backend.config.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyDigestTest {
+
+    @Test
+    @DisplayName("MurmurHash3 x64 128bit를 UTF-16LE 바이트에 적용한 참조 값과 일치한다.")
+    void knownVectors() {
+        assertEquals("00000000000000000000000000000000", KeyDigest.hash128(""));
+        assertEquals("96a698500b4e98bdb278c9bfc754677d", KeyDigest.hash128("a"));
+        assertEquals("2803a5bc696daeb2a2b1eb7540d6d1fa", KeyDigest.hash128("abcdefgh"));
+        assertEquals("8274bdd19a83992e8b8ea204f3bfd65b", KeyDigest.hash128("키"));
+        assertEquals("851004692bdf95e4a0c955af766e79bb",
+                KeyDigest.hash128("com.effective.backend.ProductService.find(l1)"));
+    }
+}
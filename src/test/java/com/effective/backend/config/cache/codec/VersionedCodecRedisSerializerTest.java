@@ -0,0 +1,220 @@
+package com.effective.backend.config.cache.codec;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VersionedCodecRedisSerializerTest {
+
+    private final CacheCodecs codecs = CacheCodecs.defaults(getClass().getClassLoader());
+
+    @Test
+    @DisplayName("smile codec으로 저장한 값은 타입을 유지한 채 복원된다.")
+    void smileRoundTrip() {
+        //given
+        VersionedCodecRedisSerializer serializer = serializer(SmileCacheValueCodec.NAME, 0);
+        List<Object> value = new ArrayList<>(List.of("product", 42L, 3));
+
+        //when
+        Object result = serializer.deserialize(serializer.serialize(value));
+
+        //then
+        assertEquals(value, result);
+    }
+
+    @Test
+    @DisplayName("임계값 이상의 값은 압축되어 더 작게 저장된다.")
+    void compressLargeValue() {
+        //given
+        VersionedCodecRedisSerializer serializer = serializer(SmileCacheValueCodec.NAME, 64);
+        String value = "product-description ".repeat(100);
+
+        //when
+        byte[] bytes = serializer.serialize(value);
+
+        //then
+        assertTrue(bytes.length < value.length());
+        assertEquals(value, serializer.deserialize(bytes));
+    }
+
+    @Test
+    @DisplayName("다른 codec으로 쓴 값과 header가 없는 JDK 직렬화 값도 읽을 수 있다.")
+    void readMixedPayloads() {
+        //given
+        VersionedCodecRedisSerializer smileWriter = serializer(SmileCacheValueCodec.NAME, 0);
+        VersionedCodecRedisSerializer jdkWriter = serializer(JdkCacheValueCodec.NAME, 0);
+        byte[] legacy = new JdkSerializationRedisSerializer().serialize("legacy");
+
+        //when, then
+        assertEquals("jdk", smileWriter.deserialize(jdkWriter.serialize("jdk")));
+        assertEquals("smile", jdkWriter.deserialize(smileWriter.serialize("smile")));
+        assertEquals("legacy", smileWriter.deserialize(legacy));
+    }
+
+    @Test
+    @DisplayName("알 수 없는 포맷 버전은 SerializationException이 발생한다.")
+    void unknownFormatVersion() {
+        //given
+        VersionedCodecRedisSerializer serializer = serializer(SmileCacheValueCodec.NAME, 0);
+        byte[] bytes = serializer.serialize("value");
+        bytes[1] = (byte) (VersionedCodecRedisSerializer.FORMAT_VERSION + 1);
+
+        //when, then
+        assertThrows(SerializationException.class, () -> serializer.deserialize(bytes));
+    }
+
+    @Test
+    @DisplayName("압축 payload의 원본 길이가 압축 크기로 불가능하거나 잘려 있으면 할당 없이 SerializationException이 발생한다.")
+    void rejectImplausibleUncompressedLength() {
+        //given
+        VersionedCodecRedisSerializer serializer = serializer(SmileCacheValueCodec.NAME, 64);
+        byte[] bytes = serializer.serialize("product-description ".repeat(100));
+        byte[] inflated = bytes.clone();
+        ByteBuffer.wrap(inflated).putInt(4, Integer.MAX_VALUE);
+        byte[] negative = bytes.clone();
+        ByteBuffer.wrap(negative).putInt(4, -1);
+        byte[] truncated = Arrays.copyOf(bytes, 6);
+
+        //when, then
+        assertThrows(SerializationException.class, () -> serializer.deserialize(inflated));
+        assertThrows(SerializationException.class, () -> serializer.deserialize(negative));
+        assertThrows(SerializationException.class, () -> serializer.deserialize(truncated));
+    }
+
+    @Test
+    @DisplayName("smile payload에 허용되지 않은 타입이 지정되어 있으면 인스턴스를 만들지 않고 거부한다.")
+    void rejectDisallowedSmileType() throws Exception {
+        //given
+        ObjectMapper unrestricted = new ObjectMapper(new SmileFactory());
+        unrestricted.activateDefaultTyping(LaissezFaireSubTypeValidator.instance,
+                ObjectMapper.DefaultTyping.EVERYTHING, JsonTypeInfo.As.PROPERTY);
+        byte[] payload = unrestricted.writeValueAsBytes(new File("/tmp/gadget"));
+        SmileCacheValueCodec codec = new SmileCacheValueCodec();
+
+        //when, then
+        assertThrows(SerializationException.class, () -> codec.decode(payload, 0, payload.length));
+    }
+
+    @Test
+    @DisplayName("JDK 직렬화 payload에 허용되지 않은 클래스가 있으면 header가 있든 없든 smile cache에서도 거부한다.")
+    void rejectDisallowedJdkType() {
+        //given
+        VersionedCodecRedisSerializer smileReader = serializer(SmileCacheValueCodec.NAME, 0);
+        VersionedCodecRedisSerializer jdkWriter = serializer(JdkCacheValueCodec.NAME, 0);
+        byte[] headerless = new JdkSerializationRedisSerializer().serialize(new File("/tmp/gadget"));
+        byte[] withHeader = jdkWriter.serialize(List.of(new File("/tmp/gadget")));
+
+        //when, then
+        assertThrows(SerializationException.class, () -> smileReader.deserialize(headerless));
+        assertThrows(SerializationException.class, () -> smileReader.deserialize(withHeader));
+    }
+
+    @Test
+    @DisplayName("JDK codec은 불변 collection과 wrapper collection을 복원한다.")
+    void jdkRoundTripJdkCollections() {
+        //given
+        VersionedCodecRedisSerializer serializer = serializer(JdkCacheValueCodec.NAME, 0);
+        List<Object> values = List.of(List.of("a", 1L), Set.of("b"), Map.of("c", 2), Arrays.asList("d", null),
+                Collections.unmodifiableList(new ArrayList<>(List.of("e"))), Collections.emptyMap(),
+                new Object[]{"f", new int[]{3}});
+
+        //when
+        Object result = serializer.deserialize(serializer.serialize(new ArrayList<>(values)));
+
+        //then
+        List<?> restored = (List<?>) result;
+        assertEquals(values.subList(0, 6), restored.subList(0, 6));
+        assertEquals("f", ((Object[]) restored.get(6))[0]);
+    }
+
+    @Test
+    @DisplayName("smile로 읽을 수 없는 값은 JDK codec으로 저장하고, 어느 codec으로도 저장할 수 없으면 쓰기가 실패한다.")
+    void fallBackToJdkForUnsupportedSmileValues() {
+        //given
+        VersionedCodecRedisSerializer serializer = serializer(SmileCacheValueCodec.NAME, 0);
+        List<Object> values = List.of(List.of("a", 1L), Set.of("b"), Map.of("c", 2), Arrays.asList("d", "e"),
+                Collections.unmodifiableList(new ArrayList<>(List.of("f"))), Collections.emptyList());
+
+        //when, then
+        for (Object value : values) {
+            byte[] bytes = serializer.serialize(value);
+            assertEquals(JdkCacheValueCodec.ID, bytes[2], value::toString);
+            assertEquals(value, serializer.deserialize(bytes));
+        }
+        assertEquals(SmileCacheValueCodec.ID, serializer.serialize(new ArrayList<>(List.of("g")))[2]);
+        assertThrows(SerializationException.class, () -> serializer.serialize(Optional.of("h")));
+    }
+
+    @Test
+    @DisplayName("smile codec은 읽을 때 거부될 타입을 포함한 값을 쓰지 않는다.")
+    void rejectUnsupportedSmileValuesOnEncode() {
+        //given
+        SmileCacheValueCodec codec = new SmileCacheValueCodec();
+
+        //when, then
+        assertThrows(UnsupportedCacheValueException.class, () -> codec.encode(List.of("a")));
+        assertThrows(UnsupportedCacheValueException.class, () -> codec.encode(Optional.of("a")));
+        assertThrows(UnsupportedCacheValueException.class,
+                () -> codec.encode(new CachedProducts(List.of(new CachedProduct("product", 42L)))));
+    }
+
+    @Test
+    @DisplayName("application 타입은 smile codec으로 타입을 유지한 채 복원된다.")
+    void smileRoundTripApplicationType() {
+        //given
+        VersionedCodecRedisSerializer serializer = serializer(SmileCacheValueCodec.NAME, 0);
+        CachedProduct product = new CachedProduct("product", 42L);
+
+        //when
+        Object result = serializer.deserialize(serializer.serialize(product));
+
+        //then
+        assertTrue(result instanceof CachedProduct);
+        assertEquals("product", ((CachedProduct) result).getName());
+        assertEquals(42L, ((CachedProduct) result).getPrice());
+    }
+
+    private VersionedCodecRedisSerializer serializer(String codec, int compressionThreshold) {
+        return new VersionedCodecRedisSerializer(codecs, codecs.byName(codec), compressionThreshold);
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class CachedProduct {
+
+        private String name;
+        private Long price;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class CachedProducts {
+
+        private List<CachedProduct> products;
+    }
+}
@@ -0,0 +1,123 @@
+package com.effective.backend.config.cache.hibernate;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.QueryKey;
+import org.hibernate.engine.spi.QueryParameters;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.ComponentType;
+import org.hibernate.type.LongType;
+import org.hibernate.type.StringType;
+import org.hibernate.type.Type;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+import static org.mockito.Mockito.*;
+
+class ChainedCacheKeysFactoryTest {
+
+    private final ChainedCacheKeysFactory keysFactory = ChainedCacheKeysFactory.INSTANCE;
+
+    @Test
+    @DisplayName("entity key는 role, 타입이 구분된 id, tenant로 만든 문자열이고 id를 다시 꺼낼 수 있다.")
+    void entityKeys() {
+        //given
+        EntityPersister persister = entityPersister(LongType.INSTANCE);
+
+        //when
+        Object key = keysFactory.createEntityKey(1L, persister, null, null);
+        Object tenantKey = keysFactory.createEntityKey(1L, persister, null, "acme");
+        Object otherTenantKey = keysFactory.createEntityKey(1L, persister, null, "initech");
+
+        //then
+        assertEquals("e:com.effective.backend.Product#n1", ChainedCacheStorageAccess.toCacheKey(key));
+        assertEquals("e:com.effective.backend.Product@4:acme#n1", ChainedCacheStorageAccess.toCacheKey(tenantKey));
+        assertNotEquals(ChainedCacheStorageAccess.toCacheKey(tenantKey),
+                ChainedCacheStorageAccess.toCacheKey(otherTenantKey));
+        assertEquals(key, keysFactory.createEntityKey(1L, persister, null, null));
+        assertEquals(1L, keysFactory.getEntityId(key));
+    }
+
+    @Test
+    @DisplayName("toString이 없는 복합 id도 값으로 key를 만든다.")
+    void compositeIds() {
+        //given
+        ComponentType idType = mock(ComponentType.class);
+        given(idType.getSubtypes()).willReturn(new Type[]{LongType.INSTANCE, StringType.INSTANCE});
+        given(idType.getPropertyValue(any(), eq(0))).willAnswer(invocation -> invocation.<OrderLineId>getArgument(0).orderId);
+        given(idType.getPropertyValue(any(), eq(1))).willAnswer(invocation -> invocation.<OrderLineId>getArgument(0).sku);
+        CollectionPersister persister = mock(CollectionPersister.class);
+        given(persister.getRole()).willReturn("com.effective.backend.Order.lines");
+        given(persister.getKeyType()).willReturn(idType);
+
+        //when
+        Object key = keysFactory.createCollectionKey(new OrderLineId(7L, "a,b"), persister, null, null);
+        Object sameKey = keysFactory.createCollectionKey(new OrderLineId(7L, "a,b"), persister, null, null);
+
+        //then
+        assertEquals("c:com.effective.backend.Order.lines#(n7,s3:a,b)", ChainedCacheStorageAccess.toCacheKey(key));
+        assertEquals(ChainedCacheStorageAccess.toCacheKey(key), ChainedCacheStorageAccess.toCacheKey(sameKey));
+    }
+
+    @Test
+    @DisplayName("안정적인 문자열 형태가 없는 id 타입은 즉시 거부한다.")
+    void rejectUnstableIds() {
+        //given
+        EntityPersister persister = entityPersister(mock(Type.class));
+        Type associationType = mock(Type.class);
+        given(associationType.isAssociationType()).willReturn(true);
+        EntityPersister associationPersister = entityPersister(associationType);
+
+        //when, then
+        assertThrows(CacheException.class, () -> keysFactory.createEntityKey(new Object(), persister, null, null));
+        assertThrows(CacheException.class, () -> keysFactory.createEntityKey(1L, associationPersister, null, null));
+        assertThrows(CacheException.class, () -> ChainedCacheStorageAccess.toCacheKey(new Object()));
+    }
+
+    @Test
+    @DisplayName("query key는 직렬화한 값의 digest로 만들어 같은 질의는 같은 key, tenant가 다르면 다른 key가 된다.")
+    void queryKeys() {
+        //given
+        QueryParameters parameters = new QueryParameters(new Type[]{LongType.INSTANCE}, new Object[]{1L});
+
+        //when
+        String key = ChainedCacheStorageAccess.toCacheKey(queryKey(parameters, "acme"));
+        String sameKey = ChainedCacheStorageAccess.toCacheKey(queryKey(parameters, "acme"));
+        String otherTenantKey = ChainedCacheStorageAccess.toCacheKey(queryKey(parameters, "initech"));
+
+        //then
+        assertTrue(key.startsWith("q:"));
+        assertEquals(key, sameKey);
+        assertNotEquals(key, otherTenantKey);
+    }
+
+    private static QueryKey queryKey(QueryParameters parameters, String tenant) {
+        SharedSessionContractImplementor session = mock(SharedSessionContractImplementor.class);
+        given(session.getTenantIdentifier()).willReturn(tenant);
+        return QueryKey.generateQueryKey("select p from Product p where p.id = ?1", parameters, Set.of(), session,
+                null);
+    }
+
+    private static EntityPersister entityPersister(Type identifierType) {
+        EntityPersister persister = mock(EntityPersister.class);
+        given(persister.getRootEntityName()).willReturn("com.effective.backend.Product");
+        given(persister.getIdentifierType()).willReturn(identifierType);
+        return persister;
+    }
+
+    private static final class OrderLineId {
+
+        private final long orderId;
+        private final String sku;
+
+        private OrderLineId(long orderId, String sku) {
+            this.orderId = orderId;
+            this.sku = sku;
+        }
+    }
+}
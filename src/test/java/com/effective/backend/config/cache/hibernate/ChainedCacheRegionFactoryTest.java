@@ -0,0 +1,107 @@
+package com.effective.backend.config.cache.hibernate;
+
+import com.effective.backend.config.cache.CacheProfile;
+import com.effective.backend.config.cache.CacheProfileProperties;
+import com.effective.backend.config.cache.ChainedCacheContext;
+import com.effective.backend.config.cache.ChainedCacheManager;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.cfg.spi.EntityDataCachingConfig;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+import static org.mockito.Mockito.*;
+
+class ChainedCacheRegionFactoryTest {
+
+    private ConcurrentMapCacheManager localCacheManager;
+    private ConcurrentMapCacheManager globalCacheManager;
+    private CacheProfileProperties cacheProfiles;
+    private ChainedCacheRegionFactory regionFactory;
+    private SessionFactoryImplementor sessionFactory;
+
+    @BeforeEach
+    void setUp() {
+        localCacheManager = new ConcurrentMapCacheManager();
+        globalCacheManager = new ConcurrentMapCacheManager();
+        cacheProfiles = new CacheProfileProperties();
+        CacheProfile queryResultsProfile = new CacheProfile();
+        queryResultsProfile.setCodec("jdk");
+        cacheProfiles.getCaches().put("hibernate.default-query-results-region", queryResultsProfile);
+        ChainedCacheManager cacheManager = new ChainedCacheManager(localCacheManager, globalCacheManager,
+                ChainedCacheContext.defaults().withCacheProfiles(cacheProfiles));
+        regionFactory = new ChainedCacheRegionFactory(cacheManager, cacheProfiles);
+
+        SessionFactoryOptions options = mock(SessionFactoryOptions.class);
+        given(options.getCacheRegionPrefix()).willReturn("hibernate");
+        sessionFactory = mock(SessionFactoryImplementor.class);
+        given(sessionFactory.getSessionFactoryOptions()).willReturn(options);
+    }
+
+    @Test
+    @DisplayName("region은 prefix가 붙은 이름의 chained cache에 저장되고, 수정 시 두 tier 모두에서 제거된다.")
+    void storeAndEvictRegionEntries() {
+        //given
+        StorageAccess storage = regionFactory.createQueryResultsRegionStorageAccess(
+                "default-query-results-region", sessionFactory);
+
+        //when
+        storage.putIntoCache("Product#1", "entry", null);
+
+        //then
+        assertEquals("entry", storage.getFromCache("Product#1", null));
+        assertTrue(storage.contains("Product#1"));
+        assertNotNull(localCacheManager.getCache("hibernate.default-query-results-region").get("Product#1"));
+        assertNotNull(globalCacheManager.getCache("hibernate.default-query-results-region").get("Product#1"));
+
+        //when
+        storage.evictData("Product#1");
+
+        //then
+        assertNull(storage.getFromCache("Product#1", null));
+        assertFalse(storage.contains("Product#1"));
+        assertNull(globalCacheManager.getCache("hibernate.default-query-results-region").get("Product#1"));
+    }
+
+    @Test
+    @DisplayName("jdk codec을 사용하지 않는 region은 거부한다.")
+    void rejectNonJdkCodec() {
+        //when, then
+        assertThrows(CacheException.class,
+                () -> regionFactory.createTimestampsRegionStorageAccess("default-update-timestamps-region", sessionFactory));
+    }
+
+    @Test
+    @DisplayName("read-only, nonstrict-read-write 외의 access type은 거부한다.")
+    void rejectUnsupportedAccessTypes() {
+        //given
+        DomainDataRegionConfig nonstrict = regionConfig(AccessType.NONSTRICT_READ_WRITE);
+        DomainDataRegionConfig readWrite = regionConfig(AccessType.READ_WRITE);
+
+        //when, then
+        assertDoesNotThrow(() -> ChainedCacheRegionFactory.verifyAccessTypes(nonstrict));
+        assertThrows(CacheException.class, () -> ChainedCacheRegionFactory.verifyAccessTypes(readWrite));
+        assertEquals(AccessType.NONSTRICT_READ_WRITE, regionFactory.getDefaultAccessType());
+    }
+
+    private DomainDataRegionConfig regionConfig(AccessType accessType) {
+        EntityDataCachingConfig entityCaching = mock(EntityDataCachingConfig.class);
+        given(entityCaching.getAccessType()).willReturn(accessType);
+        DomainDataRegionConfig regionConfig = mock(DomainDataRegionConfig.class);
+        given(regionConfig.getRegionName()).willReturn("com.effective.backend.Product");
+        given(regionConfig.getEntityCaching()).willReturn(List.of(entityCaching));
+        given(regionConfig.getNaturalIdCaching()).willReturn(List.of());
+        given(regionConfig.getCollectionCaching()).willReturn(List.of());
+        return regionConfig;
+    }
+}
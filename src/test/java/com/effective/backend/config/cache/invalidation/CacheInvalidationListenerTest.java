@@ -0,0 +1,100 @@
+package com.effective.backend.config.cache.invalidation;
+
+import com.effective.backend.config.cache.ChainedCache;
+import com.effective.backend.config.cache.ChainedCacheManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.mockito.BDDMockito.*;
+import static org.mockito.Mockito.*;
+
+class CacheInvalidationListenerTest {
+
+    private static final String NODE_ID = "node-1";
+
+    private final JdkSerializationRedisSerializer serializer = new JdkSerializationRedisSerializer();
+    private ChainedCacheManager cacheManager;
+    private ChainedCache cache;
+    private CacheInvalidationListener listener;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = mock(ChainedCacheManager.class);
+        cache = mock(ChainedCache.class);
+        given(cacheManager.lookupCache("productCache")).willReturn(cache);
+        listener = new CacheInvalidationListener(cacheManager, NODE_ID, Runnable::run);
+    }
+
+    @Test
+    @DisplayName("다른 node의 evict 메시지는 key마다 local cache에서 제거한다.")
+    void dispatchEvictions() {
+        //when
+        listener.onMessage(message(CacheInvalidationMessage.evict("node-2", "productCache",
+                List.<Object>of("key1", "key2"))), null);
+
+        //then
+        verify(cache).evictLocalCache("key1");
+        verify(cache).evictLocalCache("key2");
+        verify(cache, never()).onRemoteClear();
+    }
+
+    @Test
+    @DisplayName("다른 node의 clear 메시지는 cache 전체를 비운다.")
+    void dispatchClear() {
+        //when
+        listener.onMessage(message(CacheInvalidationMessage.clear("node-2", "productCache")), null);
+
+        //then
+        verify(cache).onRemoteClear();
+        verify(cache, never()).evictLocalCache(any());
+    }
+
+    @Test
+    @DisplayName("다른 node의 absent 메시지는 key를 알려진 key로 만들지 않고 없는 값으로 기록한다.")
+    void dispatchAbsentKeys() {
+        //when
+        listener.onMessage(message(CacheInvalidationMessage.absent("node-2", "productCache",
+                List.<Object>of("key1"))), null);
+
+        //then
+        verify(cache).onRemoteAbsent("key1");
+        verify(cache, never()).evictLocalCache(any());
+    }
+
+    @Test
+    @DisplayName("자기 node가 보낸 메시지는 무시한다.")
+    void ignoreOwnMessages() {
+        //when
+        listener.onMessage(message(CacheInvalidationMessage.evict(NODE_ID, "productCache",
+                List.<Object>of("key1"))), null);
+        listener.onMessage(message(CacheInvalidationMessage.clear(NODE_ID, "productCache")), null);
+
+        //then
+        verifyNoInteractions(cacheManager, cache);
+    }
+
+    @Test
+    @DisplayName("읽을 수 없는 메시지나 모르는 cache에 대한 메시지는 무시한다.")
+    void ignoreUnreadableAndUnknown() {
+        //when
+        listener.onMessage(new DefaultMessage("channel".getBytes(StandardCharsets.UTF_8),
+                "garbage".getBytes(StandardCharsets.UTF_8)), null);
+        listener.onMessage(message(CacheInvalidationMessage.evict("node-2", "unknownCache",
+                List.<Object>of("key1"))), null);
+
+        //then
+        verify(cacheManager).lookupCache("unknownCache");
+        verifyNoInteractions(cache);
+    }
+
+    private Message message(CacheInvalidationMessage invalidation) {
+        return new DefaultMessage("channel".getBytes(StandardCharsets.UTF_8), serializer.serialize(invalidation));
+    }
+}
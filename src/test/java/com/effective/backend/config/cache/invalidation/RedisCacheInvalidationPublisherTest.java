@@ -0,0 +1,152 @@
+package com.effective.backend.config.cache.invalidation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+import static org.mockito.Mockito.*;
+
+class RedisCacheInvalidationPublisherTest {
+
+    private static final String NODE_ID = "node-1";
+    private static final String CHANNEL = "chained-cache:invalidation";
+    private static final long NEVER_MILLIS = 3_600_000;
+
+    private final JdkSerializationRedisSerializer serializer = new JdkSerializationRedisSerializer();
+    private RedisConnectionFactory connectionFactory;
+    private RedisConnection connection;
+    private RedisCacheInvalidationPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        connection = mock(RedisConnection.class);
+        connectionFactory = mock(RedisConnectionFactory.class);
+        given(connectionFactory.getConnection()).willReturn(connection);
+    }
+
+    @AfterEach
+    void tearDown() {
+        publisher.destroy();
+    }
+
+    @Test
+    @DisplayName("같은 cache의 evict는 중복 key를 합쳐 하나의 메시지로 보낸다.")
+    void coalesceEvictions() {
+        //given
+        publisher = new RedisCacheInvalidationPublisher(connectionFactory, NODE_ID, CHANNEL, NEVER_MILLIS, 100);
+
+        //when
+        publisher.publishEvict("productCache", "key1");
+        publisher.publishEvict("productCache", "key1");
+        publisher.publishEvict("productCache", "key2");
+        publisher.flush();
+
+        //then
+        List<CacheInvalidationMessage> messages = published(1);
+        CacheInvalidationMessage message = messages.get(0);
+        assertEquals(NODE_ID, message.getNodeId());
+        assertEquals("productCache", message.getCacheName());
+        assertFalse(message.isClear());
+        assertFalse(message.isAbsent());
+        assertEquals(Set.of("key1", "key2"), new HashSet<>(message.getKeys()));
+    }
+
+    @Test
+    @DisplayName("flush 주기가 지나면 쌓인 invalidation을 보낸다.")
+    void flushOnInterval() {
+        //given
+        publisher = new RedisCacheInvalidationPublisher(connectionFactory, NODE_ID, CHANNEL, 20, 100);
+
+        //when
+        publisher.publishEvict("productCache", "key1");
+
+        //then
+        verify(connection, timeout(1000)).publish(eq(CHANNEL.getBytes()), any());
+        assertEquals(List.of("key1"), published(1).get(0).getKeys());
+    }
+
+    @Test
+    @DisplayName("쌓인 key가 최대 batch 크기에 이르면 주기를 기다리지 않고 보내며, 메시지는 batch 크기를 넘지 않는다.")
+    void flushOnMaxBatchSize() {
+        //given
+        publisher = new RedisCacheInvalidationPublisher(connectionFactory, NODE_ID, CHANNEL, NEVER_MILLIS, 3);
+
+        //when
+        for (int i = 0; i < 5; i++) {
+            publisher.publishEvict("productCache", "key" + i);
+        }
+
+        //then
+        verify(connection, timeout(1000).atLeastOnce()).publish(any(), any());
+        publisher.flush();
+        List<CacheInvalidationMessage> messages = published(-1);
+        assertTrue(messages.stream().allMatch(message -> message.getKeys().size() <= 3));
+        assertEquals(Set.of("key0", "key1", "key2", "key3", "key4"), messages.stream()
+                .flatMap(message -> message.getKeys().stream())
+                .collect(Collectors.toSet()));
+    }
+
+    @Test
+    @DisplayName("clear가 예약되면 같은 cache의 대기 중인 evict는 보내지 않는다.")
+    void clearSupersedesEvictions() {
+        //given
+        publisher = new RedisCacheInvalidationPublisher(connectionFactory, NODE_ID, CHANNEL, NEVER_MILLIS, 100);
+
+        //when
+        publisher.publishEvict("productCache", "key1");
+        publisher.publishClear("productCache");
+
+        //then
+        verify(connection, timeout(1000)).publish(any(), any());
+        publisher.flush();
+        List<CacheInvalidationMessage> messages = published(1);
+        assertTrue(messages.get(0).isClear());
+        assertEquals("productCache", messages.get(0).getCacheName());
+    }
+
+    @Test
+    @DisplayName("같은 key의 evict와 absent는 마지막에 발행한 것만 보낸다.")
+    void lastOfEvictAndAbsentWins() {
+        //given
+        publisher = new RedisCacheInvalidationPublisher(connectionFactory, NODE_ID, CHANNEL, NEVER_MILLIS, 100);
+
+        //when
+        publisher.publishEvict("productCache", "key1");
+        publisher.publishAbsent("productCache", "key1");
+        publisher.publishAbsent("productCache", "key2");
+        publisher.publishEvict("productCache", "key2");
+        publisher.flush();
+
+        //then
+        List<CacheInvalidationMessage> messages = published(2);
+        CacheInvalidationMessage evict = messages.stream().filter(message -> !message.isAbsent()).findFirst()
+                .orElseThrow();
+        CacheInvalidationMessage absent = messages.stream().filter(CacheInvalidationMessage::isAbsent).findFirst()
+                .orElseThrow();
+        assertEquals(List.of("key2"), evict.getKeys());
+        assertEquals(List.of("key1"), absent.getKeys());
+    }
+
+    /**
+     * @param expected number of messages to expect, or {@code -1} for any
+     */
+    private List<CacheInvalidationMessage> published(int expected) {
+        ArgumentCaptor<byte[]> bodies = ArgumentCaptor.forClass(byte[].class);
+        verify(connection, expected < 0 ? atLeastOnce() : times(expected)).publish(any(), bodies.capture());
+        return bodies.getAllValues().stream()
+                .map(body -> (CacheInvalidationMessage) serializer.deserialize(body))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,295 @@
+package com.effective.backend.config.cache.load;
+
+import com.effective.backend.config.cache.ChainedCacheManager;
+import com.effective.backend.config.circuit.CircuitBreaker;
+import com.effective.backend.config.circuit.CircuitBreakerRegistry;
+import com.effective.backend.config.redis.FaultyRedisServer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.Cache.ValueWrapper;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Drives the {@link ChainedCacheManager} bean against {@link FaultyRedisServer} with a cache-aside
+ * workload whose key space is five times the local tier, so most reads reach Redis.
+ * <p>
+ * Tagged {@code load}: run with {@code ./gradlew loadTest}. Every scenario writes its report to
+ * {@code build/load-reports}; {@code -Dload.recordBaseline=true} writes it to the baseline directory
+ * instead, and later runs are compared against that baseline when one is present.
+ */
+@Slf4j
+@Tag("load")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@SpringBootTest(properties = {
+        "spring.cache.warm-up.enabled=false",
+        "spring.cache.hibernate.enabled=false",
+        "spring.cache.circuit-breaker.window=2s",
+        "spring.cache.circuit-breaker.window-buckets=4",
+        "spring.cache.circuit-breaker.wait-in-open-state=1s"
+})
+class ChainedCacheLoadTest {
+
+    private static final String CACHE_NAME = "loadTestCache";
+    private static final int KEY_SPACE = 50_000;
+    private static final int WRITE_PERCENT = 10;
+    private static final long READ_TIMEOUT_MILLIS = 200;
+    private static final long DEFAULT_TIMEOUT_MILLIS = 1000;
+
+    private static final FaultyRedisServer redis = startRedis();
+
+    private final LoadGenerator generator = new LoadGenerator(Integer.getInteger("load.threads", 16));
+    private final Duration duration = Duration.parse(System.getProperty("load.duration", "PT5S"));
+    private final double tolerance = Double.parseDouble(System.getProperty("load.tolerance", "0.5"));
+    private final boolean recordBaseline = Boolean.getBoolean("load.recordBaseline");
+    private final Path baselineDirectory = Path.of(System.getProperty("load.baselineDir",
+            "src/test/resources/load/baseline"));
+    private final Path reportDirectory = Path.of(System.getProperty("load.reportDir", "build/load-reports"));
+
+    @Autowired
+    private ChainedCacheManager cacheManager;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakers;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private RedisConnectionFactory connectionFactory;
+
+    private Cache cache;
+
+    @DynamicPropertySource
+    static void redisProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.redis.host", () -> "127.0.0.1");
+        registry.add("spring.redis.port", redis::getPort);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        redis.close();
+    }
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        redis.heal();
+        awaitRedisReachable();
+        redis.flushAll();
+        cache = cacheManager.getCache(CACHE_NAME);
+        cache.clear();
+        circuitBreakers.getCircuitBreakers().forEach(CircuitBreaker::transitionToClosedState);
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("정상 상태에서는 fallback 없이 동작하며 baseline 대비 처리량과 지연이 유지된다.")
+    void healthy() throws InterruptedException {
+        //when
+        LoadReport report = run("healthy");
+
+        //then
+        assertEquals(0, report.getErrors());
+        assertTrue(report.getFallbackRate() < 0.001, report::toString);
+        assertWithinBaseline(report);
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Redis가 느려져도 호출자가 겪는 지연은 설정한 timeout을 넘지 않는다.")
+    void slowRedis() throws InterruptedException {
+        //given
+        redis.latency(Duration.ofMillis(5), Duration.ofMillis(3));
+
+        //when
+        LoadReport report = run("slow-redis");
+
+        //then
+        assertEquals(0, report.getErrors());
+        assertTrue(report.getP999Millis() < DEFAULT_TIMEOUT_MILLIS + 250, report::toString);
+        assertWithinBaseline(report);
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Redis가 timeout보다 느리면 circuit이 열리고 대부분의 요청은 즉시 fallback 된다.")
+    void redisSlowerThanTimeouts() throws InterruptedException {
+        //given
+        redis.latency(Duration.ofMillis(600), Duration.ofMillis(50));
+
+        //when
+        LoadReport report = run("redis-slower-than-timeouts");
+
+        //then
+        assertEquals(0, report.getErrors());
+        assertTrue(report.getFallbacks() > 0, report::toString);
+        assertTrue(report.getP50Millis() < 10, report::toString);
+        assertTrue(report.getP999Millis() < DEFAULT_TIMEOUT_MILLIS + 250, report::toString);
+        assertWithinBaseline(report);
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Redis 오류가 잦으면 circuit이 열리고 오류는 호출자에게 전파되지 않는다.")
+    void errorRate() throws InterruptedException {
+        //given
+        redis.errorRate(0.6);
+
+        //when
+        LoadReport report = run("error-rate");
+
+        //then
+        assertEquals(0, report.getErrors());
+        assertTrue(report.getFallbacks() > 0, report::toString);
+        assertTrue(report.getP99Millis() < READ_TIMEOUT_MILLIS, report::toString);
+        assertWithinBaseline(report);
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("응답 없는 partition이 풀리면 circuit이 닫히고 fallback 없이 회복한다.")
+    void partitionAndRecovery() throws InterruptedException {
+        //given
+        redis.partition(FaultyRedisServer.Partition.BLACKHOLE);
+        LoadReport partitioned = run("partition");
+
+        //when
+        redis.heal();
+        LoadReport settling = generator.run("settling", Duration.ofSeconds(2), cacheAside(), this::fallbacks);
+        LoadReport recovered = run("recovered");
+
+        //then
+        log.info("{}", settling);
+        assertEquals(0, partitioned.getErrors());
+        assertTrue(partitioned.getFallbacks() > 0, partitioned::toString);
+        assertTrue(partitioned.getP999Millis() < DEFAULT_TIMEOUT_MILLIS + 250, partitioned::toString);
+        assertEquals(0, recovered.getErrors());
+        assertTrue(recovered.getFallbackRate() < 0.01, recovered::toString);
+        assertWithinBaseline(partitioned);
+        assertWithinBaseline(recovered);
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Redis 연결이 끊긴 동안에도 요청은 local cache로 처리된다.")
+    void redisDown() throws InterruptedException {
+        //given
+        redis.partition(FaultyRedisServer.Partition.DISCONNECT);
+
+        //when
+        LoadReport report = run("redis-down");
+
+        //then
+        assertEquals(0, report.getErrors());
+        assertTrue(report.getFallbacks() > 0, report::toString);
+        assertTrue(report.getP999Millis() < DEFAULT_TIMEOUT_MILLIS + 250, report::toString);
+        assertWithinBaseline(report);
+    }
+
+    private LoadReport run(String scenario) throws InterruptedException {
+        LoadReport report = generator.run(scenario, duration, cacheAside(), this::fallbacks);
+        log.info("{}", report);
+        if (report.getLastError() != null) {
+            log.warn("last error in {}", scenario, report.getLastError());
+        }
+        report.write(recordBaseline ? baselineDirectory : reportDirectory);
+        return report;
+    }
+
+    /**
+     * Reads through the cache and loads misses from a stand-in source; a share of the operations
+     * overwrite the entry. Values are derived from the key, so any wrong value is detectable.
+     */
+    private LoadOperation cacheAside() {
+        return random -> {
+            String key = "product:" + random.nextInt(KEY_SPACE);
+            if (random.nextInt(100) < WRITE_PERCENT) {
+                cache.put(key, valueOf(key));
+                return;
+            }
+            ValueWrapper cached = cache.get(key);
+            if (cached == null) {
+                cache.put(key, valueOf(key));
+            } else if (!valueOf(key).equals(cached.get())) {
+                throw new IllegalStateException("unexpected value " + cached.get() + " for " + key);
+            }
+        };
+    }
+
+    private static String valueOf(String key) {
+        return "value:" + key;
+    }
+
+    private long fallbacks() {
+        return (long) meterRegistry.find("cache.chained.fallbacks").tag("cache", CACHE_NAME).counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+
+    private void assertWithinBaseline(LoadReport report) {
+        if (recordBaseline) {
+            return;
+        }
+        Properties baseline = LoadReport.read(baselineDirectory, report.getScenario()).orElse(null);
+        assumeTrue(baseline != null,
+                () -> "no baseline recorded for " + report.getScenario() + ", run with -Dload.recordBaseline=true");
+        double throughput = Double.parseDouble(baseline.getProperty(LoadReport.THROUGHPUT));
+        long p99Micros = Long.parseLong(baseline.getProperty(LoadReport.P99));
+        double fallbackRate = Double.parseDouble(baseline.getProperty(LoadReport.FALLBACK_RATE));
+        long reportedP99Micros = TimeUnit.NANOSECONDS.toMicros(report.getP99Nanos());
+
+        assertTrue(report.getThroughput() >= throughput * (1 - tolerance),
+                () -> "throughput regressed against baseline " + throughput + ": " + report);
+        assertTrue(reportedP99Micros <= p99Micros * (1 + tolerance) + 1000,
+                () -> "p99 regressed against baseline " + p99Micros + "us: " + report);
+        assertTrue(report.getFallbackRate() <= fallbackRate + 0.05,
+                () -> "fallback rate regressed against baseline " + fallbackRate + ": " + report);
+    }
+
+    private void awaitRedisReachable() throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(40).toNanos();
+        while (true) {
+            try (RedisConnection connection = connectionFactory.getConnection()) {
+                connection.ping();
+                return;
+            } catch (RuntimeException e) {
+                if (System.nanoTime() > deadline) {
+                    throw e;
+                }
+                Thread.sleep(200);
+            }
+        }
+    }
+
+    private static FaultyRedisServer startRedis() {
+        try {
+            return FaultyRedisServer.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
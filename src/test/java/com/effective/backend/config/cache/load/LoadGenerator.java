@@ -0,0 +1,108 @@
+package com.effective.backend.config.cache.load;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * Closed-loop load: every thread issues the next operation as soon as the previous one returns, so
+ * latency shows up as lost throughput rather than as a growing backlog.
+ */
+public class LoadGenerator {
+
+    private final int threads;
+
+    public LoadGenerator(int threads) {
+        this.threads = threads;
+    }
+
+    public LoadReport run(String scenario, Duration duration, LoadOperation operation, LongSupplier fallbacks)
+            throws InterruptedException {
+        List<Recorder> recorders = new ArrayList<>(threads);
+        List<Thread> workers = new ArrayList<>(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        long[] deadline = new long[1];
+        for (int i = 0; i < threads; i++) {
+            Recorder recorder = new Recorder();
+            recorders.add(recorder);
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline[0]) {
+                    long begin = System.nanoTime();
+                    try {
+                        operation.execute(random);
+                    } catch (Exception e) {
+                        recorder.errors++;
+                        recorder.lastError = e;
+                    }
+                    recorder.record(System.nanoTime() - begin);
+                }
+            }, "load-" + scenario + "-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+
+        long fallbacksBefore = fallbacks.getAsLong();
+        long begin = System.nanoTime();
+        deadline[0] = begin + duration.toNanos();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join(duration.plusSeconds(30).toMillis());
+        }
+        long elapsed = System.nanoTime() - begin;
+        long fallbacksAfter = fallbacks.getAsLong();
+
+        int operations = recorders.stream().mapToInt(recorder -> recorder.size).sum();
+        long[] latencies = new long[operations];
+        int offset = 0;
+        long errors = 0;
+        Exception lastError = null;
+        for (Recorder recorder : recorders) {
+            System.arraycopy(recorder.latencies, 0, latencies, offset, recorder.size);
+            offset += recorder.size;
+            errors += recorder.errors;
+            lastError = recorder.lastError != null ? recorder.lastError : lastError;
+        }
+        Arrays.sort(latencies);
+        return new LoadReport(scenario, threads, operations, errors, lastError, elapsed, percentile(latencies, 0.5),
+                percentile(latencies, 0.99), percentile(latencies, 0.999),
+                latencies.length == 0 ? 0 : latencies[latencies.length - 1], fallbacksAfter - fallbacksBefore);
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    /**
+     * Written by its worker only and read after the worker has been joined.
+     */
+    private static class Recorder {
+
+        private long[] latencies = new long[1 << 16];
+        private int size;
+        private long errors;
+        private Exception lastError;
+
+        private void record(long nanos) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = nanos;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.effective.backend.config.cache.load;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+@FunctionalInterface
+public interface LoadOperation {
+
+    void execute(ThreadLocalRandom random) throws Exception;
+}
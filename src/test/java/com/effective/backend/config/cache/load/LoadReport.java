@@ -0,0 +1,105 @@
+package com.effective.backend.config.cache.load;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+@Getter
+@RequiredArgsConstructor
+public class LoadReport {
+
+    static final String THROUGHPUT = "throughput";
+    static final String P50 = "p50.micros";
+    static final String P99 = "p99.micros";
+    static final String P999 = "p999.micros";
+    static final String FALLBACK_RATE = "fallback.rate";
+
+    private final String scenario;
+    private final int threads;
+    private final long operations;
+    private final long errors;
+    private final Exception lastError;
+    private final long elapsedNanos;
+    private final long p50Nanos;
+    private final long p99Nanos;
+    private final long p999Nanos;
+    private final long maxNanos;
+    private final long fallbacks;
+
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : operations * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    /**
+     * Global-tier fallbacks per operation. One operation can fall back more than once (get, then put).
+     */
+    public double getFallbackRate() {
+        return operations == 0 ? 0 : (double) fallbacks / operations;
+    }
+
+    public long getP50Millis() {
+        return TimeUnit.NANOSECONDS.toMillis(p50Nanos);
+    }
+
+    public long getP99Millis() {
+        return TimeUnit.NANOSECONDS.toMillis(p99Nanos);
+    }
+
+    public long getP999Millis() {
+        return TimeUnit.NANOSECONDS.toMillis(p999Nanos);
+    }
+
+    public void write(Path directory) {
+        Properties properties = new Properties();
+        properties.setProperty("threads", Integer.toString(threads));
+        properties.setProperty("operations", Long.toString(operations));
+        properties.setProperty("errors", Long.toString(errors));
+        properties.setProperty(THROUGHPUT, String.format(Locale.ROOT, "%.1f", getThroughput()));
+        properties.setProperty(P50, Long.toString(TimeUnit.NANOSECONDS.toMicros(p50Nanos)));
+        properties.setProperty(P99, Long.toString(TimeUnit.NANOSECONDS.toMicros(p99Nanos)));
+        properties.setProperty(P999, Long.toString(TimeUnit.NANOSECONDS.toMicros(p999Nanos)));
+        properties.setProperty("max.micros", Long.toString(TimeUnit.NANOSECONDS.toMicros(maxNanos)));
+        properties.setProperty(FALLBACK_RATE, String.format(Locale.ROOT, "%.4f", getFallbackRate()));
+        try {
+            Files.createDirectories(directory);
+            try (Writer writer = Files.newBufferedWriter(directory.resolve(scenario + ".properties"))) {
+                properties.store(writer, "load scenario " + scenario);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static Optional<Properties> read(Path directory, String scenario) {
+        Path file = directory.resolve(scenario + ".properties");
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Optional.of(properties);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d threads, %d ops, %.0f ops/s, p50 %dus, p99 %dus, p999 %dus, max %dms, "
+                        + "fallback rate %.4f, errors %d", scenario, threads, operations, getThroughput(),
+                TimeUnit.NANOSECONDS.toMicros(p50Nanos), TimeUnit.NANOSECONDS.toMicros(p99Nanos),
+                TimeUnit.NANOSECONDS.toMicros(p999Nanos), TimeUnit.NANOSECONDS.toMillis(maxNanos),
+                getFallbackRate(), errors);
+    }
+}
@@ -0,0 +1,104 @@
+package com.effective.backend.config.cache.loader;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchingLoaderTest {
+
+    @Test
+    @DisplayName("동시에 발생한 서로 다른 key의 miss는 한 번의 bulk load로 처리되고 모든 호출자에게 전달된다.")
+    void coalesceConcurrentMisses() throws Exception {
+        //given
+        List<Set<Object>> batches = new CopyOnWriteArrayList<>();
+        List<Map<Object, Object>> cached = new CopyOnWriteArrayList<>();
+        BatchingLoader batchingLoader = new BatchingLoader(loader(batches), 100,
+                TimeUnit.MILLISECONDS.toNanos(200), cached::add);
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        CountDownLatch start = new CountDownLatch(1);
+
+        //when
+        List<Future<Object>> results = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            String key = "product:" + i;
+            results.add(executor.submit(() -> {
+                start.await();
+                return batchingLoader.load(key);
+            }));
+        }
+        start.countDown();
+
+        //then
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i % 3 == 0 ? null : "value:product:" + i, results.get(i).get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, batches.size());
+        assertEquals(10, batches.get(0).size());
+        assertEquals(1, cached.size());
+        assertTrue(cached.get(0).containsKey("product:0"));
+        assertNull(cached.get(0).get("product:0"));
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("batch가 가득 차면 window를 기다리지 않고 로딩하며, bulk load 실패는 batch의 모든 호출자에게 전달된다.")
+    void fullBatchAndFailure() throws Exception {
+        //given
+        BatchingLoader batchingLoader = new BatchingLoader(new BatchLoader() {
+            @Override
+            public String getCacheName() {
+                return "productCache";
+            }
+
+            @Override
+            public Map<Object, Object> loadAll(Set<Object> keys) {
+                throw new IllegalStateException("db down");
+            }
+        }, 1, TimeUnit.SECONDS.toNanos(10), values -> {
+        });
+
+        //when
+        long start = System.nanoTime();
+        IllegalStateException failure = assertThrows(IllegalStateException.class,
+                () -> batchingLoader.load("product:1"));
+
+        //then
+        assertEquals("db down", failure.getMessage());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+    }
+
+    private static BatchLoader loader(List<Set<Object>> batches) {
+        return new BatchLoader() {
+            @Override
+            public String getCacheName() {
+                return "productCache";
+            }
+
+            @Override
+            public Map<Object, Object> loadAll(Set<Object> keys) {
+                batches.add(keys);
+                Map<Object, Object> values = new HashMap<>();
+                for (Object key : keys) {
+                    int id = Integer.parseInt(((String) key).substring("product:".length()));
+                    if (id % 3 != 0) {
+                        values.put(key, "value:" + key);
+                    }
+                }
+                return values;
+            }
+        };
+    }
+}
@@ -0,0 +1,92 @@
+package com.effective.backend.config.cache.offheap;
+
+import com.effective.backend.config.cache.codec.SmileCacheValueCodec;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.Cache.ValueWrapper;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapCacheTest {
+
+    @Test
+    @DisplayName("값을 직렬화해 off-heap에 저장하고 null 값도 구분해서 반환한다.")
+    void putAndGet() {
+        //given
+        OffHeapStore store = new OffHeapStore("productCache", 64 * 1024, 4, OffHeapStore.Mode.DIRECT, null);
+        OffHeapCache cache = new OffHeapCache("productCache", store, new SmileCacheValueCodec(), Duration.ZERO);
+
+        //when
+        cache.put("key1", Map.of("name", "product-1"));
+        cache.put("key2", null);
+
+        //then
+        assertEquals(Map.of("name", "product-1"), cache.get("key1").get());
+        ValueWrapper nullValue = cache.get("key2");
+        assertNotNull(nullValue);
+        assertNull(nullValue.get());
+        assertNull(cache.get("key3"));
+    }
+
+    @Test
+    @DisplayName("용량(byte)을 넘으면 가장 오래된 항목부터 제거한다.")
+    void evictOldestByBytes() {
+        //given
+        OffHeapStore store = new OffHeapStore("productCache", 1024, 1, OffHeapStore.Mode.DIRECT, null);
+        OffHeapCache cache = new OffHeapCache("productCache", store, new SmileCacheValueCodec(), Duration.ZERO);
+        String value = "x".repeat(200);
+
+        //when
+        for (int i = 0; i < 10; i++) {
+            cache.put("key" + i, value);
+        }
+
+        //then
+        assertNull(cache.get("key0"));
+        assertEquals(value, cache.get("key9").get());
+        assertTrue(store.getLiveBytes() <= store.getCapacityBytes());
+        assertTrue(store.getEvictions() > 0);
+    }
+
+    @Test
+    @DisplayName("덮어쓴 항목은 이전 기록이 제거되어도 최신 값을 유지한다.")
+    void overwriteSurvivesWrap() {
+        //given
+        OffHeapStore store = new OffHeapStore("productCache", 1024, 1, OffHeapStore.Mode.DIRECT, null);
+        OffHeapCache cache = new OffHeapCache("productCache", store, new SmileCacheValueCodec(), Duration.ZERO);
+
+        //when
+        cache.put("hot", "v0");
+        for (int i = 0; i < 100; i++) {
+            cache.put("cold" + i, "y".repeat(50));
+            cache.put("hot", "v" + i);
+        }
+
+        //then
+        assertEquals("v99", cache.get("hot").get());
+    }
+
+    @Test
+    @DisplayName("memory-mapped 모드와 TTL 만료를 지원한다.")
+    void mappedWithTtl(@TempDir Path directory) throws InterruptedException {
+        //given
+        OffHeapStore store = new OffHeapStore("productCache", 64 * 1024, 2, OffHeapStore.Mode.MAPPED, directory);
+        OffHeapCache cache = new OffHeapCache("productCache", store, new SmileCacheValueCodec(),
+                Duration.ofMillis(50));
+
+        //when
+        cache.put("key1", "value1");
+        ValueWrapper beforeExpiry = cache.get("key1");
+        Thread.sleep(100);
+
+        //then
+        assertEquals("value1", beforeExpiry.get());
+        assertNull(cache.get("key1"));
+        assertEquals(0, store.size());
+    }
+}
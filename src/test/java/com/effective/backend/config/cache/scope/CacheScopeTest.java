@@ -0,0 +1,60 @@
+package com.effective.backend.config.cache.scope;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheScopeTest {
+
+    private final Cache cache = new ConcurrentMapCache("productCache");
+
+    @Test
+    @DisplayName("중첩된 scope는 바깥 scope에 합류하고, 가장 바깥 scope가 닫힐 때 비워진다.")
+    void nestedScopesJoin() {
+        //given
+        CacheScope outer = CacheScope.open();
+
+        //when
+        try (CacheScope inner = CacheScope.open()) {
+            inner.put(cache, "key1", new SimpleValueWrapper("value1"));
+            assertSame(outer, inner);
+        }
+        Cache.ValueWrapper afterInnerClose = CacheScope.current().get(cache, "key1");
+        outer.close();
+
+        //then
+        assertEquals("value1", afterInnerClose.get());
+        assertNull(CacheScope.current());
+    }
+
+    @Test
+    @DisplayName("scope는 최대 개수까지만 기억하고, 다른 thread에서는 보이지 않는다.")
+    void boundedAndThreadConfined() throws ExecutionException, InterruptedException {
+        //given
+        try (CacheScope scope = CacheScope.open(2)) {
+            //when
+            scope.put(cache, "key1", new SimpleValueWrapper("value1"));
+            scope.put(cache, "key2", new SimpleValueWrapper("value2"));
+            scope.put(cache, "key3", new SimpleValueWrapper("value3"));
+            scope.forget(cache, "key1");
+            CacheScope otherThread = CompletableFuture.supplyAsync(CacheScope::current).get();
+
+            //then
+            assertEquals(1, scope.size());
+            assertNull(scope.get(cache, "key1"));
+            assertNull(scope.get(cache, "key3"));
+            assertNull(otherThread);
+            CompletionException closedElsewhere = assertThrows(CompletionException.class,
+                    () -> CompletableFuture.runAsync(scope::close).join());
+            assertTrue(closedElsewhere.getCause() instanceof IllegalStateException);
+        }
+    }
+}
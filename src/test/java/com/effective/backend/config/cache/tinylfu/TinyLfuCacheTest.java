@@ -0,0 +1,111 @@
+package com.effective.backend.config.cache.tinylfu;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+class TinyLfuCacheTest {
+
+    @Test
+    @DisplayName("최대 크기를 넘지 않도록 항목을 제거한다.")
+    void boundedSize() {
+        //given
+        TinyLfuCache cache = new TinyLfuCache("productCache", 100, Duration.ZERO);
+
+        //when
+        for (int i = 0; i < 1_000; i++) {
+            cache.put("key" + i, "value" + i);
+        }
+
+        //then
+        assertEquals(100, cache.estimatedSize());
+        assertEquals(900, cache.getEvictionCount());
+    }
+
+    @Test
+    @DisplayName("한 번만 읽히는 scan 항목이 자주 읽히는 항목을 밀어내지 않는다.")
+    void scanResistant() {
+        //given
+        TinyLfuCache cache = new TinyLfuCache("productCache", 100, Duration.ZERO);
+        for (int i = 0; i < 50; i++) {
+            cache.put("hot" + i, "value" + i);
+        }
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < 50; i++) {
+                cache.get("hot" + i);
+            }
+        }
+
+        //when
+        for (int i = 0; i < 10_000; i++) {
+            cache.put("scan" + i, "value" + i);
+        }
+
+        //then
+        long retained = 0;
+        for (int i = 0; i < 50; i++) {
+            if (cache.get("hot" + i) != null) {
+                retained++;
+            }
+        }
+        assertTrue(retained >= 45, "retained hot entries: " + retained);
+    }
+
+    @Test
+    @DisplayName("null 값과 TTL 만료를 지원한다.")
+    void nullValueAndTtl() throws InterruptedException {
+        //given
+        TinyLfuCache cache = new TinyLfuCache("productCache", 100, Duration.ofMillis(50));
+
+        //when
+        cache.put("key1", null);
+        assertNotNull(cache.get("key1"));
+        assertNull(cache.get("key1").get());
+        Thread.sleep(100);
+
+        //then
+        assertNull(cache.get("key1"));
+        assertEquals(0, cache.estimatedSize());
+    }
+
+    @Test
+    @DisplayName("scan이 섞인 zipf 트레이스에서 LRU보다 hit rate가 높다.")
+    void replayBeatsLru() {
+        //given
+        List<String> trace = TraceReplay.zipfWithScans(10_000, 200_000, 10_000, 5_000, 42);
+
+        //when
+        double tinyLfu = TraceReplay.hitRate(new TinyLfuCache("productCache", 1_000, Duration.ZERO), trace);
+        double lru = TraceReplay.lruHitRate(1_000, trace);
+
+        //then
+        assertTrue(tinyLfu > lru, String.format("tinyLfu %.4f, lru %.4f", tinyLfu, lru));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "cache.trace", matches = ".+")
+    @DisplayName("기록된 접근 트레이스를 재생해 LRU와 hit rate를 비교한다.")
+    void replayRecordedTrace() throws Exception {
+        //given
+        List<String> trace = TraceReplay.load(Paths.get(System.getProperty("cache.trace")));
+        int maximumSize = Integer.getInteger("cache.trace.size", 10_000);
+
+        //when
+        double tinyLfu = TraceReplay.hitRate(new TinyLfuCache("productCache", maximumSize, Duration.ZERO), trace);
+        double lru = TraceReplay.lruHitRate(maximumSize, trace);
+
+        //then
+        String report = String.format("trace %s (%d accesses, size %d): tinyLfu %.4f, lru %.4f",
+                System.getProperty("cache.trace"), trace.size(), maximumSize, tinyLfu, lru);
+        log.info(report);
+        assertTrue(tinyLfu >= lru, report);
+    }
+}
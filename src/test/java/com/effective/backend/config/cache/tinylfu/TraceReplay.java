@@ -0,0 +1,88 @@
+package com.effective.backend.config.cache.tinylfu;
+
+import org.springframework.cache.Cache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Replays an access trace against a cache as read-through traffic (get, put on miss) and reports
+ * the hit rate. Recorded traces are text files with one key per line; blank lines and lines
+ * starting with {@code #} are ignored.
+ */
+class TraceReplay {
+
+    static double hitRate(Cache cache, List<String> trace) {
+        long hits = 0;
+        for (String key : trace) {
+            if (cache.get(key) != null) {
+                hits++;
+            } else {
+                cache.put(key, key);
+            }
+        }
+        return (double) hits / trace.size();
+    }
+
+    static double lruHitRate(int maximumSize, List<String> trace) {
+        Map<String, String> lru = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > maximumSize;
+            }
+        };
+        long hits = 0;
+        for (String key : trace) {
+            if (lru.get(key) != null) {
+                hits++;
+            } else {
+                lru.put(key, key);
+            }
+        }
+        return (double) hits / trace.size();
+    }
+
+    static List<String> load(Path path) throws IOException {
+        try (Stream<String> lines = Files.lines(path)) {
+            return lines.map(String::trim)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Zipf-distributed product reads interrupted by full scans of a large, cold key range, the
+     * shape of our catalog batch jobs and crawler traffic.
+     */
+    static List<String> zipfWithScans(int hotKeys, int accesses, int scanEvery, int scanLength, long seed) {
+        double[] cumulative = new double[hotKeys];
+        double sum = 0;
+        for (int i = 0; i < hotKeys; i++) {
+            sum += 1.0 / Math.pow(i + 1, 0.9);
+            cumulative[i] = sum;
+        }
+        Random random = new Random(seed);
+        List<String> trace = new ArrayList<>(accesses + accesses / scanEvery * scanLength);
+        int scans = 0;
+        for (int i = 1; i <= accesses; i++) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+            trace.add("product:" + (index < 0 ? -index - 1 : index));
+            if (i % scanEvery == 0) {
+                for (int j = 0; j < scanLength; j++) {
+                    trace.add("scan:" + scans + ":" + j);
+                }
+                scans++;
+            }
+        }
+        return trace;
+    }
+}
@@ -0,0 +1,47 @@
+package com.effective.backend.config.cache.warmup;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalTierSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("snapshot에 쓴 cache별 key 목록을 순서대로 다시 읽는다.")
+    void roundTrip() throws IOException {
+        //given
+        Path file = directory.resolve("snapshot/local-tier.snapshot");
+        Map<String, List<String>> keysByCache = new LinkedHashMap<>();
+        keysByCache.put("productCache", List.of("ProductService.find(l1)", "ProductService.find(l2)"));
+        keysByCache.put("한글Cache", List.of("키"));
+
+        //when
+        LocalTierSnapshot.write(file, keysByCache);
+        Map<String, List<String>> restored = LocalTierSnapshot.read(file);
+
+        //then
+        assertEquals(keysByCache, restored);
+        assertEquals(List.of("productCache", "한글Cache"), List.copyOf(restored.keySet()));
+        try (var files = Files.list(file.getParent())) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("snapshot 파일이 없으면 빈 목록을 반환한다.")
+    void missingSnapshot() throws IOException {
+        assertTrue(LocalTierSnapshot.read(directory.resolve("missing.snapshot")).isEmpty());
+    }
+}
@@ -0,0 +1,34 @@
+package com.effective.backend.config.circuit;
+
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerRegistryTest {
+
+    @Test
+    @DisplayName("meter registry를 바꿔도 설정은 유지되고, circuit 지표는 새 meter registry에 기록된다.")
+    void keepSettingsWithMeterRegistry() {
+        //given
+        CircuitBreakerSettings settings = new CircuitBreakerSettings();
+        settings.setMinimumRequests(1);
+        settings.setFailureRateThreshold(50);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        //when
+        CircuitBreakerRegistry circuitBreakers = new CircuitBreakerRegistry(settings, new CompositeMeterRegistry())
+                .withMeterRegistry(meterRegistry);
+        CircuitBreaker circuitBreaker = circuitBreakers.circuitBreaker("get");
+        circuitBreaker.execute(() -> {
+            throw new IllegalStateException();
+        }, () -> "fallback");
+
+        //then
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals(CircuitBreaker.State.OPEN.ordinal(),
+                meterRegistry.get("cache.chained.circuit.state").tag("circuit", "get").gauge().value());
+    }
+}
@@ -0,0 +1,178 @@
+package com.effective.backend.config.circuit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private CircuitBreakerSettings settings;
+
+    @BeforeEach
+    void setUp() {
+        settings = new CircuitBreakerSettings();
+        settings.setMinimumRequests(4);
+        settings.setFailureRateThreshold(50);
+        settings.setWaitInOpenState(Duration.ofMillis(50));
+    }
+
+    @Test
+    @DisplayName("실패율이 임계치를 넘으면 circuit이 열리고 action 없이 fallback을 반환한다.")
+    void openOnFailures() {
+        //given
+        CircuitBreaker circuitBreaker = new CircuitBreaker("get", settings);
+        AtomicInteger calls = new AtomicInteger();
+
+        //when
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.execute(() -> {
+                calls.incrementAndGet();
+                throw new IllegalStateException();
+            }, () -> "fallback");
+        }
+        String result = circuitBreaker.execute(() -> {
+            calls.incrementAndGet();
+            return "value";
+        }, () -> "fallback");
+
+        //then
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals("fallback", result);
+        assertEquals(4, calls.get());
+        assertEquals(1, circuitBreaker.getRejectedCalls());
+    }
+
+    @Test
+    @DisplayName("open 대기 시간이 지나고 시험 호출이 성공하면 circuit이 닫힌다.")
+    void closeAfterSuccessfulTrial() throws InterruptedException {
+        //given
+        CircuitBreaker circuitBreaker = new CircuitBreaker("get", settings);
+        circuitBreaker.transitionToOpenState();
+
+        //when
+        Thread.sleep(60);
+        String result = circuitBreaker.execute(() -> "value", () -> "fallback");
+
+        //then
+        assertEquals("value", result);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    @DisplayName("half-open에서는 설정한 수만큼만 시험 호출을 허용하고, 실패하면 open 대기 시간을 다시 센다.")
+    void limitHalfOpenTrials() throws InterruptedException {
+        //given
+        CircuitBreaker circuitBreaker = new CircuitBreaker("get", settings);
+        circuitBreaker.transitionToOpenState();
+        Thread.sleep(60);
+
+        //when
+        boolean trial = circuitBreaker.tryAcquirePermission();
+        boolean secondTrial = circuitBreaker.tryAcquirePermission();
+        circuitBreaker.onFailure();
+        circuitBreaker.releasePermission();
+        boolean afterFailedTrial = circuitBreaker.tryAcquirePermission();
+
+        //then
+        assertTrue(trial);
+        assertFalse(secondTrial);
+        assertFalse(afterFailedTrial);
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    @DisplayName("동시 호출 한도 때문에 거부된 시험 호출은 circuit을 다시 열지 않고 시험 기회를 돌려준다.")
+    void keepTrialWhenConcurrencyLimited() throws InterruptedException {
+        //given
+        settings.setMaxConcurrentCalls(1);
+        CircuitBreaker circuitBreaker = new CircuitBreaker("get", settings);
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        circuitBreaker.transitionToOpenState();
+        Thread.sleep(60);
+
+        //when
+        boolean rejected = circuitBreaker.tryAcquirePermission();
+        CircuitBreaker.State stateAfterRejection = circuitBreaker.getState();
+        circuitBreaker.releasePermission();
+        String result = circuitBreaker.execute(() -> "value", () -> "fallback");
+
+        //then
+        assertFalse(rejected);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, stateAfterRejection);
+        assertEquals("value", result);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    @DisplayName("동시 호출 수가 한도를 넘으면 fallback을 반환한다.")
+    void rejectOverConcurrencyLimit() {
+        //given
+        settings.setMaxConcurrentCalls(1);
+        CircuitBreaker circuitBreaker = new CircuitBreaker("get", settings);
+
+        //when
+        String result = circuitBreaker.execute(
+                () -> circuitBreaker.execute(() -> "inner", () -> "rejected"),
+                () -> "fallback");
+
+        //then
+        assertEquals("rejected", result);
+    }
+
+    @Test
+    @DisplayName("비동기 호출이 성공하면 값을 반환하고, 실패하면 fallback을 반환하며 실패로 센다.")
+    void executeAsyncOutcomes() throws Exception {
+        //given
+        settings.setMaxConcurrentCalls(1);
+        CircuitBreaker circuitBreaker = new CircuitBreaker("get", settings);
+
+        //when
+        String success = circuitBreaker.executeAsync(() -> CompletableFuture.completedFuture("value"),
+                () -> "fallback").get(1, TimeUnit.SECONDS);
+        List<String> failures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            failures.add(circuitBreaker.<String>executeAsync(
+                    () -> CompletableFuture.failedFuture(new IllegalStateException()),
+                    () -> "fallback").get(1, TimeUnit.SECONDS));
+        }
+
+        //then
+        assertEquals("value", success);
+        assertEquals(List.of("fallback", "fallback", "fallback"), failures);
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals(0, circuitBreaker.getRejectedCalls());
+    }
+
+    @Test
+    @DisplayName("half-open 시험 호출이 취소되면 permission과 시험 기회를 돌려주어 다음 호출이 circuit을 닫을 수 있다.")
+    void returnTrialOnCancel() throws Exception {
+        //given
+        settings.setMaxConcurrentCalls(1);
+        CircuitBreaker circuitBreaker = new CircuitBreaker("get", settings);
+        circuitBreaker.transitionToOpenState();
+        Thread.sleep(60);
+        CompletableFuture<String> pending = new CompletableFuture<>();
+
+        //when
+        CompletableFuture<String> trial = circuitBreaker.executeAsync(() -> pending, () -> "fallback");
+        trial.cancel(true);
+        CircuitBreaker.State stateAfterCancel = circuitBreaker.getState();
+        String result = circuitBreaker.executeAsync(() -> CompletableFuture.completedFuture("value"),
+                () -> "fallback").get(1, TimeUnit.SECONDS);
+
+        //then
+        assertTrue(pending.isCancelled());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, stateAfterCancel);
+        assertEquals("value", result);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+}
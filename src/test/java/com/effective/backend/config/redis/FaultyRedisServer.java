@@ -0,0 +1,756 @@
+package com.effective.backend.config.redis;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * In-process Redis stand-in speaking RESP2, with programmable latency, error rate and partitions.
+ * It covers the commands the cache stack issues (strings, SCAN, pub/sub). Lua is not interpreted: a
+ * script only runs when an emulation was registered for its source with
+ * {@link #script(String, ScriptEmulation)}, and like a real server EVALSHA answers NOSCRIPT until the
+ * script was sent once with EVAL.
+ * <p>
+ * {@link #replicaOf(FaultyRedisServer)} makes a server report itself as a replica through {@code ROLE}
+ * and refuse writes. Nothing is replicated: the data of each server is seeded separately, which makes
+ * a lagging replica easy to stage.
+ * <p>
+ * Every connection is served by one thread in command order, so latency also causes head-of-line
+ * blocking on a shared connection, exactly like a slow single-threaded Redis.
+ */
+@Slf4j
+public class FaultyRedisServer implements Closeable {
+
+    /**
+     * Java stand-in for a Lua script, run atomically with respect to other scripts. A {@code null}
+     * result is answered as a nil bulk reply, like a script returning {@code false}.
+     */
+    @FunctionalInterface
+    public interface ScriptEmulation {
+
+        byte[] run(List<byte[]> keys, List<byte[]> args, ScriptCalls redis);
+    }
+
+    /**
+     * The {@code redis.call}s available to a {@link ScriptEmulation}.
+     */
+    public interface ScriptCalls {
+
+        byte[] get(byte[] key);
+
+        /**
+         * @param ttlMillis {@code 0} for no expiry
+         * @return whether the value was stored
+         */
+        boolean set(byte[] key, byte[] value, boolean ifAbsent, long ttlMillis);
+    }
+
+    public enum Partition {
+        /** Serve normally. */
+        NONE,
+        /** Accept and read commands but never answer them. Connections are reset when healed. */
+        BLACKHOLE,
+        /** Drop every connection and refuse new ones. */
+        DISCONNECT
+    }
+
+    private static final byte[] CRLF = {'\r', '\n'};
+    private static final Set<String> CONNECTION_COMMANDS =
+            Set.of("HELLO", "PING", "AUTH", "SELECT", "CLIENT", "QUIT", "COMMAND", "ROLE", "SUBSCRIBE", "UNSUBSCRIBE");
+    private static final Set<String> WRITE_COMMANDS = Set.of("SET", "DEL", "UNLINK", "INCR", "INCRBY", "EXPIRE",
+            "PEXPIRE", "FLUSHALL", "FLUSHDB");
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService workers;
+    private final ConcurrentMap<String, Entry> data = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Set<Connection>> subscribers = new ConcurrentHashMap<>();
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicLong commands = new AtomicLong();
+    private final ConcurrentMap<String, AtomicLong> commandsByName = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ScriptEmulation> scripts = new ConcurrentHashMap<>();
+    private final Set<String> loadedScripts = ConcurrentHashMap.newKeySet();
+    private final AtomicLong injectedErrors = new AtomicLong();
+
+    private volatile boolean running = true;
+    private volatile long latencyMillis;
+    private volatile long jitterMillis;
+    private volatile double errorRate;
+    private volatile Partition partition = Partition.NONE;
+    private volatile FaultyRedisServer primary;
+
+    private FaultyRedisServer(ServerSocket serverSocket) {
+        this.serverSocket = serverSocket;
+        AtomicInteger sequence = new AtomicInteger();
+        this.workers = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "faulty-redis-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.workers.execute(this::accept);
+    }
+
+    public static FaultyRedisServer start() throws IOException {
+        return new FaultyRedisServer(new ServerSocket(0, 128, InetAddress.getLoopbackAddress()));
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public FaultyRedisServer latency(Duration latency, Duration jitter) {
+        this.latencyMillis = latency.toMillis();
+        this.jitterMillis = jitter.toMillis();
+        return this;
+    }
+
+    public FaultyRedisServer errorRate(double errorRate) {
+        this.errorRate = errorRate;
+        return this;
+    }
+
+    public FaultyRedisServer partition(Partition partition) {
+        Partition previous = this.partition;
+        this.partition = partition;
+        if (partition == Partition.DISCONNECT || previous == Partition.BLACKHOLE) {
+            // unanswered commands would desynchronize the client's reply queue, so the connections go
+            dropConnections();
+        }
+        return this;
+    }
+
+    /**
+     * Removes every fault. Data survives, like a network that recovers around a healthy server.
+     */
+    public FaultyRedisServer heal() {
+        latency(Duration.ZERO, Duration.ZERO);
+        errorRate(0);
+        return partition(Partition.NONE);
+    }
+
+    public FaultyRedisServer script(String source, ScriptEmulation emulation) {
+        scripts.put(sha1(source.getBytes(StandardCharsets.UTF_8)), emulation);
+        return this;
+    }
+
+    public FaultyRedisServer replicaOf(FaultyRedisServer primary) {
+        this.primary = primary;
+        return this;
+    }
+
+    public void flushAll() {
+        data.clear();
+    }
+
+    /**
+     * Stores a value directly, bypassing faults and the read-only check of a replica.
+     */
+    public void set(String key, String value) {
+        data.put(key, new Entry(value.getBytes(StandardCharsets.ISO_8859_1), 0));
+    }
+
+    public long getCommandCount() {
+        return commands.get();
+    }
+
+    public long getCommandCount(String name) {
+        AtomicLong count = commandsByName.get(name.toUpperCase(Locale.ROOT));
+        return count == null ? 0 : count.get();
+    }
+
+    public long getInjectedErrorCount() {
+        return injectedErrors.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        serverSocket.close();
+        dropConnections();
+        workers.shutdownNow();
+    }
+
+    private void accept() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                if (partition == Partition.DISCONNECT) {
+                    socket.close();
+                    continue;
+                }
+                Connection connection = new Connection(socket);
+                connections.add(connection);
+                workers.execute(() -> serve(connection));
+            } catch (IOException e) {
+                if (running) {
+                    log.warn("accept failed", e);
+                }
+            }
+        }
+    }
+
+    private void dropConnections() {
+        connections.forEach(Connection::close);
+    }
+
+    private void serve(Connection connection) {
+        try {
+            InputStream in = new BufferedInputStream(connection.socket.getInputStream());
+            List<byte[]> command;
+            while (running && (command = readCommand(in)) != null) {
+                if (command.isEmpty()) {
+                    continue;
+                }
+                commands.incrementAndGet();
+                if (partition == Partition.BLACKHOLE) {
+                    continue;
+                }
+                delay();
+                String name = new String(command.get(0), StandardCharsets.US_ASCII).toUpperCase(Locale.ROOT);
+                commandsByName.computeIfAbsent(name, key -> new AtomicLong()).incrementAndGet();
+                Reply reply = new Reply();
+                if (!CONNECTION_COMMANDS.contains(name) && injectError()) {
+                    reply.error("ERR injected fault");
+                } else if (primary != null && WRITE_COMMANDS.contains(name)) {
+                    reply.error("READONLY You can't write against a read only replica.");
+                } else {
+                    execute(connection, name, command, reply);
+                }
+                if (partition == Partition.BLACKHOLE) {
+                    continue;
+                }
+                connection.write(reply.toByteArray());
+                if ("QUIT".equals(name)) {
+                    break;
+                }
+            }
+        } catch (SocketException | EOFException e) {
+            // client went away or the connection was dropped on purpose
+        } catch (IOException e) {
+            log.debug("connection failed", e);
+        } finally {
+            connection.close();
+            connections.remove(connection);
+            subscribers.values().forEach(channelSubscribers -> channelSubscribers.remove(connection));
+        }
+    }
+
+    private void delay() {
+        long millis = latencyMillis;
+        if (jitterMillis > 0) {
+            millis += ThreadLocalRandom.current().nextLong(-jitterMillis, jitterMillis + 1);
+        }
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean injectError() {
+        double rate = errorRate;
+        if (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate) {
+            injectedErrors.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    private void execute(Connection connection, String name, List<byte[]> command, Reply reply) {
+        switch (name) {
+            case "PING":
+                if (connection.subscriptions > 0) {
+                    reply.array(2).bulk("pong").bulk(command.size() > 1 ? command.get(1) : new byte[0]);
+                } else if (command.size() > 1) {
+                    reply.bulk(command.get(1));
+                } else {
+                    reply.simple("PONG");
+                }
+                break;
+            case "ECHO":
+                reply.bulk(command.get(1));
+                break;
+            case "HELLO":
+                reply.error("ERR unknown command 'HELLO'");
+                break;
+            case "AUTH":
+            case "SELECT":
+            case "CLIENT":
+            case "READONLY":
+            case "QUIT":
+                reply.simple("OK");
+                break;
+            case "COMMAND":
+                reply.array(0);
+                break;
+            case "ROLE":
+                FaultyRedisServer upstream = primary;
+                if (upstream == null) {
+                    reply.array(3).bulk("master").integer(0).array(0);
+                } else {
+                    reply.array(5).bulk("slave").bulk("127.0.0.1").integer(upstream.getPort()).bulk("connected")
+                            .integer(0);
+                }
+                break;
+            case "INFO":
+                reply.bulk("# Server\r\nredis_version:6.2.0\r\nredis_mode:standalone\r\n");
+                break;
+            case "GET":
+                reply.bulk(value(key(command, 1)));
+                break;
+            case "SET":
+                set(command, reply);
+                break;
+            case "MGET":
+                reply.array(command.size() - 1);
+                for (int i = 1; i < command.size(); i++) {
+                    reply.bulk(value(key(command, i)));
+                }
+                break;
+            case "DEL":
+            case "UNLINK":
+                long deleted = 0;
+                for (int i = 1; i < command.size(); i++) {
+                    if (value(key(command, i)) != null && data.remove(key(command, i)) != null) {
+                        deleted++;
+                    }
+                }
+                reply.integer(deleted);
+                break;
+            case "EXISTS":
+                long existing = 0;
+                for (int i = 1; i < command.size(); i++) {
+                    existing += value(key(command, i)) == null ? 0 : 1;
+                }
+                reply.integer(existing);
+                break;
+            case "INCR":
+            case "INCRBY":
+                incrBy(command, "INCR".equals(name) ? 1 : parseLong(command.get(2)), reply);
+                break;
+            case "EXPIRE":
+            case "PEXPIRE":
+                long ttlMillis = "EXPIRE".equals(name) ? parseLong(command.get(2)) * 1000 : parseLong(command.get(2));
+                Entry expiring = data.computeIfPresent(key(command, 1), (key, entry) -> entry.isExpired() ? null
+                        : new Entry(entry.value, System.currentTimeMillis() + ttlMillis));
+                reply.integer(expiring == null ? 0 : 1);
+                break;
+            case "KEYS":
+                List<String> keys = matchingKeys(string(command.get(1)));
+                reply.array(keys.size());
+                keys.forEach(key -> reply.bulk(key.getBytes(StandardCharsets.ISO_8859_1)));
+                break;
+            case "SCAN":
+                scan(command, reply);
+                break;
+            case "DBSIZE":
+                reply.integer(data.size());
+                break;
+            case "FLUSHALL":
+            case "FLUSHDB":
+                data.clear();
+                reply.simple("OK");
+                break;
+            case "PUBLISH":
+                reply.integer(publish(key(command, 1), command.get(2)));
+                break;
+            case "SUBSCRIBE":
+                for (int i = 1; i < command.size(); i++) {
+                    if (subscribers.computeIfAbsent(key(command, i), channel -> ConcurrentHashMap.newKeySet())
+                            .add(connection)) {
+                        connection.subscriptions++;
+                    }
+                    reply.array(3).bulk("subscribe").bulk(command.get(i)).integer(connection.subscriptions);
+                }
+                break;
+            case "UNSUBSCRIBE":
+                unsubscribe(connection, command, reply);
+                break;
+            case "PTTL":
+                Entry live = data.get(key(command, 1));
+                if (live == null || live.isExpired()) {
+                    reply.integer(-2);
+                } else {
+                    reply.integer(live.expireAt == 0 ? -1 : live.expireAt - System.currentTimeMillis());
+                }
+                break;
+            case "EVALSHA":
+                String sha = string(command.get(1)).toLowerCase(Locale.ROOT);
+                if (loadedScripts.contains(sha)) {
+                    evalScript(sha, command, reply);
+                } else {
+                    reply.error("NOSCRIPT No matching script. Please use EVAL.");
+                }
+                break;
+            case "EVAL":
+                String source = sha1(command.get(1));
+                if (scripts.containsKey(source)) {
+                    loadedScripts.add(source);
+                    evalScript(source, command, reply);
+                } else {
+                    reply.error("ERR no emulation registered for script " + source);
+                }
+                break;
+            default:
+                reply.error("ERR unknown command '" + name + "'");
+        }
+    }
+
+    private void set(List<byte[]> command, Reply reply) {
+        String key = key(command, 1);
+        long expireAt = 0;
+        boolean ifAbsent = false;
+        boolean ifPresent = false;
+        for (int i = 3; i < command.size(); i++) {
+            String option = string(command.get(i)).toUpperCase(Locale.ROOT);
+            if ("PX".equals(option)) {
+                expireAt = System.currentTimeMillis() + parseLong(command.get(++i));
+            } else if ("EX".equals(option)) {
+                expireAt = System.currentTimeMillis() + parseLong(command.get(++i)) * 1000;
+            } else if ("NX".equals(option)) {
+                ifAbsent = true;
+            } else if ("XX".equals(option)) {
+                ifPresent = true;
+            }
+        }
+        boolean exists = value(key) != null;
+        if ((ifAbsent && exists) || (ifPresent && !exists)) {
+            reply.bulk((byte[]) null);
+            return;
+        }
+        data.put(key, new Entry(command.get(2), expireAt));
+        reply.simple("OK");
+    }
+
+    private void evalScript(String sha, List<byte[]> command, Reply reply) {
+        int keyCount = Integer.parseInt(string(command.get(2)));
+        List<byte[]> keys = command.subList(3, 3 + keyCount);
+        List<byte[]> args = command.subList(3 + keyCount, command.size());
+        ScriptEmulation emulation = scripts.get(sha);
+        synchronized (scripts) {
+            reply.bulk(emulation.run(keys, args, new ScriptCalls() {
+                @Override
+                public byte[] get(byte[] key) {
+                    return value(new String(key, StandardCharsets.ISO_8859_1));
+                }
+
+                @Override
+                public boolean set(byte[] key, byte[] value, boolean ifAbsent, long ttlMillis) {
+                    boolean[] stored = new boolean[1];
+                    data.compute(new String(key, StandardCharsets.ISO_8859_1), (k, entry) -> {
+                        if (ifAbsent && entry != null && !entry.isExpired()) {
+                            return entry;
+                        }
+                        stored[0] = true;
+                        return new Entry(value, ttlMillis > 0 ? System.currentTimeMillis() + ttlMillis : 0);
+                    });
+                    return stored[0];
+                }
+            }));
+        }
+    }
+
+    private static String sha1(byte[] source) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(source);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void incrBy(List<byte[]> command, long delta, Reply reply) {
+        String key = key(command, 1);
+        long[] result = new long[1];
+        try {
+            data.compute(key, (k, entry) -> {
+                long current = entry == null || entry.isExpired() ? 0 : parseLong(entry.value);
+                result[0] = current + delta;
+                return new Entry(Long.toString(result[0]).getBytes(StandardCharsets.US_ASCII),
+                        entry == null || entry.isExpired() ? 0 : entry.expireAt);
+            });
+            reply.integer(result[0]);
+        } catch (NumberFormatException e) {
+            reply.error("ERR value is not an integer or out of range");
+        }
+    }
+
+    private void scan(List<byte[]> command, Reply reply) {
+        int cursor = Integer.parseInt(string(command.get(1)));
+        String pattern = "*";
+        int count = 10;
+        for (int i = 2; i + 1 < command.size(); i += 2) {
+            String option = string(command.get(i)).toUpperCase(Locale.ROOT);
+            if ("MATCH".equals(option)) {
+                pattern = string(command.get(i + 1));
+            } else if ("COUNT".equals(option)) {
+                count = Integer.parseInt(string(command.get(i + 1)));
+            }
+        }
+        List<String> keys = matchingKeys(pattern);
+        int end = Math.min(keys.size(), cursor + count);
+        reply.array(2).bulk(end >= keys.size() ? "0" : Integer.toString(end));
+        reply.array(Math.max(0, end - cursor));
+        for (int i = cursor; i < end; i++) {
+            reply.bulk(keys.get(i).getBytes(StandardCharsets.ISO_8859_1));
+        }
+    }
+
+    private List<String> matchingKeys(String glob) {
+        Pattern pattern = globToPattern(glob);
+        return data.entrySet().stream()
+                .filter(entry -> !entry.getValue().isExpired())
+                .map(Map.Entry::getKey)
+                .filter(key -> pattern.matcher(key).matches())
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private long publish(String channel, byte[] message) {
+        Set<Connection> channelSubscribers = subscribers.getOrDefault(channel, Set.of());
+        byte[] push = new Reply().array(3).bulk("message").bulk(channel.getBytes(StandardCharsets.ISO_8859_1))
+                .bulk(message).toByteArray();
+        long delivered = 0;
+        for (Connection subscriber : channelSubscribers) {
+            try {
+                subscriber.write(push);
+                delivered++;
+            } catch (IOException e) {
+                subscriber.close();
+            }
+        }
+        return delivered;
+    }
+
+    private void unsubscribe(Connection connection, List<byte[]> command, Reply reply) {
+        List<String> channels = new ArrayList<>();
+        if (command.size() > 1) {
+            for (int i = 1; i < command.size(); i++) {
+                channels.add(key(command, i));
+            }
+        } else {
+            subscribers.forEach((channel, channelSubscribers) -> {
+                if (channelSubscribers.contains(connection)) {
+                    channels.add(channel);
+                }
+            });
+        }
+        for (String channel : channels) {
+            if (subscribers.getOrDefault(channel, Set.of()).remove(connection)) {
+                connection.subscriptions--;
+            }
+            reply.array(3).bulk("unsubscribe").bulk(channel.getBytes(StandardCharsets.ISO_8859_1))
+                    .integer(connection.subscriptions);
+        }
+        if (channels.isEmpty()) {
+            reply.array(3).bulk("unsubscribe").bulk((byte[]) null).integer(0);
+        }
+    }
+
+    private byte[] value(String key) {
+        Entry entry = data.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired()) {
+            data.remove(key, entry);
+            return null;
+        }
+        return entry.value;
+    }
+
+    private static Pattern globToPattern(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (char c : glob.toCharArray()) {
+            if (c == '*') {
+                regex.append(".*");
+            } else if (c == '?') {
+                regex.append('.');
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+
+    /**
+     * Keys are held as ISO-8859-1 strings, a lossless one-to-one mapping of the raw bytes.
+     */
+    private static String key(List<byte[]> command, int index) {
+        return new String(command.get(index), StandardCharsets.ISO_8859_1);
+    }
+
+    private static String string(byte[] bytes) {
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    private static long parseLong(byte[] bytes) {
+        return Long.parseLong(new String(bytes, StandardCharsets.US_ASCII));
+    }
+
+    private static List<byte[]> readCommand(InputStream in) throws IOException {
+        int type = in.read();
+        if (type == -1) {
+            return null;
+        }
+        if (type != '*') {
+            String line = (char) type + readLine(in);
+            List<byte[]> inline = new ArrayList<>();
+            for (String part : line.trim().split("\\s+")) {
+                if (!part.isEmpty()) {
+                    inline.add(part.getBytes(StandardCharsets.ISO_8859_1));
+                }
+            }
+            return inline;
+        }
+        int count = Integer.parseInt(readLine(in));
+        List<byte[]> command = new ArrayList<>(Math.max(count, 0));
+        for (int i = 0; i < count; i++) {
+            if (in.read() != '$') {
+                throw new IOException("expected bulk string");
+            }
+            int length = Integer.parseInt(readLine(in));
+            byte[] argument = in.readNBytes(length);
+            if (argument.length < length || in.read() != '\r' || in.read() != '\n') {
+                throw new EOFException();
+            }
+            command.add(argument);
+        }
+        return command;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = in.read()) != '\r') {
+            if (c == -1) {
+                throw new EOFException();
+            }
+            line.append((char) c);
+        }
+        if (in.read() != '\n') {
+            throw new IOException("expected CRLF");
+        }
+        return line.toString();
+    }
+
+    private static class Entry {
+
+        private final byte[] value;
+        private final long expireAt;
+
+        private Entry(byte[] value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+
+        private boolean isExpired() {
+            return expireAt > 0 && System.currentTimeMillis() >= expireAt;
+        }
+    }
+
+    private static class Connection {
+
+        private final Socket socket;
+        private volatile int subscriptions;
+
+        private Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            socket.setTcpNoDelay(true);
+        }
+
+        private synchronized void write(byte[] bytes) throws IOException {
+            OutputStream out = socket.getOutputStream();
+            out.write(bytes);
+            out.flush();
+        }
+
+        private void close() {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // already closed
+            }
+        }
+    }
+
+    private static class Reply {
+
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        private Reply simple(String value) {
+            return line('+', value);
+        }
+
+        private Reply error(String message) {
+            return line('-', message);
+        }
+
+        private Reply integer(long value) {
+            return line(':', Long.toString(value));
+        }
+
+        private Reply array(int size) {
+            return line('*', Integer.toString(size));
+        }
+
+        private Reply bulk(String value) {
+            return bulk(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private Reply bulk(byte[] value) {
+            if (value == null) {
+                return line('$', "-1");
+            }
+            line('$', Integer.toString(value.length));
+            out.writeBytes(value);
+            out.writeBytes(CRLF);
+            return this;
+        }
+
+        private Reply line(char type, String value) {
+            out.write(type);
+            out.writeBytes(value.getBytes(StandardCharsets.UTF_8));
+            out.writeBytes(CRLF);
+            return this;
+        }
+
+        private byte[] toByteArray() {
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.effective.backend.config.redis;
+
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.models.role.RedisInstance;
+import io.lettuce.core.models.role.RedisNodeDescription;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NearestReplicaReadFromTest {
+
+    private final RedisNodeDescription primary = node(6379, RedisInstance.Role.UPSTREAM);
+    private final RedisNodeDescription nearReplica = node(6380, RedisInstance.Role.REPLICA);
+    private final RedisNodeDescription farReplica = node(6381, RedisInstance.Role.REPLICA);
+
+    @Test
+    @DisplayName("replica가 있으면 latency 순서를 유지한 채 replica만 선택한다.")
+    void selectReplicasInLatencyOrder() {
+        List<RedisNodeDescription> selected = new NearestReplicaReadFrom()
+                .select(nodes(primary, nearReplica, farReplica));
+
+        assertEquals(List.of(nearReplica, farReplica), selected);
+    }
+
+    @Test
+    @DisplayName("replica가 없으면 primary에서 읽는다.")
+    void fallBackToPrimary() {
+        List<RedisNodeDescription> selected = new NearestReplicaReadFrom().select(nodes(primary));
+
+        assertEquals(List.of(primary), selected);
+    }
+
+    @Test
+    @DisplayName("read-from 설정은 기본값이 upstream이고, nearestReplica 외에는 Lettuce의 ReadFrom 이름으로 해석한다.")
+    void resolveReadFrom() {
+        RedisTopologyProperties topology = new RedisTopologyProperties();
+
+        assertSame(ReadFrom.UPSTREAM, topology.resolveReadFrom());
+        topology.setReadFrom(NearestReplicaReadFrom.NAME);
+        assertTrue(topology.resolveReadFrom() instanceof NearestReplicaReadFrom);
+    }
+
+    private static ReadFrom.Nodes nodes(RedisNodeDescription... nodes) {
+        List<RedisNodeDescription> list = List.of(nodes);
+        return new ReadFrom.Nodes() {
+            @Override
+            public List<RedisNodeDescription> getNodes() {
+                return list;
+            }
+
+            @Override
+            public Iterator<RedisNodeDescription> iterator() {
+                return list.iterator();
+            }
+        };
+    }
+
+    private static RedisNodeDescription node(int port, RedisInstance.Role role) {
+        RedisURI uri = RedisURI.create("localhost", port);
+        return new RedisNodeDescription() {
+            @Override
+            public RedisURI getUri() {
+                return uri;
+            }
+
+            @Override
+            public RedisInstance.Role getRole() {
+                return role;
+            }
+        };
+    }
+}
@@ -0,0 +1,117 @@
+package com.effective.backend.config.redis;
+
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.RedisURI;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStaticMasterReplicaConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Routes reads through a primary and a lagging replica stand-in: the replica still holds the value an
+ * invalidation has replaced on the primary.
+ */
+class ReplicaReadRoutingTest {
+
+    private static final byte[] KEY = "productCache::1".getBytes(StandardCharsets.ISO_8859_1);
+
+    private FaultyRedisServer primary;
+    private FaultyRedisServer replica;
+    private LettuceConnectionFactory connectionFactory;
+    private LettuceAsyncCommands asyncCommands;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        primary = FaultyRedisServer.start();
+        replica = FaultyRedisServer.start().replicaOf(primary);
+        primary.set("productCache::1", "fresh");
+        replica.set("productCache::1", "stale");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (asyncCommands != null) {
+            asyncCommands.close();
+        }
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+        replica.close();
+        primary.close();
+    }
+
+    @Test
+    @DisplayName("기본 read-from 설정에서는 invalidation 이후의 refill이 replica의 오래된 값을 읽지 않는다.")
+    void readFromPrimaryByDefault() throws Exception {
+        //given
+        connect(new RedisTopologyProperties().resolveReadFrom());
+
+        //when
+        String read = readBlocking();
+        String readAsync = readAsync();
+
+        //then
+        assertEquals("fresh", read);
+        assertEquals("fresh", readAsync);
+    }
+
+    @Test
+    @DisplayName("nearestReplica를 선택하면 읽기는 replica로 가고 쓰기는 primary로 간다.")
+    void readFromReplicaWhenConfigured() throws Exception {
+        //given
+        connect(new NearestReplicaReadFrom());
+
+        //when
+        String read = readBlocking();
+        String readAsync = readAsync();
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.del(KEY);
+        }
+
+        //then
+        assertEquals("stale", read);
+        assertEquals("stale", readAsync);
+        assertEquals("stale", readBlocking());
+    }
+
+    private void connect(ReadFrom readFrom) {
+        RedisStaticMasterReplicaConfiguration configuration =
+                new RedisStaticMasterReplicaConfiguration("127.0.0.1", primary.getPort());
+        configuration.node("127.0.0.1", replica.getPort());
+        LettuceClientConfiguration clientConfiguration = LettuceClientConfiguration.builder()
+                .readFrom(readFrom)
+                .commandTimeout(Duration.ofSeconds(2))
+                .build();
+        connectionFactory = new LettuceConnectionFactory(configuration, clientConfiguration);
+        connectionFactory.afterPropertiesSet();
+        asyncCommands = new LettuceAsyncCommands(connectionFactory, List.of(
+                RedisURI.create("127.0.0.1", primary.getPort()),
+                RedisURI.create("127.0.0.1", replica.getPort())), readFrom);
+    }
+
+    private String readBlocking() {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            return string(connection.get(KEY));
+        }
+    }
+
+    private String readAsync() throws Exception {
+        return string(asyncCommands.get().get(KEY).get(2, TimeUnit.SECONDS));
+    }
+
+    private static String string(byte[] value) {
+        return value == null ? null : new String(value, StandardCharsets.ISO_8859_1);
+    }
+}